@@ -0,0 +1,96 @@
+package de.skuzzle.stringz;
+
+import java.io.IOException;
+import java.util.Locale;
+import java.util.ResourceBundle;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import de.skuzzle.stringz.benchmark.MessageClassGenerator;
+import de.skuzzle.stringz.benchmark.MessageClassGenerator.Generated;
+import de.skuzzle.stringz.benchmark.MessageClassGenerator.Kind;
+
+/**
+ * Measures single key lookups through {@link ExtendedBundle} compared to the raw
+ * {@link ResourceBundle} it wraps. This benchmark lives in the stringz package
+ * because {@code ExtendedBundle} is not public.
+ *
+ * @author Simon Taddiken
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BundleLookupBenchmark {
+
+    @Param({ "10", "1000", "50000" })
+    public int size;
+
+    @Param({ "PLAIN", "INCLUDE", "PLACEHOLDER" })
+    public Kind kind;
+
+    private ResourceBundle raw;
+    private ResourceBundle extended;
+    private String[] keys;
+    private String ownKey;
+    private String lastKey;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        final Generated generated = MessageClassGenerator.generate(this.size,
+                this.kind);
+        final CharsetBundleControl control = new CharsetBundleControl("UTF-8");
+        this.raw = ResourceBundle.getBundle(generated.getBaseName(), Locale.ROOT,
+                generated.getLoader(), control);
+        this.extended = ExtendedBundle.getBundle(generated.getBaseName(),
+                Locale.ROOT, generated.getLoader(), control);
+        this.keys = generated.getKeys();
+        // the first key is always contained in the class' own bundle while for the
+        // INCLUDE kind, the last key is located in one of the included bundles
+        this.ownKey = this.keys[0];
+        this.lastKey = this.keys[this.keys.length - 1];
+    }
+
+    private String nextKey() {
+        final String key = this.keys[this.next];
+        this.next = (this.next + 1) % this.keys.length;
+        return key;
+    }
+
+    @Benchmark
+    public String extendedOwnKey() {
+        return this.extended.getString(this.ownKey);
+    }
+
+    @Benchmark
+    public String extendedLastKey() {
+        return this.extended.getString(this.lastKey);
+    }
+
+    @Benchmark
+    public String extendedAllKeys() {
+        return this.extended.getString(nextKey());
+    }
+
+    @Benchmark
+    public String baselineOwnKey() {
+        // the raw bundle does not know about includes, so only keys which are
+        // contained in the class' own bundle can be compared
+        return this.raw.getString(this.ownKey);
+    }
+}
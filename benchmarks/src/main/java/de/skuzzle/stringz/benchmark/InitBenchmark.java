@@ -0,0 +1,97 @@
+package de.skuzzle.stringz.benchmark;
+
+import java.io.IOException;
+import java.util.Locale;
+import java.util.ResourceBundle;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import de.skuzzle.stringz.CharsetBundleControl;
+import de.skuzzle.stringz.Stringz;
+import de.skuzzle.stringz.benchmark.MessageClassGenerator.Generated;
+import de.skuzzle.stringz.benchmark.MessageClassGenerator.Kind;
+
+/**
+ * Measures the cost of {@link Stringz#init(Class, Locale)} for message classes of
+ * different sizes. The baseline reads every key from a plain
+ * {@link ResourceBundle}, which is the minimal amount of work an initialization
+ * has to do.
+ *
+ * <p>
+ * Initialization only happens once per class, so the class has to be disposed
+ * before each call. Resetting per invocation distorts the results of calls which
+ * only take microseconds, thus every iteration measures a single call and the
+ * reset happens between iterations.
+ * </p>
+ *
+ * @author Simon Taddiken
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 100, batchSize = 1)
+@Measurement(iterations = 500, batchSize = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class InitBenchmark {
+
+    @Param({ "10", "1000", "50000" })
+    public int size;
+
+    @Param({ "PLAIN", "INCLUDE", "PLACEHOLDER" })
+    public Kind kind;
+
+    /**
+     * Whether the JDK's ResourceBundle cache is cleared before each iteration,
+     * which forces the properties files to be parsed again.
+     */
+    @Param({ "false", "true" })
+    public boolean cold;
+
+    private Generated generated;
+
+    @Setup(Level.Trial)
+    public void generate() throws IOException {
+        this.generated = MessageClassGenerator.generate(this.size, this.kind);
+    }
+
+    @Setup(Level.Iteration)
+    public void reset() {
+        Stringz.dispose(this.generated.getMessageClass());
+        if (this.cold) {
+            ResourceBundle.clearCache(this.generated.getLoader());
+        }
+    }
+
+    @Benchmark
+    public Class<?> init() {
+        final Class<?> cls = this.generated.getMessageClass();
+        Stringz.init(cls, Locale.ROOT);
+        return cls;
+    }
+
+    @Benchmark
+    public String baselineResourceBundle() {
+        final ResourceBundle bundle = ResourceBundle.getBundle(
+                this.generated.getBaseName(), Locale.ROOT, this.generated.getLoader(),
+                new CharsetBundleControl("UTF-8"));
+
+        // Only the class' own bundle is read, includes are not supported here
+        String last = null;
+        for (final String key : bundle.keySet()) {
+            last = bundle.getString(key);
+        }
+        return last;
+    }
+}
@@ -0,0 +1,235 @@
+package de.skuzzle.stringz.benchmark;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+
+/**
+ * Generates message classes together with their properties files at benchmark
+ * setup time. Sources are written into a temporary directory, compiled using the
+ * system Java compiler and loaded by a dedicated class loader which also serves
+ * the generated bundles.
+ *
+ * @author Simon Taddiken
+ */
+public final class MessageClassGenerator {
+
+    /** Package of all generated classes and bundles. */
+    public static final String PACKAGE = "bench.gen";
+
+    /**
+     * Shapes of generated bundles.
+     */
+    public enum Kind {
+        /** Every key maps to a plain value within the class' own bundle. */
+        PLAIN,
+        /**
+         * The keys are distributed across the own bundle and two included bundles,
+         * so that lookups have to fall through to the includes.
+         */
+        INCLUDE,
+        /** Every value contains {@code ${...}} references which must be resolved. */
+        PLACEHOLDER
+    }
+
+    /**
+     * Result of generating a message class.
+     */
+    public static final class Generated {
+        private final Class<?> messageClass;
+        private final String baseName;
+        private final ClassLoader loader;
+        private final String[] keys;
+
+        private Generated(Class<?> messageClass, String baseName, ClassLoader loader,
+                String[] keys) {
+            this.messageClass = messageClass;
+            this.baseName = baseName;
+            this.loader = loader;
+            this.keys = keys;
+        }
+
+        /**
+         * The generated message class. It is annotated with {@code ResourceMapping}
+         * but does not initialize itself.
+         *
+         * @return The message class.
+         */
+        public Class<?> getMessageClass() {
+            return this.messageClass;
+        }
+
+        /**
+         * The base name of the bundle belonging to the message class.
+         *
+         * @return The base name.
+         */
+        public String getBaseName() {
+            return this.baseName;
+        }
+
+        /**
+         * The class loader which loaded the message class and serves its bundles.
+         *
+         * @return The class loader.
+         */
+        public ClassLoader getLoader() {
+            return this.loader;
+        }
+
+        /**
+         * All keys of the bundle, in the order of the message class' fields.
+         *
+         * @return The keys.
+         */
+        public String[] getKeys() {
+            return this.keys;
+        }
+    }
+
+    private MessageClassGenerator() {}
+
+    /**
+     * Generates, compiles and loads a message class with {@code size} public static
+     * String fields.
+     *
+     * @param size Number of fields.
+     * @param kind Shape of the generated bundle.
+     * @return Information about the generated class.
+     * @throws IOException If writing sources or bundles fails.
+     */
+    public static Generated generate(int size, Kind kind) throws IOException {
+        if (size <= 0) {
+            throw new IllegalArgumentException("size must be positive");
+        } else if (kind == null) {
+            throw new IllegalArgumentException("kind is null");
+        }
+
+        final String simpleName = String.format("Messages%d%s", size, kind);
+        final String baseName = PACKAGE + "." + simpleName;
+        final Path root = Files.createTempDirectory("stringz-bench");
+        final Path pkg = root.resolve(PACKAGE.replace('.', '/'));
+        Files.createDirectories(pkg);
+
+        final String[] keys = new String[size];
+        for (int i = 0; i < size; ++i) {
+            keys[i] = "key" + i;
+        }
+
+        writeSource(pkg.resolve(simpleName + ".java"), simpleName, baseName, keys);
+        writeBundles(pkg, simpleName, kind, keys);
+        compile(root, pkg.resolve(simpleName + ".java"));
+
+        final URLClassLoader loader = new URLClassLoader(
+                new URL[] { root.toUri().toURL() },
+                MessageClassGenerator.class.getClassLoader());
+        try {
+            final Class<?> cls = Class.forName(baseName, false, loader);
+            return new Generated(cls, baseName, loader, keys);
+        } catch (ClassNotFoundException e) {
+            throw new IOException("Generated class could not be loaded", e);
+        }
+    }
+
+    private static void writeSource(Path file, String simpleName, String baseName,
+            String[] keys) throws IOException {
+        try (Writer w = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            w.write("package " + PACKAGE + ";\n\n");
+            w.write("@de.skuzzle.stringz.annotation.ResourceMapping(\"" + baseName
+                    + "\")\n");
+            w.write("public class " + simpleName + " {\n");
+            for (final String key : keys) {
+                w.write("    public static String " + key + ";\n");
+            }
+            w.write("}\n");
+        }
+    }
+
+    private static void writeBundles(Path pkg, String simpleName, Kind kind,
+            String[] keys) throws IOException {
+        switch (kind) {
+        case PLAIN:
+            writeBundle(pkg.resolve(simpleName + ".properties"), null,
+                    Arrays.asList(keys), "Value number %d");
+            break;
+        case PLACEHOLDER:
+            final List<String> lines = new ArrayList<>();
+            lines.add("name = World");
+            lines.add("greeting = Hello ${name}");
+            final Path file = pkg.resolve(simpleName + ".properties");
+            writeBundle(file, null, Arrays.asList(keys),
+                    "${greeting}, this is value number %d of ${name}", lines);
+            break;
+        case INCLUDE:
+            // Distribute keys over own bundle and two includes, so that a third of
+            // the keys is found in the last include
+            final List<String> own = new ArrayList<>();
+            final List<String> first = new ArrayList<>();
+            final List<String> second = new ArrayList<>();
+            for (int i = 0; i < keys.length; ++i) {
+                (i % 3 == 0 ? own : i % 3 == 1 ? first : second).add(keys[i]);
+            }
+            final String firstName = simpleName + "First";
+            final String secondName = simpleName + "Second";
+            writeBundle(pkg.resolve(simpleName + ".properties"),
+                    PACKAGE + "." + firstName + ";" + PACKAGE + "." + secondName,
+                    own, "Value number %d");
+            writeBundle(pkg.resolve(firstName + ".properties"), null, first,
+                    "Value number %d");
+            writeBundle(pkg.resolve(secondName + ".properties"), null, second,
+                    "Value number %d");
+            break;
+        default:
+            throw new IllegalArgumentException(kind.toString());
+        }
+    }
+
+    private static void writeBundle(Path file, String include, List<String> keys,
+            String valueFormat) throws IOException {
+        writeBundle(file, include, keys, valueFormat, new ArrayList<>());
+    }
+
+    private static void writeBundle(Path file, String include, List<String> keys,
+            String valueFormat, List<String> extraLines) throws IOException {
+        try (Writer w = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            if (include != null) {
+                w.write("@include = " + include + "\n");
+            }
+            for (final String line : extraLines) {
+                w.write(line);
+                w.write('\n');
+            }
+            for (int i = 0; i < keys.size(); ++i) {
+                w.write(keys.get(i));
+                w.write(" = ");
+                w.write(String.format(valueFormat, i));
+                w.write('\n');
+            }
+        }
+    }
+
+    private static void compile(Path root, Path source) throws IOException {
+        final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        if (compiler == null) {
+            throw new IOException("Benchmarks must be run on a JDK");
+        }
+        final int result = compiler.run(null, null, null,
+                "-proc:none",
+                "-classpath", System.getProperty("java.class.path"),
+                "-d", root.toString(),
+                source.toString());
+        if (result != 0) {
+            throw new IOException("Compiling generated message class failed");
+        }
+    }
+}
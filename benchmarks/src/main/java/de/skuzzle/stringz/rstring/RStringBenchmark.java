@@ -0,0 +1,57 @@
+package de.skuzzle.stringz.rstring;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures formatting through {@link RString#s(Object...)} compared to plain
+ * {@link String#format(String, Object...)}. This benchmark lives in the rstring
+ * package because {@code RString} is not public.
+ *
+ * @author Simon Taddiken
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class RStringBenchmark {
+
+    private static final String FORMAT = "Hello %s, you have %d new messages";
+    private static final String PLAIN = "Hello World, you have no new messages";
+
+    private final RString format = new RString(FORMAT);
+    private final RString plain = new RString(PLAIN);
+    private final String name = "World";
+    private final int count = 42;
+
+    @Benchmark
+    public String rstringWithArguments() {
+        return this.format.s(this.name, this.count);
+    }
+
+    @Benchmark
+    public String rstringWithoutArguments() {
+        return this.plain.s();
+    }
+
+    @Benchmark
+    public String baselineWithArguments() {
+        return String.format(FORMAT, this.name, this.count);
+    }
+
+    @Benchmark
+    public String baselineWithoutArguments() {
+        return String.format(PLAIN);
+    }
+}
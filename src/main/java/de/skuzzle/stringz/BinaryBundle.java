@@ -0,0 +1,308 @@
+package de.skuzzle.stringz;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.ResourceBundle;
+import java.util.Set;
+import java.util.SortedMap;
+
+/**
+ * ResourceBundle which is read from the compact binary format written by the
+ * {@link BundleCompiler}. All keys and values of a bundle are stored in a single
+ * deduplicated string pool which is decoded at once when the bundle is read. The
+ * entries are sorted by key and refer to regions of the pool, so that a lookup
+ * is a binary search on primitive arrays and only the requested value is
+ * materialized.
+ *
+ * <p>
+ * The layout of a compiled bundle is:
+ * </p>
+ *
+ * <pre>
+ * int    magic ("STZB")
+ * short  version
+ * byte   pool encoding (0 = UTF-8, 1 = raw UTF-16BE chars)
+ * int    number of entries
+ * int    number of pool bytes
+ * byte[] pool
+ * int[]  key offset, key length, value offset, value length for each entry
+ * </pre>
+ *
+ * <p>
+ * Offsets and lengths are measured in chars of the decoded pool. Values are
+ * stored with all key references already resolved and all includes flattened,
+ * thus they are not expanded again by the {@link ExtendedBundle}.
+ * </p>
+ *
+ * @author Simon Taddiken
+ * @since 0.3.0
+ * @see BinaryBundleControl
+ */
+final class BinaryBundle extends ResourceBundle implements SizedBundle {
+
+    /** File extension of compiled bundles */
+    static final String EXTENSION = "sbundle";
+
+    private static final int MAGIC = 0x53545A42;
+    private static final short VERSION = 1;
+    private static final byte UTF_8 = 0;
+    private static final byte UTF_16 = 1;
+
+    /** Number of ints per entry */
+    private static final int ENTRY_SIZE = 4;
+
+    /** Size of the compiled bundle in bytes */
+    private final long size;
+
+    private final String pool;
+
+    /** Key offset, key length, value offset and value length of each entry */
+    private final int[] entries;
+    private final int count;
+    private volatile Set<String> keySet;
+
+    private BinaryBundle(long size, String pool, int[] entries) {
+        this.size = size;
+        this.pool = pool;
+        this.entries = entries;
+        this.count = entries.length / ENTRY_SIZE;
+    }
+
+    /**
+     * Reads a compiled bundle. The stream is not closed.
+     *
+     * @param in The stream to read from.
+     * @return The bundle.
+     * @throws IOException If reading fails or the content is no compiled bundle.
+     */
+    static BinaryBundle read(InputStream in) throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream(8192);
+        final byte[] chunk = new byte[8192];
+        int read;
+        while ((read = in.read(chunk)) >= 0) {
+            out.write(chunk, 0, read);
+        }
+        return read(ByteBuffer.wrap(out.toByteArray()));
+    }
+
+    /**
+     * Reads a compiled bundle from the provided buffer.
+     *
+     * @param buffer The buffer to read from.
+     * @return The bundle.
+     * @throws IOException If the content is no valid compiled bundle.
+     */
+    static BinaryBundle read(ByteBuffer buffer) throws IOException {
+        final int start = buffer.position();
+        try {
+            if (buffer.getInt() != MAGIC) {
+                throw new IOException("Not a compiled bundle");
+            }
+            final short version = buffer.getShort();
+            if (version != VERSION) {
+                throw new IOException(String.format(
+                        "Unsupported compiled bundle version: %d", version));
+            }
+            final byte encoding = buffer.get();
+            final int size = buffer.getInt();
+            final int poolBytes = buffer.getInt();
+            if (size < 0 || poolBytes < 0 || poolBytes > buffer.remaining()) {
+                throw new IOException("Corrupt compiled bundle");
+            }
+
+            final String pool;
+            if (encoding == UTF_16) {
+                final char[] chars = new char[poolBytes / 2];
+                buffer.asCharBuffer().get(chars);
+                buffer.position(buffer.position() + poolBytes);
+                pool = new String(chars);
+            } else if (encoding != UTF_8) {
+                throw new IOException(String.format(
+                        "Unsupported pool encoding: %d", encoding));
+            } else if (buffer.hasArray()) {
+                pool = new String(buffer.array(),
+                        buffer.arrayOffset() + buffer.position(), poolBytes,
+                        StandardCharsets.UTF_8);
+                buffer.position(buffer.position() + poolBytes);
+            } else {
+                final byte[] bytes = new byte[poolBytes];
+                buffer.get(bytes);
+                pool = new String(bytes, StandardCharsets.UTF_8);
+            }
+
+            final int[] entries = new int[size * ENTRY_SIZE];
+            buffer.asIntBuffer().get(entries);
+            for (int i = 0; i < entries.length; i += 2) {
+                if (entries[i] < 0 || entries[i + 1] < 0
+                        || entries[i] + entries[i + 1] > pool.length()) {
+                    throw new IOException("Corrupt compiled bundle");
+                }
+            }
+            final long bytes = buffer.position() - start + entries.length * 4L;
+            return new BinaryBundle(bytes, pool, entries);
+        } catch (BufferUnderflowException e) {
+            throw new IOException("Truncated compiled bundle", e);
+        }
+    }
+
+    /**
+     * Writes the provided entries in the compiled format. The stream is not
+     * closed.
+     *
+     * @param values The entries to write.
+     * @param out The stream to write to.
+     * @throws IOException If writing fails.
+     */
+    static void write(SortedMap<String, String> values, OutputStream out)
+            throws IOException {
+        final StringBuilder pool = new StringBuilder();
+        final Map<String, Integer> offsets = new HashMap<>();
+        final int[] entries = new int[values.size() * ENTRY_SIZE];
+        int i = 0;
+        for (final Map.Entry<String, String> e : values.entrySet()) {
+            entries[i++] = offset(e.getKey(), pool, offsets);
+            entries[i++] = e.getKey().length();
+            entries[i++] = offset(e.getValue(), pool, offsets);
+            entries[i++] = e.getValue().length();
+        }
+
+        // UTF-8 can not represent lone surrogates, which would shift all
+        // offsets. Such pools are stored as raw chars instead
+        final String s = pool.toString();
+        byte encoding = UTF_8;
+        byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        if (!new String(bytes, StandardCharsets.UTF_8).equals(s)) {
+            encoding = UTF_16;
+            final ByteBuffer chars = ByteBuffer.allocate(s.length() * 2);
+            chars.asCharBuffer().put(s);
+            bytes = chars.array();
+        }
+
+        final DataOutputStream data = new DataOutputStream(out);
+        data.writeInt(MAGIC);
+        data.writeShort(VERSION);
+        data.writeByte(encoding);
+        data.writeInt(values.size());
+        data.writeInt(bytes.length);
+        data.write(bytes);
+        for (final int entry : entries) {
+            data.writeInt(entry);
+        }
+        data.flush();
+    }
+
+    private static int offset(String s, StringBuilder pool,
+            Map<String, Integer> offsets) {
+        final Integer existing = offsets.get(s);
+        if (existing != null) {
+            return existing;
+        }
+        final int offset = pool.length();
+        pool.append(s);
+        offsets.put(s, offset);
+        return offset;
+    }
+
+    /**
+     * Finds the entry for the provided key.
+     *
+     * @param key The key to search.
+     * @return The index of the entry or a negative value if the key does not
+     *         exist.
+     */
+    private int find(String key) {
+        int low = 0;
+        int high = this.count - 1;
+        while (low <= high) {
+            final int mid = (low + high) >>> 1;
+            final int cmp = compareKey(mid, key);
+            if (cmp < 0) {
+                low = mid + 1;
+            } else if (cmp > 0) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    /** Compares the key of the entry with the provided key like String does */
+    private int compareKey(int entry, String key) {
+        final int offset = this.entries[entry * ENTRY_SIZE];
+        final int length = this.entries[entry * ENTRY_SIZE + 1];
+        final int limit = Math.min(length, key.length());
+        for (int i = 0; i < limit; ++i) {
+            final char c1 = this.pool.charAt(offset + i);
+            final char c2 = key.charAt(i);
+            if (c1 != c2) {
+                return c1 - c2;
+            }
+        }
+        return length - key.length();
+    }
+
+    private String region(int offset, int length) {
+        return this.pool.substring(offset, offset + length);
+    }
+
+    @Override
+    public long getSize() {
+        return this.size;
+    }
+
+    @Override
+    protected Object handleGetObject(String key) {
+        if (key == null) {
+            throw new NullPointerException();
+        }
+        final int entry = find(key);
+        if (entry < 0) {
+            return null;
+        }
+        final int base = entry * ENTRY_SIZE;
+        return region(this.entries[base + 2], this.entries[base + 3]);
+    }
+
+    @Override
+    protected Set<String> handleKeySet() {
+        Set<String> result = this.keySet;
+        if (result == null) {
+            final Set<String> keys = new HashSet<>(this.count * 4 / 3 + 1);
+            for (int i = 0; i < this.entries.length; i += ENTRY_SIZE) {
+                keys.add(region(this.entries[i], this.entries[i + 1]));
+            }
+            result = Collections.unmodifiableSet(keys);
+            this.keySet = result;
+        }
+        return result;
+    }
+
+    @Override
+    public Enumeration<String> getKeys() {
+        final Set<String> keys = new HashSet<>(handleKeySet());
+        if (this.parent != null) {
+            keys.addAll(this.parent.keySet());
+        }
+        return Collections.enumeration(keys);
+    }
+
+    @Override
+    public boolean containsKey(String key) {
+        if (key == null) {
+            throw new NullPointerException();
+        }
+        return find(key) >= 0 || this.parent != null && this.parent.containsKey(key);
+    }
+}
@@ -0,0 +1,79 @@
+package de.skuzzle.stringz;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.charset.Charset;
+import java.util.Locale;
+import java.util.ResourceBundle;
+
+/**
+ * Control which loads bundles that have been compiled into the binary format by
+ * the {@link BundleCompiler}. Reading a compiled bundle only decodes a single
+ * contiguous blob and requires no parsing, no resolution of key references and
+ * no loading of included bundles. Compiled bundles are expected next to the
+ * original {@code .properties} files and use the extension {@code .sbundle}.
+ *
+ * <p>
+ * If there is no compiled bundle for a locale, the {@code .properties} file is
+ * read like by the {@link CharsetBundleControl}.
+ * </p>
+ *
+ * @author Simon Taddiken
+ * @since 0.3.0
+ * @see BinaryBundleControlFactory
+ */
+public class BinaryBundleControl extends CharsetBundleControl {
+
+    /**
+     * Creates a new BinaryBundleControl.
+     *
+     * @param charset Name of the charset to use for reading {@code .properties}
+     *            files for which no compiled bundle exists.
+     * @throws IllegalArgumentException If {@code charset} is <code>null</code>
+     */
+    public BinaryBundleControl(String charset) {
+        super(charset);
+    }
+
+    /**
+     * Creates a new BinaryBundleControl.
+     *
+     * @param charset The charset to use for reading {@code .properties} files for
+     *            which no compiled bundle exists.
+     * @throws IllegalArgumentException If {@code charset} is <code>null</code>
+     */
+    public BinaryBundleControl(Charset charset) {
+        super(charset);
+    }
+
+    @Override
+    public ResourceBundle newBundle(String baseName, Locale locale, String format,
+            ClassLoader loader, boolean reload)
+                    throws IllegalAccessException, InstantiationException, IOException {
+        final String resourceName = toResourceName(toBundleName(baseName, locale),
+                BinaryBundle.EXTENSION);
+        InputStream stream = null;
+        if (reload) {
+            final URL url = loader.getResource(resourceName);
+            if (url != null) {
+                final URLConnection connection = url.openConnection();
+                if (connection != null) {
+                    connection.setUseCaches(false);
+                    stream = connection.getInputStream();
+                }
+            }
+        } else {
+            stream = loader.getResourceAsStream(resourceName);
+        }
+        if (stream == null) {
+            return super.newBundle(baseName, locale, format, loader, reload);
+        }
+        try {
+            return BinaryBundle.read(stream);
+        } finally {
+            stream.close();
+        }
+    }
+}
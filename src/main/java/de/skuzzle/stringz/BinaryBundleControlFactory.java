@@ -0,0 +1,50 @@
+package de.skuzzle.stringz;
+
+import java.nio.charset.Charset;
+import java.nio.charset.IllegalCharsetNameException;
+import java.nio.charset.UnsupportedCharsetException;
+import java.util.ResourceBundle.Control;
+
+import de.skuzzle.stringz.annotation.ResourceControl;
+import de.skuzzle.stringz.annotation.ResourceMapping;
+import de.skuzzle.stringz.strategy.ControlFactory;
+import de.skuzzle.stringz.strategy.ControlFactoryException;
+
+/**
+ * ControlFactory which creates a {@link BinaryBundleControl} using the charset
+ * provided with {@link ResourceMapping#encoding()}. Use it with
+ * {@link ResourceControl} on message classes which use compiled bundles:
+ *
+ * <pre>
+ * &#064;ResourceMapping
+ * &#064;ResourceControl(BinaryBundleControlFactory.class)
+ * public class MSG {
+ *     // ...
+ * }
+ * </pre>
+ *
+ * @author Simon Taddiken
+ * @since 0.3.0
+ */
+public class BinaryBundleControlFactory implements ControlFactory {
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws ControlFactoryException If {@code args.length != 0} or the charset
+     *          provided at {@code mapping.encoding()} is not supported.
+     */
+    @Override
+    public Control create(ResourceMapping mapping, String[] args) {
+        if (args.length != 0) {
+            throw new ControlFactoryException(
+                    "This class has no additional parameters");
+        }
+        try {
+            return new BinaryBundleControl(Charset.forName(mapping.encoding()));
+        } catch (UnsupportedCharsetException | IllegalCharsetNameException e) {
+            throw new ControlFactoryException(String.format(
+                    "Unsupported charset: %s", mapping.encoding()), e);
+        }
+    }
+}
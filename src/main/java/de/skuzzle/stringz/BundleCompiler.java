@@ -0,0 +1,255 @@
+package de.skuzzle.stringz;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.MissingResourceException;
+import java.util.ResourceBundle;
+import java.util.ResourceBundle.Control;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Compiles {@code .properties} bundle families into the binary format which is
+ * read by the {@link BinaryBundleControl}. Each {@code .properties} file of a
+ * family is compiled into a {@code .sbundle} file with the same name. A compiled
+ * bundle contains all keys which are visible for its locale, including those of
+ * its parent bundles and of all included bundles, with all key references
+ * already resolved. As included bundles are loaded for the requested locale, a
+ * family is additionally compiled for all locales which are provided by any of
+ * its included families.
+ *
+ * <p>
+ * The compiler is meant to be run during the build, after resources have been
+ * copied to the output directory. It can be invoked from the command line or
+ * from a build tool, e.g. using the exec-maven-plugin:
+ * </p>
+ *
+ * <pre>
+ * java de.skuzzle.stringz.BundleCompiler [-encoding UTF-8] &lt;sourceRoot&gt; &lt;outputRoot&gt; &lt;baseName&gt;...
+ * </pre>
+ *
+ * <p>
+ * Note that compiled bundles are not affected by changes to the
+ * {@code .properties} files they have been compiled from, so they must be
+ * compiled again whenever a bundle or any bundle it includes changes.
+ * </p>
+ *
+ * @author Simon Taddiken
+ * @since 0.3.0
+ */
+public final class BundleCompiler {
+
+    private static final String SUFFIX = ".properties";
+    private static final String INCLUDE_KEY = "@include";
+
+    /** Matches the locale suffix of a bundle's file name */
+    private static final Pattern LOCALE_SUFFIX = Pattern.compile(
+            "(?:_([a-z]{2,3})?(?:_([A-Z]{2}|\\d{3})?(?:_(\\w+))?)?)?");
+
+    private final Path sourceRoot;
+    private final Control control;
+
+    /**
+     * Creates a new BundleCompiler.
+     *
+     * @param sourceRoot Root directory from which the bundles and their includes
+     *            are read.
+     * @param charset The charset in which the {@code .properties} files are
+     *            stored.
+     */
+    public BundleCompiler(Path sourceRoot, Charset charset) {
+        if (sourceRoot == null) {
+            throw new IllegalArgumentException("sourceRoot is null");
+        } else if (charset == null) {
+            throw new IllegalArgumentException("charset is null");
+        }
+        this.sourceRoot = sourceRoot;
+        this.control = new CharsetBundleControl(charset) {
+
+            @Override
+            public Locale getFallbackLocale(String baseName, Locale locale) {
+                // only compile what is actually provided by the family
+                return null;
+            }
+        };
+    }
+
+    /**
+     * Compiles all locales of a bundle family.
+     *
+     * @param baseName Base name of the family.
+     * @param outputRoot Root directory into which the compiled bundles are
+     *            written.
+     * @return The written files.
+     * @throws IOException If reading or writing fails.
+     * @throws MissingResourceException If a bundle or one of its includes can
+     *             not be loaded or contains unresolvable references.
+     */
+    public List<Path> compile(String baseName, Path outputRoot) throws IOException {
+        if (baseName == null) {
+            throw new IllegalArgumentException("baseName is null");
+        } else if (outputRoot == null) {
+            throw new IllegalArgumentException("outputRoot is null");
+        }
+
+        final List<Path> result = new ArrayList<>();
+        final URL[] urls = { this.sourceRoot.toUri().toURL() };
+        try (URLClassLoader loader = new URLClassLoader(urls, null)) {
+            try {
+                // the includes of the compiled sources must not be mixed up
+                // with those of the bundles which are used at runtime
+                compile(baseName, outputRoot, loader, new IncludeGraph(), result);
+            } finally {
+                ResourceBundle.clearCache(loader);
+            }
+        }
+        return result;
+    }
+
+    private void compile(String baseName, Path outputRoot, ClassLoader loader,
+            IncludeGraph graph, List<Path> result) throws IOException {
+        // includes are loaded for the requested locale, so the family must also
+        // be compiled for every locale which is provided by an included family
+        final Set<Locale> compiled = new HashSet<>();
+        Set<Locale> pending = findLocales(baseName);
+        while (!pending.isEmpty()) {
+            for (final Locale locale : pending) {
+                result.add(compile(baseName, locale, outputRoot, loader, graph));
+                compiled.add(locale);
+            }
+            pending = new LinkedHashSet<>();
+            for (final String include : findIncludes(graph, baseName)) {
+                pending.addAll(findLocales(include));
+            }
+            pending.removeAll(compiled);
+        }
+    }
+
+    private Path compile(String baseName, Locale locale, Path outputRoot,
+            ClassLoader loader, IncludeGraph graph) throws IOException {
+        final ResourceBundle bundle = ExtendedBundle.getUncachedBundle(
+                baseName, locale, loader, this.control, graph);
+
+        final SortedMap<String, String> values = new TreeMap<>();
+        for (final String key : bundle.keySet()) {
+            if (!INCLUDE_KEY.equals(key)) {
+                values.put(key, bundle.getString(key));
+            }
+        }
+
+        final Path target = outputRoot.resolve(this.control.toResourceName(
+                this.control.toBundleName(baseName, locale),
+                BinaryBundle.EXTENSION));
+        if (target.getParent() != null) {
+            Files.createDirectories(target.getParent());
+        }
+        try (OutputStream out = Files.newOutputStream(target)) {
+            BinaryBundle.write(values, out);
+        }
+        return target;
+    }
+
+    private static Set<String> findIncludes(IncludeGraph graph, String baseName) {
+        final Set<String> result = new LinkedHashSet<>();
+        final Deque<String> queue = new ArrayDeque<>();
+        queue.add(baseName);
+        while (!queue.isEmpty()) {
+            for (final String include : graph.getIncludes(queue.poll())) {
+                if (result.add(include)) {
+                    queue.add(include);
+                }
+            }
+        }
+        return result;
+    }
+
+    private Set<Locale> findLocales(String baseName) throws IOException {
+        final String path = baseName.replace('.', '/');
+        final int slash = path.lastIndexOf('/');
+        final String simpleName = path.substring(slash + 1);
+        final Path directory = slash < 0
+                ? this.sourceRoot
+                : this.sourceRoot.resolve(path.substring(0, slash));
+
+        final Set<Locale> locales = new LinkedHashSet<>();
+        if (!Files.isDirectory(directory)) {
+            return locales;
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            files.map(file -> file.getFileName().toString())
+                    .filter(name -> name.startsWith(simpleName)
+                            && name.endsWith(SUFFIX))
+                    .map(name -> name.substring(simpleName.length(),
+                            name.length() - SUFFIX.length()))
+                    .map(LOCALE_SUFFIX::matcher)
+                    .filter(Matcher::matches)
+                    .map(m -> new Locale(
+                            nonNull(m.group(1)),
+                            nonNull(m.group(2)),
+                            nonNull(m.group(3))))
+                    .forEach(locales::add);
+        }
+        return locales;
+    }
+
+    private static String nonNull(String s) {
+        return s == null ? "" : s;
+    }
+
+    /**
+     * Command line entry point.
+     *
+     * @param args {@code [-encoding <charset>] <sourceRoot> <outputRoot> <baseName>...}
+     */
+    public static void main(String[] args) {
+        List<String> arguments = Arrays.asList(args);
+        Charset charset = StandardCharsets.UTF_8;
+        if (arguments.size() >= 2 && "-encoding".equals(arguments.get(0))) {
+            charset = Charset.forName(arguments.get(1));
+            arguments = arguments.subList(2, arguments.size());
+        }
+        if (arguments.size() < 3) {
+            System.err.println("Usage: BundleCompiler [-encoding <charset>] "
+                    + "<sourceRoot> <outputRoot> <baseName>...");
+            System.exit(1);
+            return;
+        }
+
+        final BundleCompiler compiler = new BundleCompiler(
+                Paths.get(arguments.get(0)), charset);
+        final Path outputRoot = Paths.get(arguments.get(1));
+        try {
+            for (final String baseName : arguments.subList(2, arguments.size())) {
+                final List<Path> written = compiler.compile(baseName, outputRoot);
+                if (written.isEmpty()) {
+                    System.err.println("No bundles found for " + baseName);
+                    System.exit(1);
+                    return;
+                }
+                written.forEach(System.out::println);
+            }
+        } catch (IOException | MissingResourceException e) {
+            System.err.println("Compiling bundles failed: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package de.skuzzle.stringz;
+
+import java.util.Locale;
+import java.util.Objects;
+import java.util.ResourceBundle;
+import java.util.ResourceBundle.Control;
+
+/**
+ * Identifies a {@link ResourceBundle} by all the information that is needed to
+ * load it. Two message classes which resolve to equal keys share the same bundle.
+ *
+ * @author Simon Taddiken
+ * @since 0.3.0
+ */
+final class BundleKey {
+
+    private final String baseName;
+    private final Locale locale;
+    private final ClassLoader loader;
+    private final Control control;
+
+    BundleKey(String baseName, Locale locale, ClassLoader loader, Control control) {
+        if (baseName == null) {
+            throw new IllegalArgumentException("baseName is null");
+        } else if (locale == null) {
+            throw new IllegalArgumentException("locale is null");
+        } else if (control == null) {
+            throw new IllegalArgumentException("control is null");
+        }
+        this.baseName = baseName;
+        this.locale = locale;
+        this.loader = loader;
+        this.control = control;
+    }
+
+    public String getBaseName() {
+        return this.baseName;
+    }
+
+    public Locale getLocale() {
+        return this.locale;
+    }
+
+    public ClassLoader getLoader() {
+        return this.loader;
+    }
+
+    public Control getControl() {
+        return this.control;
+    }
+
+    /**
+     * Loads the bundle identified by this key.
+     *
+     * @return The loaded bundle.
+     * @throws java.util.MissingResourceException If the bundle or any of its
+     *             includes could not be found.
+     */
+    public ResourceBundle load() {
+        return ExtendedBundle.getBundle(this.baseName, this.locale, this.loader,
+                this.control);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(this.baseName, this.locale, this.loader, this.control);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == this) {
+            return true;
+        } else if (!(obj instanceof BundleKey)) {
+            return false;
+        }
+        final BundleKey other = (BundleKey) obj;
+        return this.baseName.equals(other.baseName)
+                && this.locale.equals(other.locale)
+                && this.loader == other.loader
+                && this.control.equals(other.control);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("baseName=%s, locale=%s", this.baseName, this.locale);
+    }
+}
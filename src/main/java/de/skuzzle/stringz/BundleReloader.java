@@ -0,0 +1,339 @@
+package de.skuzzle.stringz;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Watches directories which contain {@code .properties} bundles and
+ * {@link Stringz#reload(java.util.Collection) reloads} all message classes which
+ * are affected by changed files. Directories are watched recursively and must be
+ * the roots from which the bundles are loaded, that is, the path of a bundle
+ * file relative to the watched directory must match its resource name. During
+ * development this is usually the output directory of the build, like
+ * {@code target/classes}.
+ *
+ * <p>
+ * Changes are collected until no further change occurred for the configured
+ * debounce window. Then all changed families are reloaded at once, so that a
+ * burst of edits, for example caused by saving multiple files or by a build,
+ * causes only a single reload.
+ * </p>
+ *
+ * <pre>
+ * BundleReloader reloader = new BundleReloader(200);
+ * reloader.watch(Paths.get("target/classes"));
+ * reloader.start();
+ * </pre>
+ *
+ * @author Simon Taddiken
+ * @since 0.3.0
+ */
+public final class BundleReloader implements Closeable {
+
+    /**
+     * Is notified about the outcome of each reload. Exceptions thrown by a
+     * listener are passed to the uncaught exception handler of the watching
+     * thread. They neither affect other listeners nor stop watching.
+     *
+     * @author Simon Taddiken
+     * @since 0.3.0
+     */
+    public interface Listener {
+
+        /**
+         * Called after changed families have been reloaded.
+         *
+         * @param baseNames Candidate base names of the changed families.
+         * @param reloaded The message classes which have been reloaded.
+         */
+        void reloaded(Set<String> baseNames, Set<Class<?>> reloaded);
+
+        /**
+         * Called if reloading failed. The message classes keep their previous
+         * values in that case.
+         *
+         * @param baseNames Candidate base names of the changed families.
+         * @param e The cause of the failure.
+         */
+        default void failed(Set<String> baseNames, RuntimeException e) {}
+    }
+
+    private static final String EXTENSION = ".properties";
+
+    /** Number of underscore separated locale segments in a bundle name */
+    private static final int MAX_LOCALE_SEGMENTS = 3;
+
+    private final long debounceNanos;
+    private final WatchService watcher;
+    private final Map<WatchKey, Path> directories;
+    private final Map<WatchKey, Path> roots;
+    private final List<Listener> listeners;
+    private volatile Thread thread;
+
+    /** Candidate base names of the families which changed since the last reload */
+    private final Set<String> pending;
+
+    /** Time of the last change in nanoseconds */
+    private long lastChange;
+
+    /**
+     * Creates a new reloader.
+     *
+     * @param debounceMillis Time in milliseconds without any further change after
+     *            which collected changes are reloaded.
+     * @throws IOException If creating the watch service fails.
+     */
+    public BundleReloader(long debounceMillis) throws IOException {
+        if (debounceMillis < 0) {
+            throw new IllegalArgumentException("debounceMillis must not be negative");
+        }
+        this.debounceNanos = TimeUnit.MILLISECONDS.toNanos(debounceMillis);
+        this.watcher = FileSystems.getDefault().newWatchService();
+        this.directories = new ConcurrentHashMap<>();
+        this.roots = new ConcurrentHashMap<>();
+        this.listeners = new CopyOnWriteArrayList<>();
+        this.pending = new HashSet<>();
+    }
+
+    /**
+     * Watches the provided directory and all its sub directories.
+     *
+     * @param root A root directory from which bundles are loaded.
+     * @throws IOException If registering the directory fails.
+     */
+    public void watch(Path root) throws IOException {
+        if (root == null) {
+            throw new IllegalArgumentException("root is null");
+        } else if (!Files.isDirectory(root)) {
+            throw new IllegalArgumentException(String.format(
+                    "%s is not a directory", root));
+        }
+        register(root.toAbsolutePath(), root.toAbsolutePath());
+    }
+
+    private void register(Path root, Path start) throws IOException {
+        Files.walkFileTree(start, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir,
+                    BasicFileAttributes attrs) throws IOException {
+                final WatchKey key = dir.register(BundleReloader.this.watcher,
+                        StandardWatchEventKinds.ENTRY_CREATE,
+                        StandardWatchEventKinds.ENTRY_MODIFY,
+                        StandardWatchEventKinds.ENTRY_DELETE);
+                BundleReloader.this.directories.put(key, dir);
+                BundleReloader.this.roots.put(key, root);
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+
+    /**
+     * Adds a listener which is notified about reloads.
+     *
+     * @param listener The listener.
+     */
+    public void addListener(Listener listener) {
+        if (listener == null) {
+            throw new IllegalArgumentException("listener is null");
+        }
+        this.listeners.add(listener);
+    }
+
+    /**
+     * Removes a listener.
+     *
+     * @param listener The listener.
+     */
+    public void removeListener(Listener listener) {
+        this.listeners.remove(listener);
+    }
+
+    /**
+     * Starts watching on a daemon thread.
+     *
+     * @throws IllegalStateException If this reloader has already been started.
+     */
+    public synchronized void start() {
+        if (this.thread != null) {
+            throw new IllegalStateException("Reloader has already been started");
+        }
+        final Thread t = new Thread(this::run, "stringz-bundle-reloader");
+        t.setDaemon(true);
+        this.thread = t;
+        t.start();
+    }
+
+    /**
+     * Stops watching. Changes which have not been reloaded yet are discarded.
+     *
+     * @throws IOException If closing the watch service fails.
+     */
+    @Override
+    public void close() throws IOException {
+        this.watcher.close();
+        final Thread t = this.thread;
+        if (t != null) {
+            t.interrupt();
+        }
+    }
+
+    private void run() {
+        try {
+            while (true) {
+                final WatchKey key = this.pending.isEmpty()
+                        ? this.watcher.take()
+                        : this.watcher.poll(Math.max(0, this.lastChange
+                                + this.debounceNanos - System.nanoTime()),
+                                TimeUnit.NANOSECONDS);
+                try {
+                    if (key != null) {
+                        collect(key);
+                    }
+                    reloadIfQuiet(System.nanoTime());
+                } catch (ClosedWatchServiceException e) {
+                    throw e;
+                } catch (RuntimeException e) {
+                    // keep watching, later changes might still be reloaded
+                    report(e);
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // closed
+        }
+    }
+
+    private static void report(RuntimeException e) {
+        final Thread t = Thread.currentThread();
+        t.getUncaughtExceptionHandler().uncaughtException(t, e);
+    }
+
+    private void collect(WatchKey key) {
+        final Path dir = this.directories.get(key);
+        final Path root = this.roots.get(key);
+        if (dir != null) {
+            for (final WatchEvent<?> event : key.pollEvents()) {
+                if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                    continue;
+                }
+                final Path changed = dir.resolve((Path) event.context());
+                if (event.kind() == StandardWatchEventKinds.ENTRY_CREATE
+                        && Files.isDirectory(changed)) {
+                    try {
+                        register(root, changed);
+                    } catch (IOException e) {
+                        // directory vanished again
+                    }
+                } else if (changed.getFileName().toString().endsWith(EXTENSION)) {
+                    changed(baseNames(root.relativize(changed)), System.nanoTime());
+                }
+            }
+        }
+        if (!key.reset()) {
+            this.directories.remove(key);
+            this.roots.remove(key);
+        }
+    }
+
+    /**
+     * Determines the possible base names of a bundle file. As base names may
+     * contain underscores themselves, the locale suffix can not be told apart
+     * reliably. Thus all candidates are returned. Unknown families are ignored
+     * by {@link Stringz#reload(java.util.Collection)}.
+     *
+     * @param file Path of the bundle file relative to its root.
+     * @return The candidate base names.
+     */
+    static Set<String> baseNames(Path file) {
+        final StringBuilder b = new StringBuilder();
+        for (final Path segment : file) {
+            if (b.length() > 0) {
+                b.append('.');
+            }
+            b.append(segment.toString());
+        }
+        String name = b.substring(0, b.length() - EXTENSION.length());
+
+        final Set<String> result = new HashSet<>();
+        result.add(name);
+        final int simpleStart = name.lastIndexOf('.') + 1;
+        for (int i = 0; i < MAX_LOCALE_SEGMENTS; ++i) {
+            final int underscore = name.lastIndexOf('_');
+            if (underscore < simpleStart) {
+                break;
+            }
+            name = name.substring(0, underscore);
+            result.add(name);
+        }
+        return result;
+    }
+
+    /**
+     * Records that the provided families have changed. Must only be called by
+     * the watching thread.
+     *
+     * @param baseNames Candidate base names of the changed families.
+     * @param now The current time in nanoseconds.
+     */
+    void changed(Set<String> baseNames, long now) {
+        this.pending.addAll(baseNames);
+        this.lastChange = now;
+    }
+
+    /**
+     * Reloads all changed families if the debounce window has elapsed since the
+     * last change. Must only be called by the watching thread.
+     *
+     * @param now The current time in nanoseconds.
+     * @return Whether the changed families have been reloaded.
+     */
+    boolean reloadIfQuiet(long now) {
+        if (this.pending.isEmpty() || now - this.lastChange < this.debounceNanos) {
+            return false;
+        }
+        final Set<String> baseNames = new HashSet<>(this.pending);
+        this.pending.clear();
+        reload(baseNames);
+        return true;
+    }
+
+    private void reload(Set<String> baseNames) {
+        final Set<Class<?>> reloaded;
+        try {
+            reloaded = Stringz.reload(baseNames);
+        } catch (RuntimeException e) {
+            fire(l -> l.failed(baseNames, e));
+            return;
+        }
+        // the new values have been published, regardless of the listeners
+        fire(l -> l.reloaded(baseNames, reloaded));
+    }
+
+    private void fire(Consumer<Listener> event) {
+        for (final Listener listener : this.listeners) {
+            try {
+                event.accept(listener);
+            } catch (RuntimeException e) {
+                report(e);
+            }
+        }
+    }
+}
@@ -2,9 +2,9 @@ package de.skuzzle.stringz;
 
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
-import java.util.HashMap;
 import java.util.Map;
 import java.util.ResourceBundle.Control;
+import java.util.concurrent.ConcurrentHashMap;
 
 import de.skuzzle.stringz.annotation.FieldMapping;
 import de.skuzzle.stringz.annotation.ResourceControl;
@@ -40,8 +40,8 @@ public class CachedStrategies implements Strategies {
      * Creates a new cached strategies instance.
      */
     public CachedStrategies() {
-        this.controlCache = new HashMap<>();
-        this.fieldMapperCache = new HashMap<>();
+        this.controlCache = new ConcurrentHashMap<>();
+        this.fieldMapperCache = new ConcurrentHashMap<>();
     }
 
     /**
@@ -49,7 +49,10 @@ public class CachedStrategies implements Strategies {
      * in the provided {@code cache}. If no instance for T is cached, a new one will be
      * instantiated and stored.
      *
-     * <p>This method is synchronized on the passed {@code cache}.</p>
+     * <p>Every instance is created at most once per key, using
+     * {@link Map#computeIfAbsent(Object, java.util.function.Function) computeIfAbsent}
+     * of the passed {@code cache}. Thus, the cache should be a concurrent map in order
+     * to allow lookups of different keys to proceed in parallel.</p>
      *
      * @param <T> Type of values in the cache.
      * @param cache The cache to retrieve the instance from or to put a newly created
@@ -62,20 +65,40 @@ public class CachedStrategies implements Strategies {
      */
     protected <T> T getCached(Map<Class<? extends T>, T> cache, Class<? extends T> key)
             throws InstantiationException, IllegalAccessException {
-        synchronized (cache) {
-            T result = cache.get(key);
-            if (result == null) {
-                try {
-                    final Constructor<? extends T> ctor = key.getConstructor();
-                    ctor.setAccessible(true);
-                    result = ctor.newInstance();
-                    cache.put(key, result);
-                } catch (NoSuchMethodException | SecurityException
-                        | IllegalArgumentException | InvocationTargetException e) {
-                    throw new StringzRuntimeException(e);
-                }
+        final T cached = cache.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        try {
+            return cache.computeIfAbsent(key, CachedStrategies::newInstance);
+        } catch (CreationException e) {
+            if (e.getCause() instanceof InstantiationException) {
+                throw (InstantiationException) e.getCause();
+            } else if (e.getCause() instanceof IllegalAccessException) {
+                throw (IllegalAccessException) e.getCause();
             }
-            return result;
+            throw new StringzRuntimeException(e.getCause());
+        }
+    }
+
+    private static <T> T newInstance(Class<? extends T> cls) {
+        try {
+            final Constructor<? extends T> ctor = cls.getConstructor();
+            ctor.setAccessible(true);
+            return ctor.newInstance();
+        } catch (ReflectiveOperationException | SecurityException
+                | IllegalArgumentException e) {
+            throw new CreationException(e);
+        }
+    }
+
+    /** Transports checked exceptions out of computeIfAbsent */
+    private static final class CreationException extends RuntimeException {
+
+        private static final long serialVersionUID = 1L;
+
+        CreationException(Exception cause) {
+            super(cause);
         }
     }
 
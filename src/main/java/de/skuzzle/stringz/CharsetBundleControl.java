@@ -1,8 +1,10 @@
 package de.skuzzle.stringz;
 
+import java.io.FilterInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.Reader;
 import java.net.URL;
 import java.net.URLConnection;
 import java.nio.charset.Charset;
@@ -71,13 +73,77 @@ public class CharsetBundleControl extends Control {
             stream = loader.getResourceAsStream(resourceName);
         }
         if (stream != null) {
+            final CountingInputStream counting = new CountingInputStream(stream);
             try {
-                bundle = new PropertyResourceBundle(
-                        new InputStreamReader(stream, this.charset));
+                bundle = new SizedPropertyResourceBundle(
+                        new InputStreamReader(counting, this.charset), counting);
             } finally {
                 stream.close();
             }
         }
         return bundle;
     }
+
+    /** PropertyResourceBundle which remembers the number of bytes read */
+    private static final class SizedPropertyResourceBundle
+            extends PropertyResourceBundle implements SizedBundle {
+
+        private final long size;
+
+        private SizedPropertyResourceBundle(Reader reader,
+                CountingInputStream counting) throws IOException {
+            super(reader);
+            this.size = counting.count;
+        }
+
+        @Override
+        public long getSize() {
+            return this.size;
+        }
+    }
+
+    private static final class CountingInputStream extends FilterInputStream {
+
+        private long count;
+
+        private CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            final int b = super.read();
+            if (b >= 0) {
+                ++this.count;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            final int read = super.read(b, off, len);
+            if (read > 0) {
+                this.count += read;
+            }
+            return read;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            final long skipped = super.skip(n);
+            this.count += skipped;
+            return skipped;
+        }
+    }
+
+    @Override
+    public int hashCode() {
+        return this.charset.hashCode();
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        return obj == this || obj != null && obj.getClass() == getClass()
+                && this.charset.equals(((CharsetBundleControl) obj).charset);
+    }
 }
@@ -0,0 +1,343 @@
+package de.skuzzle.stringz;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.text.DecimalFormatSymbols;
+import java.util.ArrayList;
+import java.util.Formattable;
+import java.util.Formatter;
+import java.util.List;
+import java.util.Locale;
+import java.util.MissingFormatArgumentException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A format String in terms of {@link Formatter} which has been parsed into
+ * literal chunks and conversions once, so that it can be rendered repeatedly
+ * without parsing it again. Formatting a compiled format yields exactly the same
+ * result as {@link String#format(Locale, String, Object...)}.
+ *
+ * <p>
+ * The most common conversions ({@code %s}, {@code %d}, {@code %n} and
+ * {@code %%} without flags, width or precision) are rendered directly. All other
+ * conversions are delegated to a {@link Formatter} one at a time. Format Strings
+ * which are not valid are not compiled at all. Formatting them behaves like
+ * {@code String.format} and thus throws the same exception.
+ * </p>
+ *
+ * @author Simon Taddiken
+ * @since 0.3.0
+ */
+public final class CompiledFormat {
+
+    // %[argument_index$][flags][width][.precision][t]conversion
+    private static final Pattern SPECIFIER = Pattern.compile(
+            "%(\\d+\\$)?([-#+ 0,(\\<]*)?(\\d+)?(\\.\\d+)?([tT])?([a-zA-Z%])");
+
+    private static final String CONVERSIONS = "bBhHsScCdoxXeEfgGaA%n";
+    private static final String DATE_CONVERSIONS =
+            "HIklMSLNpzZsQBbhAaCYyjmdeRTrDFc";
+
+    private static final String LINE_SEPARATOR = System.lineSeparator();
+
+    /** Whether the zero digit of a locale is '0' */
+    private static final ConcurrentMap<Locale, Boolean> ASCII_DIGITS =
+            new ConcurrentHashMap<>();
+
+    private static final Object[] NO_ARGS = new Object[0];
+
+    /** Kinds of parts */
+    private static final int LITERAL = 0;
+    private static final int STRING = 1;
+    private static final int DECIMAL = 2;
+    private static final int DELEGATE = 3;
+
+    private final String pattern;
+    private final boolean valid;
+    private final int[] kinds;
+    /** Literal text or specifier (without index) to delegate */
+    private final String[] texts;
+    /** Index of the argument of each part */
+    private final int[] indices;
+
+    private CompiledFormat(String pattern, boolean valid, List<Integer> kinds,
+            List<String> texts, List<Integer> indices) {
+        this.pattern = pattern;
+        this.valid = valid;
+        this.kinds = toArray(kinds);
+        this.texts = texts.toArray(new String[texts.size()]);
+        this.indices = toArray(indices);
+    }
+
+    private static int[] toArray(List<Integer> list) {
+        final int[] result = new int[list.size()];
+        for (int i = 0; i < result.length; ++i) {
+            result[i] = list.get(i);
+        }
+        return result;
+    }
+
+    /**
+     * Compiles the provided format String.
+     *
+     * @param pattern The format String.
+     * @return The compiled format.
+     */
+    public static CompiledFormat compile(String pattern) {
+        if (pattern == null) {
+            throw new IllegalArgumentException("pattern is null");
+        }
+
+        final List<Integer> kinds = new ArrayList<>();
+        final List<String> texts = new ArrayList<>();
+        final List<Integer> indices = new ArrayList<>();
+        final StringBuilder literal = new StringBuilder();
+
+        final Matcher m = SPECIFIER.matcher(pattern);
+        int ordinary = 0;
+        int last = -1;
+        int i = 0;
+        while (i < pattern.length()) {
+            final int percent = pattern.indexOf('%', i);
+            if (percent < 0) {
+                literal.append(pattern, i, pattern.length());
+                break;
+            }
+            literal.append(pattern, i, percent);
+            if (!m.find(percent) || m.start() != percent || !isValid(m)) {
+                return new CompiledFormat(pattern, false, kinds, texts, indices);
+            }
+            i = m.end();
+
+            final String flags = m.group(2) == null ? "" : m.group(2);
+            final char conversion = m.group(6).charAt(0);
+            final boolean plain = flags.isEmpty() && m.group(3) == null
+                    && m.group(4) == null && m.group(5) == null;
+
+            if (conversion == '%' && plain) {
+                literal.append('%');
+                continue;
+            } else if (conversion == 'n') {
+                if (!plain || m.group(1) != null) {
+                    return new CompiledFormat(pattern, false, kinds, texts, indices);
+                }
+                literal.append(LINE_SEPARATOR);
+                continue;
+            }
+
+            // argument index
+            final int index;
+            if (conversion == '%') {
+                index = -1;
+            } else if (flags.indexOf('<') >= 0) {
+                if (last < 0) {
+                    // no previous argument, let the Formatter throw
+                    return new CompiledFormat(pattern, false, kinds, texts, indices);
+                }
+                index = last;
+            } else if (m.group(1) != null) {
+                final String group = m.group(1);
+                index = Integer.parseInt(group.substring(0, group.length() - 1)) - 1;
+                if (index < 0) {
+                    return new CompiledFormat(pattern, false, kinds, texts, indices);
+                }
+            } else {
+                index = ordinary++;
+            }
+            if (index >= 0) {
+                last = index;
+            }
+
+            flushLiteral(literal, kinds, texts, indices);
+            if (plain && conversion == 's') {
+                kinds.add(STRING);
+                texts.add(null);
+            } else if (plain && conversion == 'd') {
+                kinds.add(DECIMAL);
+                texts.add(null);
+            } else {
+                kinds.add(DELEGATE);
+                texts.add("%" + flags.replace("<", "")
+                        + (m.group(3) == null ? "" : m.group(3))
+                        + (m.group(4) == null ? "" : m.group(4))
+                        + (m.group(5) == null ? "" : m.group(5))
+                        + conversion);
+            }
+            indices.add(index);
+        }
+        flushLiteral(literal, kinds, texts, indices);
+        return new CompiledFormat(pattern, true, kinds, texts, indices);
+    }
+
+    private static boolean isValid(Matcher m) {
+        final char conversion = m.group(6).charAt(0);
+        if (m.group(5) != null) {
+            return DATE_CONVERSIONS.indexOf(conversion) >= 0;
+        }
+        return CONVERSIONS.indexOf(conversion) >= 0;
+    }
+
+    private static void flushLiteral(StringBuilder literal, List<Integer> kinds,
+            List<String> texts, List<Integer> indices) {
+        if (literal.length() > 0) {
+            kinds.add(LITERAL);
+            texts.add(literal.toString());
+            indices.add(-1);
+            literal.setLength(0);
+        }
+    }
+
+    /**
+     * Gets the format String from which this format has been compiled.
+     *
+     * @return The format String.
+     */
+    public String getPattern() {
+        return this.pattern;
+    }
+
+    /**
+     * Whether this format contains no conversions which consume arguments. The
+     * result of formatting such a format does not depend on the arguments.
+     *
+     * @return Whether this format is constant.
+     */
+    public boolean isConstant() {
+        return this.valid && (this.kinds.length == 0
+                || this.kinds.length == 1 && this.kinds[0] == LITERAL);
+    }
+
+    /**
+     * Formats the provided arguments.
+     *
+     * @param locale The locale to apply. May be <code>null</code> for no
+     *            localization.
+     * @param args The format arguments.
+     * @return The formatted String.
+     * @see String#format(Locale, String, Object...)
+     */
+    public String format(Locale locale, Object... args) {
+        if (!this.valid) {
+            return String.format(locale, this.pattern, args);
+        } else if (this.kinds.length == 0) {
+            return "";
+        } else if (this.kinds.length == 1 && this.kinds[0] == LITERAL) {
+            return this.texts[0];
+        }
+        return formatTo(new StringBuilder(this.pattern.length() + 16), locale, args)
+                .toString();
+    }
+
+    /**
+     * Formats the provided arguments and appends the result to the given
+     * StringBuilder.
+     *
+     * @param out The builder to append to.
+     * @param locale The locale to apply. May be <code>null</code> for no
+     *            localization.
+     * @param args The format arguments.
+     * @return The provided builder.
+     */
+    public StringBuilder formatTo(StringBuilder out, Locale locale, Object... args) {
+        try {
+            render(out, locale, args);
+        } catch (IOException e) {
+            // can not happen with StringBuilder
+            throw new UncheckedIOException(e);
+        }
+        return out;
+    }
+
+    /**
+     * Formats the provided arguments and appends the result to the given
+     * Appendable.
+     *
+     * @param <A> The type of the Appendable.
+     * @param out The Appendable to append to.
+     * @param locale The locale to apply. May be <code>null</code> for no
+     *            localization.
+     * @param args The format arguments.
+     * @return The provided Appendable.
+     * @throws IOException If appending fails.
+     */
+    public <A extends Appendable> A formatTo(A out, Locale locale, Object... args)
+            throws IOException {
+        render(out, locale, args);
+        return out;
+    }
+
+    private void render(Appendable out, Locale locale, Object[] args)
+            throws IOException {
+        if (!this.valid) {
+            out.append(String.format(locale, this.pattern, args));
+            return;
+        }
+        args = args == null ? NO_ARGS : args;
+        for (int i = 0; i < this.kinds.length; ++i) {
+            final int index = this.indices[i];
+            switch (this.kinds[i]) {
+            case LITERAL:
+                out.append(this.texts[i]);
+                break;
+            case STRING:
+                final Object s = argument(args, index, "%s");
+                if (s instanceof Formattable) {
+                    delegate(out, locale, "%s", s);
+                } else {
+                    out.append(String.valueOf(s));
+                }
+                break;
+            case DECIMAL:
+                final Object d = argument(args, index, "%d");
+                if (isIntegral(d) && hasAsciiDigits(locale)) {
+                    out.append(d.toString());
+                } else {
+                    delegate(out, locale, "%d", d);
+                }
+                break;
+            default:
+                delegate(out, locale, this.texts[i],
+                        index < 0 ? null : argument(args, index, this.texts[i]));
+            }
+        }
+    }
+
+    private static Object argument(Object[] args, int index, String specifier) {
+        if (index >= args.length) {
+            throw new MissingFormatArgumentException(specifier);
+        }
+        return args[index];
+    }
+
+    private static boolean isIntegral(Object o) {
+        return o instanceof Integer || o instanceof Long || o instanceof Short
+                || o instanceof Byte;
+    }
+
+    private static boolean hasAsciiDigits(Locale locale) {
+        if (locale == null || locale == Locale.ROOT || locale == Locale.US
+                || locale == Locale.ENGLISH) {
+            return true;
+        }
+        return ASCII_DIGITS.computeIfAbsent(locale,
+                l -> DecimalFormatSymbols.getInstance(l).getZeroDigit() == '0');
+    }
+
+    private static void delegate(Appendable out, Locale locale, String specifier,
+            Object arg) throws IOException {
+        final Formatter formatter = new Formatter(out, locale);
+        // wrap explicitly, arg might be an array itself
+        formatter.format(specifier, new Object[] { arg });
+        if (formatter.ioException() != null) {
+            throw formatter.ioException();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return this.pattern;
+    }
+}
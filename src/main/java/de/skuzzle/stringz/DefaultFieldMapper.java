@@ -24,8 +24,6 @@ import de.skuzzle.stringz.strategy.FieldMapperException;
  */
 public class DefaultFieldMapper implements FieldMapper {
 
-    private static final String DEFAULT_DELIMITER = ";";
-
     protected final FormatStringValidator validator = new FormatStringValidator();
 
     /**
@@ -57,9 +55,10 @@ public class DefaultFieldMapper implements FieldMapper {
      * Implements the default field assignment strategy for {@code Stringz}. If
      * field has any other type than {@code String} or {@code String[]}, an
      * exception will be caused. The value for the field will be retrieved using
-     * {@link ResourceBundle#getString(String)}. If the passed ResourceMapping's
-     * {@code intern} attribute is <code>true</code>, {@link String#intern()}
-     * will be called before assigning the value to the field.
+     * {@link ResourceBundle#getString(String)}. The value is deduplicated
+     * according to the passed ResourceMapping's
+     * {@link MappingSupport#internMode(ResourceMapping) intern mode} before
+     * assigning it to the field.
      * </p>
      *
      * <p>
@@ -76,36 +75,49 @@ public class DefaultFieldMapper implements FieldMapper {
     @Override
     public void mapField(ResourceMapping mapping, Field field, ResourceBundle bundle) {
         field.setAccessible(true);
+        final Object value = resolveField(mapping, field, bundle);
 
-        final Object value;
-        if (field.getType() == String.class) {
+        try {
+            field.set(null, value);
+        } catch (IllegalAccessException e) {
+            throw new FieldMapperException(String.format(
+                    "Resource initialization failed. family=%s, field=%s, value=%s",
+                    mapping.value(), field.getName(), value), e);
+        }
+    }
 
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * Computes the value exactly like
+     * {@link #mapField(ResourceMapping, Field, ResourceBundle) mapField} but
+     * does not modify the field.
+     * </p>
+     *
+     * @throws java.util.MissingResourceException {@inheritDoc}
+     * @throws FieldMapperException {@inheritDoc}
+     * @throws FormatValidationException If validation is enabled for the field
+     *             but failed.
+     */
+    @Override
+    public Object resolveField(ResourceMapping mapping, Field field,
+            ResourceBundle bundle) {
+        final MappingPlan.FieldPlan plan = MappingPlan.of(field);
+        if (field.getType() == String.class) {
             final String resourceKey = getResourceKey(field);
-            final Validate validate = field.getAnnotation(Validate.class);
-            value = getValue(mapping, bundle, validate, resourceKey);
-
-
+            return getValue(mapping, bundle, getValidate(field), resourceKey);
         } else if (field.getType() == String[].class) {
-            if (field.isAnnotationPresent(ResourceCollection.class)) {
-                final ResourceCollection rc = field.getAnnotation(
-                        ResourceCollection.class);
-
-                value = handleResourceCollection(field, mapping, bundle, rc);
+            if (plan.getCollection() != null) {
+                return handleResourceCollection(field, mapping, bundle,
+                        plan.getCollection());
             } else {
-                value = handleDelimittedString(field, mapping, bundle);
+                return handleDelimittedString(field, mapping, bundle);
             }
         } else {
             // should not be reachable as by #accept method
             throw new IllegalStateException();
         }
-
-        try {
-            field.set(null, value);
-        } catch (IllegalAccessException e) {
-            throw new FieldMapperException(String.format(
-                    "Resource initialization failed. family=%s, field=%s, value=%s",
-                    mapping.value(), field.getName(), value), e);
-        }
     }
 
     /**
@@ -127,10 +139,10 @@ public class DefaultFieldMapper implements FieldMapper {
                     "@ResourceCollection must specify at least one mapping key");
         }
 
-        Validate[] validators = null;
-        if (field.isAnnotationPresent(ValidateArray.class)) {
-            validators = field.getAnnotation(ValidateArray.class).value();
-        }
+        final ValidateArray validateArr = MappingPlan.of(field).getValidateArray();
+        final Validate[] validators = validateArr == null
+                ? null
+                : validateArr.value();
 
         if (validators != null && validators.length != rc.value().length) {
             // when specifying validators, there must be as many as
@@ -163,31 +175,22 @@ public class DefaultFieldMapper implements FieldMapper {
      */
     protected String[] handleDelimittedString(Field field, ResourceMapping mapping,
             ResourceBundle bundle) {
-        final String delimiterPattern;
-        if (field.isAnnotationPresent(Delimiter.class)) {
-            final Delimiter delimiter = field.getAnnotation(Delimiter.class);
-            delimiterPattern = delimiter.value();
-        } else {
-            delimiterPattern = getDefaultDelimiter();
-        }
-
-        final String resourceKey = getResourceKey(field);
-        final String resource = getValue(mapping, bundle, null, resourceKey);
-        final String[] splitted = resource.split(delimiterPattern);
+        final MappingPlan.FieldPlan plan = MappingPlan.of(field);
+        final String delimiterPattern = plan.getDelimiter() == null
+                ? getDefaultDelimiter()
+                : plan.getDelimiter();
 
-        if (field.isAnnotationPresent(ValidateArray.class)) {
-            final ValidateArray validateArr = field.getAnnotation(ValidateArray.class);
-            if (validateArr.value().length != splitted.length) {
-                throw new FieldMapperException(String.format(
-                        "Splitted resource contains %d values, but %d validators",
-                        splitted.length, validateArr.value().length));
-            }
-            for (int i = 0; i < splitted.length; ++i) {
-                final Validate validate = validateArr.value()[i];
-                this.validator.parseFormatString(splitted[i], validate.value());
+        String[][] conversions = null;
+        final ValidateArray validateArr = plan.getValidateArray();
+        if (validateArr != null) {
+            conversions = new String[validateArr.value().length][];
+            for (int i = 0; i < conversions.length; ++i) {
+                conversions[i] = validateArr.value()[i].value();
             }
         }
-        return splitted;
+        // only the elements are interned, not the unsplit resource
+        return MappingSupport.split(mapping, bundle, getResourceKey(field),
+                delimiterPattern, conversions);
     }
 
     /**
@@ -197,14 +200,14 @@ public class DefaultFieldMapper implements FieldMapper {
      * @return The delimiter pattern.
      */
     protected String getDefaultDelimiter() {
-        return DEFAULT_DELIMITER;
+        return MappingSupport.DEFAULT_DELIMITER;
     }
 
     /**
      * Gets a resource value for the provided {@code key} from the provided
-     * {@code bundle}. If the mapping's {@link ResourceMapping#intern() intern}
-     * attribute is <code>true</code>, then the retrieved resource value will be
-     * interned in terms of {@link String#intern()}.
+     * {@code bundle}. The retrieved resource value is deduplicated according to
+     * the mapping's {@link MappingSupport#internMode(ResourceMapping) intern
+     * mode}.
      *
      * <p>
      * Addtionally, if the {@code validate} parameter is not <code>null</code>,
@@ -224,11 +227,19 @@ public class DefaultFieldMapper implements FieldMapper {
      */
     protected String getValue(ResourceMapping mapping, ResourceBundle bundle,
             Validate validate, String resourceKey) {
-        final String value = bundle.getString(resourceKey);
-        if (validate != null) {
-            this.validator.parseFormatString(value, validate.value());
-        }
-        return mapping.intern() ? value.intern() : value;
+        return MappingSupport.value(mapping, bundle, resourceKey,
+                validate == null ? null : validate.value());
+    }
+
+    /**
+     * Gets the {@link Validate} annotation of the provided field.
+     *
+     * @param field The field.
+     * @return The annotation or <code>null</code> if the field is not annotated.
+     * @since 0.3.0
+     */
+    protected Validate getValidate(Field field) {
+        return MappingPlan.of(field).getValidate();
     }
 
     /**
@@ -241,11 +252,6 @@ public class DefaultFieldMapper implements FieldMapper {
      * @return The key to use for resource look up.
      */
     protected String getResourceKey(Field field) {
-        if (field.isAnnotationPresent(ResourceKey.class)) {
-            final ResourceKey rk = field.getAnnotation(ResourceKey.class);
-            return rk.value();
-        } else {
-            return field.getName();
-        }
+        return MappingPlan.of(field).getKey();
     }
 }
@@ -0,0 +1,149 @@
+package de.skuzzle.stringz;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.regex.Pattern;
+
+/**
+ * Splits Strings at a delimiter pattern which has been compiled once. Splitting
+ * yields exactly the same result as {@link String#split(String)}.
+ *
+ * <p>
+ * Delimiters which do not contain any regex meta characters, or only escaped
+ * ones like <code>\\|</code>, are matched literally using
+ * {@link String#indexOf(String, int)}. All other delimiters are compiled into a
+ * {@link Pattern}. Splitters are cached per delimiter, so that remapping a
+ * message class does not compile any delimiter again. The cache is bounded and
+ * keeps the splitters which have been created first.
+ * </p>
+ *
+ * @author Simon Taddiken
+ * @since 0.3.0
+ */
+final class DelimiterSplitter {
+
+    /**
+     * Maximum number of cached splitters. Once the cache is full, other
+     * delimiters are compiled whenever they are used.
+     */
+    private static final int CACHE_SIZE = 256;
+
+    private static final String META_CHARACTERS = ".$|()[]{}^?*+\\";
+
+    private static final ConcurrentMap<String, DelimiterSplitter> CACHE =
+            new ConcurrentHashMap<>();
+
+    private static final String[] NO_ELEMENTS = new String[0];
+
+    /** The literal delimiter or <code>null</code> if {@link #pattern} is used */
+    private final String literal;
+    private final Pattern pattern;
+
+    private DelimiterSplitter(String literal, Pattern pattern) {
+        this.literal = literal;
+        this.pattern = pattern;
+    }
+
+    /**
+     * Gets the splitter for the provided delimiter pattern.
+     *
+     * @param delimiter The delimiter pattern.
+     * @return The splitter.
+     * @throws java.util.regex.PatternSyntaxException If the delimiter is no
+     *             valid pattern.
+     */
+    static DelimiterSplitter of(String delimiter) {
+        if (delimiter == null) {
+            throw new IllegalArgumentException("delimiter is null");
+        }
+        final DelimiterSplitter cached = CACHE.get(delimiter);
+        if (cached != null) {
+            return cached;
+        }
+        final DelimiterSplitter splitter = compile(delimiter);
+        if (CACHE.size() < CACHE_SIZE) {
+            CACHE.putIfAbsent(delimiter, splitter);
+        }
+        return splitter;
+    }
+
+    private static DelimiterSplitter compile(String delimiter) {
+        final String literal = literal(delimiter);
+        return literal == null || literal.isEmpty()
+                ? new DelimiterSplitter(null, Pattern.compile(delimiter))
+                : new DelimiterSplitter(literal, null);
+    }
+
+    /**
+     * Determines the text which is matched by the provided pattern if it matches
+     * a literal text.
+     *
+     * @param delimiter The delimiter pattern.
+     * @return The literal text or <code>null</code> if the pattern is no
+     *         literal.
+     */
+    static String literal(String delimiter) {
+        final StringBuilder b = new StringBuilder(delimiter.length());
+        for (int i = 0; i < delimiter.length(); ++i) {
+            final char c = delimiter.charAt(i);
+            if (c == '\\') {
+                // only escaped non-alphanumeric ASCII characters are literals
+                if (++i == delimiter.length()) {
+                    return null;
+                }
+                final char escaped = delimiter.charAt(i);
+                if (escaped >= 128 || Character.isLetterOrDigit(escaped)) {
+                    return null;
+                }
+                b.append(escaped);
+            } else if (META_CHARACTERS.indexOf(c) >= 0
+                    || Character.isSurrogate(c)) {
+                return null;
+            } else {
+                b.append(c);
+            }
+        }
+        return b.toString();
+    }
+
+    /**
+     * Splits the provided String around matches of the delimiter.
+     *
+     * @param s The String to split.
+     * @return The split String.
+     */
+    String[] split(String s) {
+        if (this.pattern != null) {
+            return this.pattern.split(s);
+        }
+
+        int next = s.indexOf(this.literal);
+        if (next < 0) {
+            return new String[] { s };
+        }
+        final List<String> result = new ArrayList<>();
+        int start = 0;
+        while (next >= 0) {
+            result.add(s.substring(start, next));
+            start = next + this.literal.length();
+            next = s.indexOf(this.literal, start);
+        }
+        result.add(s.substring(start));
+
+        // like String.split, remove trailing empty Strings
+        int size = result.size();
+        while (size > 0 && result.get(size - 1).isEmpty()) {
+            --size;
+        }
+        return result.subList(0, size).toArray(NO_ELEMENTS);
+    }
+
+    @Override
+    public String toString() {
+        return this.pattern == null
+                ? Pattern.quote(this.literal)
+                : this.pattern.pattern();
+    }
+}
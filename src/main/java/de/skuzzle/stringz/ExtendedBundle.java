@@ -1,14 +1,22 @@
 package de.skuzzle.stringz;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.MissingResourceException;
 import java.util.ResourceBundle;
-import java.util.regex.MatchResult;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
 
 /**
  * ResourceBundle implementation that decorates another ResourceBundle and provides
@@ -20,24 +28,190 @@ class ExtendedBundle extends ResourceBundle {
 
     private static final String INCLUDE_KEY = "@include";
 
+    /** The include relations of all loaded bundle families */
+    private static final IncludeGraph INCLUDES = new IncludeGraph();
+
+    /**
+     * Loaded bundles, shared by all message classes and includes. Note that the
+     * keys strongly reference the class loaders of the bundles.
+     */
+    private static final ConcurrentMap<BundleKey, ExtendedBundle> CACHE =
+            new ConcurrentHashMap<>();
+
+    /** Incremented on every invalidation */
+    private static final AtomicLong GENERATION = new AtomicLong();
+
+    /**
+     * Gets the bundle for the provided parameters from the shared cache, loading
+     * it if it is not cached yet. Bundles which are included by the loaded bundle
+     * are taken from and put into the cache as well.
+     */
     public static ResourceBundle getBundle(String baseName,
             Locale targetLocale, ClassLoader loader, Control control) {
+        return load(new BundleKey(baseName, targetLocale, loader, control),
+                new ArrayList<>(), CACHE, INCLUDES);
+    }
+
+    /**
+     * Loads the bundle for the provided parameters without using the shared
+     * cache. The includes of the loaded bundles are not recorded in the shared
+     * include graph, as they might stem from other sources than the cached
+     * bundles.
+     *
+     * @param graph Graph to record the includes in. May be <code>null</code>
+     *            if the includes need not be recorded.
+     */
+    static ResourceBundle getUncachedBundle(String baseName,
+            Locale targetLocale, ClassLoader loader, Control control,
+            IncludeGraph graph) {
+        return load(new BundleKey(baseName, targetLocale, loader, control),
+                new ArrayList<>(), new HashMap<>(), graph);
+    }
+
+    /**
+     * Gets the current bundle generation, which changes whenever bundles are
+     * invalidated. Values which have been derived from bundles loaded while the
+     * generation has changed might be stale.
+     */
+    static long getGeneration() {
+        return GENERATION.get();
+    }
+
+    static IncludeGraph getIncludeGraph() {
+        return INCLUDES;
+    }
+
+    /**
+     * Removes the provided bundle families and all families which include them
+     * from the shared cache. The JDK's bundle cache is cleared for the class
+     * loaders of all removed bundles, so that they are read again on their next
+     * use.
+     *
+     * @param baseNames Base names of the families to invalidate.
+     */
+    static void invalidate(Collection<String> baseNames) {
+        final Set<String> affected = INCLUDES.getTransitiveDependents(baseNames);
+        remove(key -> affected.contains(key.getBaseName()));
+    }
+
+    /**
+     * Removes all bundles from the shared cache. See
+     * {@link #invalidate(Collection)}.
+     */
+    static void invalidateAll() {
+        remove(key -> true);
+    }
+
+    private static void remove(Predicate<BundleKey> filter) {
+        GENERATION.incrementAndGet();
+        final Set<ClassLoader> loaders = new HashSet<>();
+        CACHE.keySet().removeIf(key -> {
+            if (!filter.test(key)) {
+                return false;
+            } else if (key.getLoader() != null) {
+                loaders.add(key.getLoader());
+            }
+            return true;
+        });
+        loaders.forEach(ResourceBundle::clearCache);
+        // loads which started before the JDK's cache has been cleared might
+        // have read stale bundles and must not be cached either
+        GENERATION.incrementAndGet();
+    }
+
+    /**
+     * Loads a bundle and all its includes.
+     *
+     * @param key Identifies the bundle to load.
+     * @param path Base names of the bundles which are currently being loaded
+     *            further up the call stack. Used to detect cyclic includes.
+     * @param cache Already loaded bundles.
+     * @param graph Graph to record the includes of the loaded bundles in or
+     *            <code>null</code>.
+     */
+    private static ExtendedBundle load(BundleKey key, List<String> path,
+            Map<BundleKey, ExtendedBundle> cache, IncludeGraph graph) {
+        final String baseName = key.getBaseName();
+        if (path.contains(baseName)) {
+            throw new MissingResourceException(String.format(
+                    "Cyclic @include: %s -> %s", String.join(" -> ", path),
+                    baseName), ExtendedBundle.class.getName(), INCLUDE_KEY);
+        }
+
+        final StringzMetrics metrics = Instrumentation.get();
+        final long generation = GENERATION.get();
+        final ExtendedBundle cached = cache.get(key);
+        if (metrics != null && cache == CACHE) {
+            metrics.cacheLookup(StringzMetrics.BUNDLE_CACHE, cached != null);
+        }
+        if (cached != null) {
+            return cached;
+        }
 
+        final long start = metrics == null ? 0 : System.nanoTime();
         final ResourceBundle bundle = ResourceBundle.getBundle(baseName,
-                targetLocale, loader, control);
-        return new ExtendedBundle(bundle, baseName, targetLocale, control);
+                key.getLocale(), key.getLoader(), key.getControl());
+        final long read = metrics == null ? 0 : System.nanoTime();
+
+        final List<String> includeNames = bundle.containsKey(INCLUDE_KEY)
+                ? Arrays.asList(bundle.getString(INCLUDE_KEY).split(";"))
+                : Collections.emptyList();
+        final List<ExtendedBundle> includes = new ArrayList<>(includeNames.size());
+        path.add(baseName);
+        try {
+            for (final String includeName : includeNames) {
+                includes.add(load(new BundleKey(includeName, key.getLocale(),
+                        key.getLoader(), key.getControl()), path, cache, graph));
+            }
+        } finally {
+            path.remove(path.size() - 1);
+        }
+        // only record includes which have been loaded successfully. This
+        // replaces the includes of a previously loaded version of the bundle
+        if (graph != null) {
+            graph.setIncludes(baseName, key.getLocale(), includeNames);
+        }
+
+        final long indexStart = metrics == null ? 0 : System.nanoTime();
+        final ExtendedBundle result = new ExtendedBundle(bundle, baseName,
+                key.getLocale(), key.getLoader(), key.getControl(), includes);
+        if (metrics != null) {
+            // the includes have reported the time for loading them themselves
+            final long nanos = read - start + System.nanoTime() - indexStart;
+            metrics.bundleLoaded(baseName, key.getLocale(), nanos,
+                    bundle instanceof SizedBundle ? ((SizedBundle) bundle).getSize() : -1);
+        }
+
+        if (cache == CACHE && GENERATION.get() != generation) {
+            // invalidated while loading, result might contain stale includes
+            return result;
+        }
+        final ExtendedBundle previous = cache.putIfAbsent(key, result);
+        return previous == null ? result : previous;
     }
 
-    private static final Pattern REPLACE = Pattern.compile("\\$\\{([^}]+)\\}");
     private final ResourceBundle wrapped;
     private final Control control;
     private final Locale locale;
+    private final ClassLoader loader;
     private final String baseName;
-    private final List<ResourceBundle> includes;
+    private final List<ExtendedBundle> includes;
+
+    /**
+     * Maps every key which is visible within this bundle to the bundle which
+     * defines it. Contains the keys of the wrapped bundle and all transitively
+     * included bundles, respecting their precedence. <code>null</code> if this
+     * bundle has no includes, in which case all keys are looked up in the
+     * wrapped bundle directly.
+     */
+    private final Map<String, ExtendedBundle> index;
+
+    /** Memoized values with all key references resolved */
+    private final ConcurrentMap<String, Object> resolved;
 
     private ExtendedBundle(ResourceBundle wrapped, String baseName,
-            Locale locale,
-            Control control) {
+            Locale locale, ClassLoader loader, Control control,
+            List<ExtendedBundle> includes) {
         if (wrapped == null) {
             throw new IllegalArgumentException("wrapped is null");
         } else if (control == null) {
@@ -50,81 +224,142 @@ class ExtendedBundle extends ResourceBundle {
         this.wrapped = wrapped;
         this.control = control;
         this.locale = locale;
-        this.includes = new ArrayList<>();
-
-        if (this.wrapped.containsKey(INCLUDE_KEY)) {
-            final String includeString = this.wrapped.getString(INCLUDE_KEY);
-            final String[] includes = includeString.split(";");
-            for (final String includeName : includes) {
-                final ResourceBundle include = getBundle(includeName,
-                        this.locale, this.getClass().getClassLoader(),
-                        this.control);
-                this.includes.add(include);
-            }
+        this.loader = loader;
+        this.includes = includes;
+        this.resolved = new ConcurrentHashMap<>();
+
+        if (this.includes.isEmpty()) {
+            this.index = null;
+            return;
         }
-    }
 
-    private Object findObject(String key) {
-        try {
-            return this.wrapped.getObject(key);
-        } catch (MissingResourceException e) {
-            // search includes
-            for (final ResourceBundle bundle : this.includes) {
-                try {
-                    return bundle.getObject(key);
-                } catch (MissingResourceException e1) {
-                    // ignore and go on
+        // own keys take precedence, then includes in order of their declaration
+        this.index = new HashMap<>();
+        for (final String key : this.wrapped.keySet()) {
+            this.index.put(key, this);
+        }
+        for (final ExtendedBundle include : this.includes) {
+            if (include.index == null) {
+                for (final String key : include.wrapped.keySet()) {
+                    this.index.putIfAbsent(key, include);
+                }
+            } else {
+                for (final Map.Entry<String, ExtendedBundle> e : include.index.entrySet()) {
+                    this.index.putIfAbsent(e.getKey(), e.getValue());
                 }
             }
         }
-        throw new MissingResourceException(String.format(
-                "Could not locate resource %s", key),
-                getClass().getName(), key);
+    }
+
+    private ExtendedBundle findOwner(String key) {
+        if (this.index == null) {
+            return this.wrapped.containsKey(key) ? this : null;
+        }
+        return this.index.get(key);
     }
 
     @Override
     protected Object handleGetObject(String key) {
-        final Object value = findObject(key);
-        if (value == null || !(value instanceof String)) {
-            return value;
+        final Object cached = this.resolved.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        return resolve(key, null);
+    }
+
+    /**
+     * Resolves the value for the given key by replacing all key references
+     * within it. Resolved values are memoized so that each value is only parsed
+     * and resolved once per bundle.
+     *
+     * @param key The key to resolve.
+     * @param resolving Keys which are currently being resolved further up the
+     *            call stack. Used to detect cyclic references. May be
+     *            <code>null</code> if no key is being resolved.
+     * @return The resolved value or <code>null</code> if the key is not visible
+     *         within this bundle.
+     */
+    private Object resolve(String key, Set<String> resolving) {
+        final Object cached = this.resolved.get(key);
+        if (cached != null) {
+            return cached;
         }
-        String s = (String) value;
-
-        boolean replaced;
-        do {
-            replaced = false;
-            Matcher m = REPLACE.matcher(s);
-            final StringBuilder temp = new StringBuilder(s.length());
-
-            MatchResult lastMatch = null;
-            while (m.find()) {
-                if (lastMatch == null) {
-                    // first match. Append prefix
-                    temp.append(s.substring(0, m.start()));
-                } else {
-                    // append all between last match and current
-                    temp.append(s.substring(lastMatch.end(), m.start()));
-                }
 
-                final String subkey = m.group(1);
-                final Object subvalue = findObject(subkey);
-                temp.append(subvalue);
-                lastMatch = m.toMatchResult();
-                replaced = true;
+        final ExtendedBundle owner = findOwner(key);
+        final Object result;
+        if (owner == null) {
+            final StringzMetrics metrics = Instrumentation.get();
+            if (metrics != null) {
+                metrics.missingResource(this.baseName, key);
+            }
+            return null;
+        } else if (owner != this) {
+            final StringzMetrics metrics = Instrumentation.get();
+            if (metrics != null) {
+                metrics.includeFallThrough(this.baseName, key);
             }
+            // values from included bundles are resolved within their own scope
+            result = owner.handleGetObject(key);
+        } else {
+            final Object value = this.wrapped.getObject(key);
+            // compiled bundles contain values which are already resolved
+            result = value instanceof String && !(this.wrapped instanceof BinaryBundle)
+                    ? expand(key, (String) value, resolving)
+                    : value;
+        }
+
+        final Object previous = this.resolved.putIfAbsent(key, result);
+        return previous == null ? result : previous;
+    }
+
+    private String expand(String key, String value, Set<String> resolving) {
+        final Template template = Template.parse(value);
+        if (template.isConstant()) {
+            return value;
+        }
+
+        final StringzMetrics metrics = Instrumentation.get();
+        if (metrics != null) {
+            metrics.referencesExpanded(this.baseName, key, template.getReferenceCount());
+        }
 
-            if (lastMatch != null) {
-                // append postfix
-                temp.append(s.substring(lastMatch.end(), s.length()));
+        final Set<String> path = resolving == null ? new HashSet<>() : resolving;
+        if (!path.add(key)) {
+            throw new MissingResourceException(String.format(
+                    "Cyclic reference to resource %s", key),
+                    getClass().getName(), key);
+        }
+        final String result = template.render(subkey -> {
+            final Object subvalue = resolve(subkey, path);
+            if (subvalue == null) {
+                throw new MissingResourceException(String.format(
+                        "Could not locate resource %s", subkey),
+                        getClass().getName(), subkey);
             }
-            s = replaced ? temp.toString() : s;
-        } while (replaced);
-        return s;
+            return subvalue;
+        });
+        path.remove(key);
+        return result;
+    }
+
+    @Override
+    protected Set<String> handleKeySet() {
+        return this.index == null
+                ? this.wrapped.keySet()
+                : Collections.unmodifiableSet(this.index.keySet());
     }
 
     @Override
     public Enumeration<String> getKeys() {
-        return this.wrapped.getKeys();
+        return Collections.enumeration(handleKeySet());
+    }
+
+    @Override
+    public boolean containsKey(String key) {
+        if (key == null) {
+            throw new NullPointerException();
+        }
+        return findOwner(key) != null;
     }
 
     @Override
@@ -0,0 +1,101 @@
+package de.skuzzle.stringz;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Table of getters for the public static String fields of a class. It is built
+ * once per class and used by {@link Stringz#get(Class, String)} to read fields
+ * which are not part of a {@link MessageSnapshot}, without looking them up
+ * reflectively on each call.
+ *
+ * @author Simon Taddiken
+ * @since 0.3.0
+ */
+final class FieldTable {
+
+    private static final ClassValue<FieldTable> TABLES = new ClassValue<FieldTable>() {
+        @Override
+        protected FieldTable computeValue(Class<?> type) {
+            return new FieldTable(type);
+        }
+    };
+
+    /** Getters for public static String fields */
+    private final Map<String, MethodHandle> getters;
+
+    /** Names of public static fields with other types */
+    private final Set<String> otherTypes;
+
+    /** Names of public non-static fields */
+    private final Set<String> nonStatic;
+
+    private FieldTable(Class<?> cls) {
+        this.getters = new HashMap<>();
+        this.otherTypes = new HashSet<>();
+        this.nonStatic = new HashSet<>();
+
+        final MethodHandles.Lookup lookup = MethodHandles.lookup();
+        for (final Field field : cls.getFields()) {
+            final String name = field.getName();
+            if (this.getters.containsKey(name) || this.otherTypes.contains(name)
+                    || this.nonStatic.contains(name)) {
+                // hidden by a field of a sub class
+                continue;
+            } else if (!Modifier.isStatic(field.getModifiers())) {
+                this.nonStatic.add(name);
+            } else if (field.getType() != String.class) {
+                this.otherTypes.add(name);
+            } else {
+                try {
+                    // message classes themselves need not be public
+                    field.setAccessible(true);
+                    this.getters.put(name, lookup.unreflectGetter(field));
+                } catch (IllegalAccessException | SecurityException e) {
+                    throw new StringzRuntimeException(e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Gets the table for the provided class.
+     *
+     * @param cls The class.
+     * @return The table.
+     */
+    static FieldTable of(Class<?> cls) {
+        return TABLES.get(cls);
+    }
+
+    /**
+     * Reads the value of a public static String field.
+     *
+     * @param field The name of the field.
+     * @return The value of the field or <code>null</code> if it is not a String.
+     * @throws StringzRuntimeException If the field does not exist or is not
+     *             static.
+     */
+    String get(String field) {
+        final MethodHandle getter = this.getters.get(field);
+        if (getter != null) {
+            try {
+                return (String) getter.invokeExact();
+            } catch (Throwable e) {
+                throw new StringzRuntimeException(e);
+            }
+        } else if (this.otherTypes.contains(field)) {
+            return null;
+        } else if (this.nonStatic.contains(field)) {
+            throw new StringzRuntimeException(new IllegalArgumentException(
+                    String.format("Field '%s' is not static", field)));
+        }
+        throw new StringzRuntimeException(new NoSuchFieldException(field));
+    }
+}
@@ -0,0 +1,65 @@
+package de.skuzzle.stringz;
+
+import java.util.ResourceBundle;
+
+import de.skuzzle.stringz.annotation.ResourceMapping;
+import de.skuzzle.stringz.processor.ResourceMappingProcessor;
+
+/**
+ * Interface for field mappers which are generated at compile time by the
+ * {@link ResourceMappingProcessor}. A generated mapper assigns the fields of
+ * exactly one message class using direct static assignments and precomputed
+ * resource keys, so no reflection is needed to initialize the class.
+ *
+ * <p>
+ * When initializing a message class which uses the default field mapping,
+ * {@link Stringz} automatically looks for a class named like the message class
+ * with {@link #CLASS_SUFFIX} appended, located in the same package. If it exists,
+ * it is used instead of the {@link DefaultFieldMapper}. For nested message
+ * classes, the suffix is appended to their binary name, so the mapper of
+ * {@code Outer.Inner} is the top level class {@code Outer$Inner_StringzMapper}.
+ * </p>
+ *
+ * @author Simon Taddiken
+ * @since 0.3.0
+ */
+public interface GeneratedMapper {
+
+    /** Suffix which is appended to the name of the message class */
+    public static final String CLASS_SUFFIX = "_StringzMapper";
+
+    /**
+     * Gets the names of all mapped fields in the same order in which their
+     * values are returned by {@link #resolve(ResourceMapping, ResourceBundle)}.
+     *
+     * @return The field names.
+     */
+    public String[] getFieldNames();
+
+    /**
+     * Resolves the values of all mapped fields without assigning them.
+     *
+     * @param mapping The {@link ResourceMapping} annotation of the message class.
+     * @param bundle The {@code ResourceBundle} which belongs to the message class.
+     * @return The values, in the order of {@link #getFieldNames()}.
+     * @throws java.util.MissingResourceException If a resource is missing.
+     * @throws FormatValidationException If validation failed for a value.
+     * @throws de.skuzzle.stringz.strategy.FieldMapperException If an array
+     *             resource could not be created.
+     */
+    public Object[] resolve(ResourceMapping mapping, ResourceBundle bundle);
+
+    /**
+     * Assigns values which have previously been created by
+     * {@link #resolve(ResourceMapping, ResourceBundle)} to the fields of the
+     * message class.
+     *
+     * @param values The values to assign.
+     */
+    public void assign(Object[] values);
+
+    /**
+     * Resets all mapped fields of the message class to <code>null</code>.
+     */
+    public void dispose();
+}
@@ -0,0 +1,146 @@
+package de.skuzzle.stringz;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Records which bundle families include which other families via
+ * {@code @include}. The graph is built while bundles are loaded and contains the
+ * relations of all locales of a family. It is used to determine which families
+ * must be rebuilt when a single family changes, so that the cost of a
+ * {@link Stringz#reload(Collection) reload} is proportional to the change.
+ *
+ * <p>
+ * The includes of a bundle are recorded after it has been loaded successfully.
+ * Whenever a bundle is loaded again, e.g. after it has been reloaded, its
+ * previously recorded includes are replaced. Cyclic includes fail to load and
+ * are thus never recorded. However, as the graph is the union of the includes
+ * of all locales, bundles of different locales might still form a cycle.
+ * </p>
+ *
+ * @author Simon Taddiken
+ * @since 0.3.0
+ * @see Stringz#getIncludeGraph()
+ */
+public final class IncludeGraph {
+
+    /** Families included by the bundle of each family and locale */
+    private final ConcurrentMap<String, ConcurrentMap<Locale, Set<String>>> includes;
+
+    /** Families including each family */
+    private final ConcurrentMap<String, Set<String>> dependents;
+
+    IncludeGraph() {
+        this.includes = new ConcurrentHashMap<>();
+        this.dependents = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Records that the bundle of the family {@code baseName} for the provided
+     * locale includes the provided families, replacing the families which have
+     * been recorded for that bundle before.
+     *
+     * @param baseName The including family.
+     * @param locale The locale of the including bundle.
+     * @param included The included families. May be empty.
+     */
+    synchronized void setIncludes(String baseName, Locale locale,
+            Collection<String> included) {
+        final ConcurrentMap<Locale, Set<String>> bundles = this.includes
+                .computeIfAbsent(baseName, b -> new ConcurrentHashMap<>());
+        final Set<String> before = union(bundles);
+        if (included.isEmpty()) {
+            bundles.remove(locale);
+        } else {
+            bundles.put(locale, Collections.unmodifiableSet(
+                    new LinkedHashSet<>(included)));
+        }
+        final Set<String> after = union(bundles);
+        if (bundles.isEmpty()) {
+            this.includes.remove(baseName);
+        }
+
+        for (final String include : before) {
+            if (!after.contains(include)) {
+                final Set<String> including = this.dependents.get(include);
+                including.remove(baseName);
+                if (including.isEmpty()) {
+                    this.dependents.remove(include);
+                }
+            }
+        }
+        for (final String include : after) {
+            this.dependents.computeIfAbsent(include,
+                    b -> ConcurrentHashMap.newKeySet()).add(baseName);
+        }
+    }
+
+    private static Set<String> union(Map<Locale, Set<String>> bundles) {
+        final Set<String> result = new LinkedHashSet<>();
+        bundles.values().forEach(result::addAll);
+        return result;
+    }
+
+    /**
+     * Gets the families which are directly included by any bundle of the
+     * provided family.
+     *
+     * @param baseName The base name of the family.
+     * @return The included families.
+     */
+    public Set<String> getIncludes(String baseName) {
+        final Map<Locale, Set<String>> bundles = this.includes.get(baseName);
+        return bundles == null
+                ? Collections.emptySet()
+                : Collections.unmodifiableSet(union(bundles));
+    }
+
+    /**
+     * Gets the families which directly include the provided family.
+     *
+     * @param baseName The base name of the family.
+     * @return The including families.
+     */
+    public Set<String> getDependents(String baseName) {
+        return Collections.unmodifiableSet(
+                this.dependents.getOrDefault(baseName, Collections.emptySet()));
+    }
+
+    /**
+     * Determines all families which include any of the provided families,
+     * directly or transitively. The provided families themselves are part of
+     * the result.
+     *
+     * @param baseNames Base names of families.
+     * @return The provided families and all their transitive dependents.
+     */
+    public Set<String> getTransitiveDependents(Collection<String> baseNames) {
+        final Set<String> result = new LinkedHashSet<>(baseNames);
+        final Deque<String> queue = new ArrayDeque<>(baseNames);
+        while (!queue.isEmpty()) {
+            for (final String dependent : getDependents(queue.poll())) {
+                if (result.add(dependent)) {
+                    queue.add(dependent);
+                }
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        final Map<String, Set<String>> result = new TreeMap<>();
+        this.includes.forEach((baseName, bundles) -> result.put(baseName,
+                union(bundles)));
+        return result.toString();
+    }
+}
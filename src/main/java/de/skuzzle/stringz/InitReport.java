@@ -0,0 +1,101 @@
+package de.skuzzle.stringz;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Summarizes the result of initializing multiple message classes at once using
+ * {@link Stringz#initAll(java.util.Collection)}. It holds the time each
+ * successfully initialized class took and the exception for each class which
+ * failed to initialize.
+ *
+ * @author Simon Taddiken
+ * @since 0.3.0
+ */
+public final class InitReport {
+
+    private final Map<Class<?>, Long> times;
+    private final Map<Class<?>, Throwable> failures;
+    private final int bundleCount;
+    private final long totalNanos;
+
+    InitReport(Map<Class<?>, Long> times, Map<Class<?>, Throwable> failures,
+            int bundleCount, long totalNanos) {
+        this.times = Collections.unmodifiableMap(new LinkedHashMap<>(times));
+        this.failures = Collections.unmodifiableMap(new LinkedHashMap<>(failures));
+        this.bundleCount = bundleCount;
+        this.totalNanos = totalNanos;
+    }
+
+    /**
+     * Gets the message classes which have been initialized successfully.
+     *
+     * @return The initialized classes.
+     */
+    public Set<Class<?>> getInitialized() {
+        return this.times.keySet();
+    }
+
+    /**
+     * Gets the exceptions which occurred during initialization, mapped to the
+     * message class which caused them. Classes which failed to initialize are not
+     * considered initialized and may be initialized again later.
+     *
+     * @return The failures.
+     */
+    public Map<Class<?>, Throwable> getFailures() {
+        return this.failures;
+    }
+
+    /**
+     * Whether all classes have been initialized successfully.
+     *
+     * @return <code>true</code> if there were no failures.
+     */
+    public boolean isSuccessful() {
+        return this.failures.isEmpty();
+    }
+
+    /**
+     * Gets the time it took to initialize the provided class. This includes the
+     * time to load its ResourceBundle, which might have been shared with other
+     * classes.
+     *
+     * @param cls The message class.
+     * @param unit The unit in which to return the time.
+     * @return The time or -1 if the class has not been initialized successfully.
+     */
+    public long getTime(Class<?> cls, TimeUnit unit) {
+        final Long nanos = this.times.get(cls);
+        return nanos == null ? -1 : unit.convert(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Gets the wall clock time of the whole initialization.
+     *
+     * @param unit The unit in which to return the time.
+     * @return The total time.
+     */
+    public long getTotalTime(TimeUnit unit) {
+        return unit.convert(this.totalNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Gets the number of distinct ResourceBundles which have been loaded.
+     *
+     * @return The number of loaded bundles.
+     */
+    public int getBundleCount() {
+        return this.bundleCount;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("initialized=%d, failed=%d, bundles=%d, time=%dms",
+                this.times.size(), this.failures.size(), this.bundleCount,
+                getTotalTime(TimeUnit.MILLISECONDS));
+    }
+}
@@ -0,0 +1,34 @@
+package de.skuzzle.stringz;
+
+/**
+ * Holds the {@link StringzMetrics} which are currently in use. Callers read the
+ * metrics once and skip all measurements if they are <code>null</code>, so that
+ * disabled metrics cost a single volatile read.
+ *
+ * @author Simon Taddiken
+ * @since 0.3.0
+ */
+final class Instrumentation {
+
+    private static volatile StringzMetrics metrics;
+
+    private Instrumentation() {}
+
+    /**
+     * Gets the current metrics.
+     *
+     * @return The metrics or <code>null</code> if metrics are disabled.
+     */
+    static StringzMetrics get() {
+        return metrics;
+    }
+
+    /**
+     * Sets the metrics to use.
+     *
+     * @param metrics The metrics or <code>null</code> to disable metrics.
+     */
+    static void set(StringzMetrics metrics) {
+        Instrumentation.metrics = metrics;
+    }
+}
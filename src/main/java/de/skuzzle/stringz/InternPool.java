@@ -0,0 +1,259 @@
+package de.skuzzle.stringz;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Concurrent pool which maps Strings to a canonical value. Values are only
+ * weakly referenced by the pool, so a value is released as soon as it is no
+ * longer used anywhere else. Additionally the pool never holds more than a
+ * configured number of values. If it grows beyond that size, entries are
+ * evicted in a round robin fashion: each eviction continues where the previous
+ * one stopped, so that all entries are evicted in turn. Interning is best
+ * effort: after a value has been evicted, interning the same String again
+ * yields a new, equal value.
+ *
+ * <p>
+ * Look ups do not lock, only evictions are serialized. The pool counts hits,
+ * misses and evictions. Values which
+ * have been released because they were garbage collected count as evictions as
+ * well. Memory is accounted in characters: the pool tracks the total length of
+ * all pooled Strings as well as the total length of all Strings for which an
+ * already pooled value has been returned.
+ * </p>
+ *
+ * @author Simon Taddiken
+ * @param <V> Type of the pooled values.
+ * @since 0.3.0
+ */
+public final class InternPool<V> {
+
+    private static final class Entry<V> extends WeakReference<V> {
+        private final String key;
+
+        private Entry(String key, V value, ReferenceQueue<? super V> queue) {
+            super(value, queue);
+            this.key = key;
+        }
+    }
+
+    private final ConcurrentMap<String, Entry<V>> entries;
+    private final ReferenceQueue<V> queue;
+    private final Function<String, V> factory;
+    private final int maximumSize;
+
+    /** Serializes evictions and guards {@link #cursor} */
+    private final Object evictionLock;
+
+    /** Position of the last eviction */
+    private Iterator<Entry<V>> cursor;
+
+    private final LongAdder hits;
+    private final LongAdder misses;
+    private final LongAdder evictions;
+    private final LongAdder retainedChars;
+    private final LongAdder deduplicatedChars;
+
+    /**
+     * Creates a new pool.
+     *
+     * @param maximumSize The maximum number of values to retain.
+     * @param factory Creates the value for a String which is not yet pooled.
+     */
+    public InternPool(int maximumSize, Function<String, V> factory) {
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException("maximumSize must be positive");
+        } else if (factory == null) {
+            throw new IllegalArgumentException("factory is null");
+        }
+        this.entries = new ConcurrentHashMap<>();
+        this.queue = new ReferenceQueue<>();
+        this.factory = factory;
+        this.maximumSize = maximumSize;
+        this.evictionLock = new Object();
+        this.hits = new LongAdder();
+        this.misses = new LongAdder();
+        this.evictions = new LongAdder();
+        this.retainedChars = new LongAdder();
+        this.deduplicatedChars = new LongAdder();
+    }
+
+    /**
+     * Gets the canonical value for the provided String, creating it if it is not
+     * pooled yet.
+     *
+     * @param s The String.
+     * @return The canonical value.
+     */
+    public V intern(String s) {
+        if (s == null) {
+            throw new IllegalArgumentException("s is null");
+        }
+        expunge();
+
+        Entry<V> entry = this.entries.get(s);
+        if (entry != null) {
+            final V value = entry.get();
+            if (value != null) {
+                this.hits.increment();
+                this.deduplicatedChars.add(s.length());
+                return value;
+            }
+        }
+
+        final V created = this.factory.apply(s);
+        // Own copy of the key which shares the character data with s. Thereby
+        // the pool does not strongly retain values which are the key itself.
+        final Entry<V> fresh = new Entry<>(new String(s), created, this.queue);
+        while (true) {
+            entry = this.entries.putIfAbsent(fresh.key, fresh);
+            if (entry == null) {
+                break;
+            }
+            final V existing = entry.get();
+            if (existing != null) {
+                // lost the race against another thread
+                this.hits.increment();
+                this.deduplicatedChars.add(s.length());
+                return existing;
+            } else if (this.entries.replace(fresh.key, entry, fresh)) {
+                this.retainedChars.add(-entry.key.length());
+                break;
+            }
+        }
+        this.misses.increment();
+        this.retainedChars.add(s.length());
+
+        if (this.entries.size() > this.maximumSize) {
+            evict(fresh);
+        }
+        return created;
+    }
+
+    private void expunge() {
+        Object ref;
+        while ((ref = this.queue.poll()) != null) {
+            final Entry<?> entry = (Entry<?>) ref;
+            if (this.entries.remove(entry.key, entry)) {
+                this.evictions.increment();
+                this.retainedChars.add(-entry.key.length());
+            }
+        }
+    }
+
+    private void evict(Entry<V> keep) {
+        synchronized (this.evictionLock) {
+            // visit every entry at most once
+            int remaining = this.entries.size();
+            while (this.entries.size() > this.maximumSize && remaining-- > 0) {
+                if (this.cursor == null || !this.cursor.hasNext()) {
+                    this.cursor = this.entries.values().iterator();
+                    if (!this.cursor.hasNext()) {
+                        return;
+                    }
+                }
+                final Entry<V> entry = this.cursor.next();
+                if (entry != keep && this.entries.remove(entry.key, entry)) {
+                    this.evictions.increment();
+                    this.retainedChars.add(-entry.key.length());
+                }
+            }
+        }
+    }
+
+    /**
+     * Removes all values from this pool. The statistics are not reset.
+     */
+    public void clear() {
+        for (final Entry<V> entry : this.entries.values()) {
+            if (this.entries.remove(entry.key, entry)) {
+                this.retainedChars.add(-entry.key.length());
+            }
+        }
+        expunge();
+    }
+
+    /**
+     * Gets the current number of pooled values. This may include values which
+     * have just been garbage collected.
+     *
+     * @return The number of values.
+     */
+    public int size() {
+        expunge();
+        return this.entries.size();
+    }
+
+    /**
+     * Gets the maximum number of values retained by this pool.
+     *
+     * @return The maximum size.
+     */
+    public int getMaximumSize() {
+        return this.maximumSize;
+    }
+
+    /**
+     * Gets the number of calls to {@link #intern(String)} which returned an
+     * already pooled value.
+     *
+     * @return The hit count.
+     */
+    public long getHitCount() {
+        return this.hits.sum();
+    }
+
+    /**
+     * Gets the number of calls to {@link #intern(String)} which created a new
+     * value.
+     *
+     * @return The miss count.
+     */
+    public long getMissCount() {
+        return this.misses.sum();
+    }
+
+    /**
+     * Gets the number of values which have been removed from this pool, either
+     * because it exceeded its maximum size or because they have been garbage
+     * collected.
+     *
+     * @return The eviction count.
+     */
+    public long getEvictionCount() {
+        return this.evictions.sum();
+    }
+
+    /**
+     * Gets the total length of all Strings which are currently pooled.
+     *
+     * @return The number of retained characters.
+     */
+    public long getRetainedChars() {
+        return this.retainedChars.sum();
+    }
+
+    /**
+     * Gets the total length of all Strings for which {@link #intern(String)}
+     * returned an already pooled value. This is the number of characters which
+     * did not need to be retained twice.
+     *
+     * @return The number of deduplicated characters.
+     */
+    public long getDeduplicatedChars() {
+        return this.deduplicatedChars.sum();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("InternPool[size=%d, maximumSize=%d, hits=%d, "
+                + "misses=%d, evictions=%d, retainedChars=%d]", this.entries.size(),
+                this.maximumSize, getHitCount(), getMissCount(), getEvictionCount(),
+                getRetainedChars());
+    }
+}
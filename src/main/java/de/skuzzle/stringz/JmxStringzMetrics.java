@@ -0,0 +1,235 @@
+package de.skuzzle.stringz;
+
+import java.lang.management.ManagementFactory;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * {@link StringzMetrics} which collect all events into counters that can be read
+ * directly or over JMX:
+ *
+ * <pre>
+ * final JmxStringzMetrics metrics = new JmxStringzMetrics();
+ * metrics.register();
+ * Stringz.setMetrics(metrics);
+ * </pre>
+ *
+ * @author Simon Taddiken
+ * @since 0.3.0
+ */
+public final class JmxStringzMetrics implements StringzMetrics, StringzMetricsMXBean {
+
+    /** The name under which the metrics are registered by {@link #register()} */
+    public static final String OBJECT_NAME = "de.skuzzle.stringz:type=Metrics";
+
+    private final LongAdder initCount = new LongAdder();
+    private final LongAdder initNanos = new LongAdder();
+    private final ConcurrentMap<String, Long> initTimes = new ConcurrentHashMap<>();
+    private final LongAdder bundleCount = new LongAdder();
+    private final LongAdder bundleNanos = new LongAdder();
+    private final LongAdder bundleBytes = new LongAdder();
+    private final LongAdder fallThroughs = new LongAdder();
+    private final LongAdder expansions = new LongAdder();
+    private final LongAdder references = new LongAdder();
+    private final LongAdder missing = new LongAdder();
+    private final ConcurrentMap<String, LongAdder> cacheHits = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, LongAdder> cacheLookups = new ConcurrentHashMap<>();
+
+    /**
+     * Creates new metrics. The counters of the caches which are used by stringz
+     * itself are created up front, so that counting look ups of these caches
+     * never locks.
+     */
+    public JmxStringzMetrics() {
+        for (final String cache : new String[] { BUNDLE_CACHE, FORMAT_CACHE,
+                LOCALIZED_CACHE }) {
+            this.cacheHits.put(cache, new LongAdder());
+            this.cacheLookups.put(cache, new LongAdder());
+        }
+    }
+
+    /**
+     * Registers these metrics with the platform MBean server using the name
+     * {@link #OBJECT_NAME}.
+     *
+     * @return The name under which the metrics have been registered.
+     * @throws StringzRuntimeException If registering fails, e.g. because other
+     *             metrics have already been registered.
+     */
+    public ObjectName register() {
+        return register(ManagementFactory.getPlatformMBeanServer());
+    }
+
+    /**
+     * Registers these metrics with the provided MBean server using the name
+     * {@link #OBJECT_NAME}.
+     *
+     * @param server The server to register with.
+     * @return The name under which the metrics have been registered.
+     * @throws StringzRuntimeException If registering fails, e.g. because other
+     *             metrics have already been registered.
+     */
+    public ObjectName register(MBeanServer server) {
+        if (server == null) {
+            throw new IllegalArgumentException("server is null");
+        }
+        try {
+            return server.registerMBean(this, new ObjectName(OBJECT_NAME))
+                    .getObjectName();
+        } catch (JMException e) {
+            throw new StringzRuntimeException("Registering metrics failed", e);
+        }
+    }
+
+    @Override
+    public void classInitialized(Class<?> cls, Locale locale, long nanos) {
+        this.initCount.increment();
+        this.initNanos.add(nanos);
+        this.initTimes.put(cls.getName(), nanos);
+    }
+
+    @Override
+    public void bundleLoaded(String baseName, Locale locale, long nanos, long bytes) {
+        this.bundleCount.increment();
+        this.bundleNanos.add(nanos);
+        if (bytes > 0) {
+            this.bundleBytes.add(bytes);
+        }
+    }
+
+    @Override
+    public void includeFallThrough(String baseName, String key) {
+        this.fallThroughs.increment();
+    }
+
+    @Override
+    public void referencesExpanded(String baseName, String key, int references) {
+        this.expansions.increment();
+        this.references.add(references);
+    }
+
+    @Override
+    public void missingResource(String baseName, String key) {
+        this.missing.increment();
+    }
+
+    @Override
+    public void cacheLookup(String cache, boolean hit) {
+        counter(this.cacheLookups, cache).increment();
+        if (hit) {
+            counter(this.cacheHits, cache).increment();
+        }
+    }
+
+    private static LongAdder counter(ConcurrentMap<String, LongAdder> counters,
+            String cache) {
+        final LongAdder counter = counters.get(cache);
+        return counter == null
+                ? counters.computeIfAbsent(cache, c -> new LongAdder())
+                : counter;
+    }
+
+    private static long micros(LongAdder nanos) {
+        return TimeUnit.NANOSECONDS.toMicros(nanos.sum());
+    }
+
+    @Override
+    public long getInitializedClassCount() {
+        return this.initCount.sum();
+    }
+
+    @Override
+    public long getTotalInitTimeMicros() {
+        return micros(this.initNanos);
+    }
+
+    @Override
+    public Map<String, Long> getInitTimesMicros() {
+        final Map<String, Long> result = new TreeMap<>();
+        this.initTimes.forEach((cls, nanos) -> result.put(cls,
+                TimeUnit.NANOSECONDS.toMicros(nanos)));
+        return result;
+    }
+
+    @Override
+    public long getBundleLoadCount() {
+        return this.bundleCount.sum();
+    }
+
+    @Override
+    public long getBundleLoadTimeMicros() {
+        return micros(this.bundleNanos);
+    }
+
+    @Override
+    public long getBundleBytes() {
+        return this.bundleBytes.sum();
+    }
+
+    @Override
+    public long getIncludeFallThroughCount() {
+        return this.fallThroughs.sum();
+    }
+
+    @Override
+    public long getReferenceExpansionCount() {
+        return this.expansions.sum();
+    }
+
+    @Override
+    public long getExpandedReferenceCount() {
+        return this.references.sum();
+    }
+
+    @Override
+    public long getMissingResourceCount() {
+        return this.missing.sum();
+    }
+
+    @Override
+    public Map<String, Double> getCacheHitRatios() {
+        final Map<String, Double> result = new TreeMap<>();
+        this.cacheLookups.forEach((cache, lookups) -> {
+            final LongAdder hits = this.cacheHits.get(cache);
+            final long total = lookups.sum();
+            if (total > 0) {
+                result.put(cache, hits == null ? 0.0 : (double) hits.sum() / total);
+            }
+        });
+        return result;
+    }
+
+    @Override
+    public void reset() {
+        this.initCount.reset();
+        this.initNanos.reset();
+        this.initTimes.clear();
+        this.bundleCount.reset();
+        this.bundleNanos.reset();
+        this.bundleBytes.reset();
+        this.fallThroughs.reset();
+        this.expansions.reset();
+        this.references.reset();
+        this.missing.reset();
+        this.cacheHits.values().forEach(LongAdder::reset);
+        this.cacheLookups.values().forEach(LongAdder::reset);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("JmxStringzMetrics[classes=%d, initTime=%dus, "
+                + "bundles=%d, bundleTime=%dus, bytes=%d, missing=%d, caches=%s]",
+                getInitializedClassCount(), getTotalInitTimeMicros(),
+                getBundleLoadCount(), getBundleLoadTimeMicros(), getBundleBytes(),
+                getMissingResourceCount(), getCacheHitRatios());
+    }
+}
@@ -0,0 +1,30 @@
+package de.skuzzle.stringz;
+
+import java.util.Locale;
+
+/**
+ * Determines the locale which is used by {@link Stringz} to look up messages for
+ * the current context (for example the current thread or request). A provider
+ * can be installed using {@link Stringz#setLocaleProvider(LocaleProvider)}. The
+ * default provider always returns the {@link Stringz#getLocale() global locale}.
+ *
+ * <p>
+ * Implementations are called on every localized look up and should thus be
+ * fast and must be thread safe.
+ * </p>
+ *
+ * @author Simon Taddiken
+ * @since 0.3.0
+ * @see ThreadLocalLocaleProvider
+ * @see Stringz#getLocalized(Class, String)
+ */
+@FunctionalInterface
+public interface LocaleProvider {
+
+    /**
+     * Gets the locale for the current context.
+     *
+     * @return The locale. Must not be <code>null</code>.
+     */
+    public Locale getLocale();
+}
@@ -0,0 +1,96 @@
+package de.skuzzle.stringz;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Locale;
+import java.util.ResourceBundle;
+
+/**
+ * Control which memory maps {@code .properties} files instead of reading them
+ * into a {@link java.util.PropertyResourceBundle}. Loading a bundle only builds a
+ * compact index of its keys and values are decoded when they are accessed, which
+ * significantly reduces load time and heap usage for very large bundles.
+ *
+ * <p>
+ * Only bundles which reside in the file system and which are encoded in UTF-8,
+ * ISO-8859-1 or US-ASCII can be mapped. All other bundles, e.g. those contained
+ * in jar files, are read like by the {@link CharsetBundleControl}.
+ * </p>
+ *
+ * <p>
+ * Mapped files must not be modified in place while the bundle is in use, as the
+ * values are read from the file on access. Replace files atomically instead, for
+ * example by moving an updated copy over the original.
+ * </p>
+ *
+ * @author Simon Taddiken
+ * @since 0.3.0
+ * @see MappedBundleControlFactory
+ */
+public class MappedBundleControl extends CharsetBundleControl {
+
+    /**
+     * Creates a new MappedBundleControl.
+     *
+     * @param charset Name of the charset to use.
+     * @throws IllegalArgumentException If {@code charset} is <code>null</code>
+     */
+    public MappedBundleControl(String charset) {
+        super(charset);
+    }
+
+    /**
+     * Creates a new MappedBundleControl.
+     *
+     * @param charset The charset to use.
+     * @throws IllegalArgumentException If {@code charset} is <code>null</code>
+     */
+    public MappedBundleControl(Charset charset) {
+        super(charset);
+    }
+
+    @Override
+    public ResourceBundle newBundle(String baseName, Locale locale, String format,
+            ClassLoader loader, boolean reload)
+                    throws IllegalAccessException, InstantiationException, IOException {
+        final Path file = isMappable()
+                ? findFile(toResourceName(toBundleName(baseName, locale), "properties"),
+                        loader)
+                : null;
+        if (file == null) {
+            return super.newBundle(baseName, locale, format, loader, reload);
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            final MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY,
+                    0, channel.size());
+            return new MappedPropertiesBundle(buffer, this.charset);
+        }
+    }
+
+    private boolean isMappable() {
+        return this.charset.equals(StandardCharsets.UTF_8)
+                || this.charset.equals(StandardCharsets.ISO_8859_1)
+                || this.charset.equals(StandardCharsets.US_ASCII);
+    }
+
+    private static Path findFile(String resourceName, ClassLoader loader) {
+        final URL url = loader.getResource(resourceName);
+        if (url == null || !"file".equals(url.getProtocol())) {
+            return null;
+        }
+        try {
+            return Paths.get(url.toURI());
+        } catch (URISyntaxException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,443 @@
+package de.skuzzle.stringz;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashSet;
+import java.util.ResourceBundle;
+import java.util.Set;
+
+/**
+ * ResourceBundle which reads {@code .properties} content directly from a
+ * (memory mapped) buffer. Creating the bundle only scans the buffer once to find
+ * the location of each key and value and indexes the keys in an open addressing
+ * hash table of primitive arrays. Values are decoded when they are accessed and
+ * are not retained by this bundle.
+ *
+ * <p>
+ * The content is interpreted exactly like {@link java.util.Properties#load(java.io.Reader)}
+ * does, including comments, line continuations and escape sequences. The charset
+ * must be ASCII compatible, that is, all characters which are significant to the
+ * properties format must be encoded as a single byte which never occurs within
+ * the encoding of any other character. This is true for UTF-8 and ISO-8859-1.
+ * </p>
+ *
+ * @author Simon Taddiken
+ * @since 0.3.0
+ * @see MappedBundleControl
+ */
+final class MappedPropertiesBundle extends ResourceBundle implements SizedBundle {
+
+    /** Initial number of entries */
+    private static final int INITIAL_CAPACITY = 64;
+
+    private final ByteBuffer buffer;
+    private final Charset charset;
+
+    /** Number of entries, including overridden duplicates */
+    private int size;
+
+    /** Hash code of each key, equal to its String's hash code */
+    private int[] hashes;
+
+    /** Offsets of each entry's key and value within the buffer */
+    private int[] keyStarts;
+    private int[] keyEnds;
+    private int[] valueStarts;
+    private int[] valueEnds;
+
+    /**
+     * Whether the key of each entry consists of ASCII characters only and
+     * contains no escape sequences, so that it can be compared byte wise.
+     */
+    private boolean[] plainKeys;
+
+    /** Whether the value of each entry contains no escape sequences */
+    private boolean[] plainValues;
+
+    /** Open addressing table of entry indices + 1, 0 marks a free slot */
+    private final int[] table;
+
+    /** Number of distinct keys */
+    private final int keyCount;
+
+    /** Lazily decoded key set */
+    private volatile Set<String> keySet;
+
+    MappedPropertiesBundle(ByteBuffer buffer, Charset charset) {
+        if (buffer == null) {
+            throw new IllegalArgumentException("buffer is null");
+        } else if (charset == null) {
+            throw new IllegalArgumentException("charset is null");
+        }
+        this.buffer = buffer.duplicate();
+        this.charset = charset;
+        this.hashes = new int[INITIAL_CAPACITY];
+        this.keyStarts = new int[INITIAL_CAPACITY];
+        this.keyEnds = new int[INITIAL_CAPACITY];
+        this.valueStarts = new int[INITIAL_CAPACITY];
+        this.valueEnds = new int[INITIAL_CAPACITY];
+        this.plainKeys = new boolean[INITIAL_CAPACITY];
+        this.plainValues = new boolean[INITIAL_CAPACITY];
+
+        scan();
+
+        // load factor of at most 0.5
+        int capacity = 2;
+        while (capacity < this.size * 2) {
+            capacity <<= 1;
+        }
+        this.table = new int[capacity];
+        int distinct = 0;
+        for (int i = 0; i < this.size; ++i) {
+            if (insert(i)) {
+                ++distinct;
+            }
+        }
+        this.keyCount = distinct;
+    }
+
+    private byte at(int i) {
+        return this.buffer.get(i);
+    }
+
+    private static boolean isWhitespace(byte b) {
+        return b == ' ' || b == '\t' || b == '\f';
+    }
+
+    private static boolean isLineEnd(byte b) {
+        return b == '\r' || b == '\n';
+    }
+
+    /**
+     * Scans the buffer for all key value pairs.
+     */
+    private void scan() {
+        final int limit = this.buffer.limit();
+        int pos = this.buffer.position();
+        while (pos < limit) {
+            // start of a natural line
+            while (pos < limit && isWhitespace(at(pos))) {
+                ++pos;
+            }
+            if (pos == limit) {
+                break;
+            }
+            final byte first = at(pos);
+            if (isLineEnd(first)) {
+                ++pos;
+                continue;
+            } else if (first == '#' || first == '!') {
+                // comments can not be continued
+                while (pos < limit && !isLineEnd(at(pos))) {
+                    ++pos;
+                }
+                continue;
+            }
+
+            // key
+            final int keyStart = pos;
+            boolean plainKey = true;
+            while (pos < limit) {
+                final byte b = at(pos);
+                if (b == '\\') {
+                    plainKey = false;
+                    pos = skipEscape(pos, limit);
+                } else if (b == '=' || b == ':' || isWhitespace(b) || isLineEnd(b)) {
+                    break;
+                } else {
+                    plainKey &= b >= 0;
+                    ++pos;
+                }
+            }
+            final int keyEnd = pos;
+
+            // separator
+            pos = skipSeparatorWhitespace(pos, limit);
+            if (pos < limit && (at(pos) == '=' || at(pos) == ':')) {
+                pos = skipSeparatorWhitespace(pos + 1, limit);
+            }
+
+            // value
+            final int valueStart = pos;
+            boolean plainValue = true;
+            while (pos < limit) {
+                final byte b = at(pos);
+                if (b == '\\') {
+                    plainValue = false;
+                    pos = skipEscape(pos, limit);
+                } else if (isLineEnd(b)) {
+                    break;
+                } else {
+                    ++pos;
+                }
+            }
+            add(keyStart, keyEnd, plainKey, valueStart, pos, plainValue);
+        }
+    }
+
+    /**
+     * Skips whitespace between key and value, including line continuations.
+     */
+    private int skipSeparatorWhitespace(int pos, int limit) {
+        while (pos < limit) {
+            final byte b = at(pos);
+            if (isWhitespace(b)) {
+                ++pos;
+            } else if (b == '\\' && pos + 1 < limit && isLineEnd(at(pos + 1))) {
+                pos = skipEscape(pos, limit);
+            } else {
+                break;
+            }
+        }
+        return pos;
+    }
+
+    /**
+     * Skips an escape sequence starting at the backslash at {@code pos}. Escaped
+     * line ends are line continuations, in which case the leading whitespace of
+     * the next line is skipped as well.
+     */
+    private int skipEscape(int pos, int limit) {
+        ++pos;
+        if (pos == limit) {
+            return pos;
+        }
+        final byte b = at(pos++);
+        if (b == '\r' || b == '\n') {
+            if (b == '\r' && pos < limit && at(pos) == '\n') {
+                ++pos;
+            }
+            while (pos < limit && isWhitespace(at(pos))) {
+                ++pos;
+            }
+        }
+        return pos;
+    }
+
+    private void add(int keyStart, int keyEnd, boolean plainKey, int valueStart,
+            int valueEnd, boolean plainValue) {
+        if (this.size == this.hashes.length) {
+            final int capacity = this.size * 2;
+            this.hashes = Arrays.copyOf(this.hashes, capacity);
+            this.keyStarts = Arrays.copyOf(this.keyStarts, capacity);
+            this.keyEnds = Arrays.copyOf(this.keyEnds, capacity);
+            this.valueStarts = Arrays.copyOf(this.valueStarts, capacity);
+            this.valueEnds = Arrays.copyOf(this.valueEnds, capacity);
+            this.plainKeys = Arrays.copyOf(this.plainKeys, capacity);
+            this.plainValues = Arrays.copyOf(this.plainValues, capacity);
+        }
+        final int i = this.size++;
+        this.keyStarts[i] = keyStart;
+        this.keyEnds[i] = keyEnd;
+        this.plainKeys[i] = plainKey;
+        this.valueStarts[i] = valueStart;
+        this.valueEnds[i] = valueEnd;
+        this.plainValues[i] = plainValue;
+
+        if (plainKey) {
+            // same as String.hashCode for ASCII characters
+            int h = 0;
+            for (int j = keyStart; j < keyEnd; ++j) {
+                h = 31 * h + at(j);
+            }
+            this.hashes[i] = h;
+        } else {
+            this.hashes[i] = key(i).hashCode();
+        }
+    }
+
+    /**
+     * Inserts the entry with the provided index into the table. A previous entry
+     * with the same key is replaced, as later definitions take precedence.
+     *
+     * @return Whether the key was not contained before.
+     */
+    private boolean insert(int entry) {
+        final int mask = this.table.length - 1;
+        final int hash = this.hashes[entry];
+        int slot = spread(hash) & mask;
+        while (true) {
+            final int existing = this.table[slot] - 1;
+            if (existing < 0) {
+                this.table[slot] = entry + 1;
+                return true;
+            } else if (this.hashes[existing] == hash && key(existing).equals(key(entry))) {
+                this.table[slot] = entry + 1;
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * Finds the entry for the provided key.
+     *
+     * @return The index of the entry or -1 if the key does not exist.
+     */
+    private int find(String key) {
+        final int mask = this.table.length - 1;
+        final int hash = key.hashCode();
+        int slot = spread(hash) & mask;
+        while (true) {
+            final int entry = this.table[slot] - 1;
+            if (entry < 0) {
+                return -1;
+            } else if (this.hashes[entry] == hash && keyEquals(entry, key)) {
+                return entry;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    private boolean keyEquals(int entry, String key) {
+        if (!this.plainKeys[entry]) {
+            return key(entry).equals(key);
+        }
+        final int start = this.keyStarts[entry];
+        final int length = this.keyEnds[entry] - start;
+        if (length != key.length()) {
+            return false;
+        }
+        for (int i = 0; i < length; ++i) {
+            if (at(start + i) != key.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private String key(int entry) {
+        return decode(this.keyStarts[entry], this.keyEnds[entry],
+                this.plainKeys[entry]);
+    }
+
+    private String value(int entry) {
+        return decode(this.valueStarts[entry], this.valueEnds[entry],
+                this.plainValues[entry]);
+    }
+
+    private String decode(int start, int end, boolean plain) {
+        final byte[] bytes = new byte[end - start];
+        final ByteBuffer slice = this.buffer.duplicate();
+        slice.position(start);
+        slice.get(bytes);
+        final String raw = new String(bytes, this.charset);
+        return plain ? raw : unescape(raw);
+    }
+
+    /**
+     * Resolves escape sequences and line continuations like
+     * {@link java.util.Properties} does.
+     */
+    private static String unescape(String raw) {
+        final StringBuilder b = new StringBuilder(raw.length());
+        final int length = raw.length();
+        int i = 0;
+        while (i < length) {
+            char c = raw.charAt(i++);
+            if (c != '\\') {
+                b.append(c);
+                continue;
+            } else if (i == length) {
+                break;
+            }
+            c = raw.charAt(i++);
+            switch (c) {
+            case '\r':
+            case '\n':
+                if (c == '\r' && i < length && raw.charAt(i) == '\n') {
+                    ++i;
+                }
+                while (i < length && (raw.charAt(i) == ' ' || raw.charAt(i) == '\t'
+                        || raw.charAt(i) == '\f')) {
+                    ++i;
+                }
+                break;
+            case 'u':
+                if (i + 4 > length) {
+                    throw new IllegalArgumentException("Malformed \\uxxxx encoding.");
+                }
+                int value = 0;
+                for (int j = 0; j < 4; ++j) {
+                    final int digit = Character.digit(raw.charAt(i++), 16);
+                    if (digit < 0) {
+                        throw new IllegalArgumentException(
+                                "Malformed \\uxxxx encoding.");
+                    }
+                    value = (value << 4) + digit;
+                }
+                b.append((char) value);
+                break;
+            case 't':
+                b.append('\t');
+                break;
+            case 'r':
+                b.append('\r');
+                break;
+            case 'n':
+                b.append('\n');
+                break;
+            case 'f':
+                b.append('\f');
+                break;
+            default:
+                b.append(c);
+            }
+        }
+        return b.toString();
+    }
+
+    @Override
+    public long getSize() {
+        return this.buffer.remaining();
+    }
+
+    @Override
+    protected Object handleGetObject(String key) {
+        if (key == null) {
+            throw new NullPointerException();
+        }
+        final int entry = find(key);
+        return entry < 0 ? null : value(entry);
+    }
+
+    @Override
+    protected Set<String> handleKeySet() {
+        Set<String> result = this.keySet;
+        if (result == null) {
+            final Set<String> keys = new HashSet<>(this.keyCount * 4 / 3 + 1);
+            for (final int slot : this.table) {
+                if (slot != 0) {
+                    keys.add(key(slot - 1));
+                }
+            }
+            result = Collections.unmodifiableSet(keys);
+            this.keySet = result;
+        }
+        return result;
+    }
+
+    @Override
+    public Enumeration<String> getKeys() {
+        final Set<String> keys = new HashSet<>(handleKeySet());
+        if (this.parent != null) {
+            keys.addAll(this.parent.keySet());
+        }
+        return Collections.enumeration(keys);
+    }
+
+    @Override
+    public boolean containsKey(String key) {
+        if (key == null) {
+            throw new NullPointerException();
+        }
+        return find(key) >= 0 || this.parent != null && this.parent.containsKey(key);
+    }
+}
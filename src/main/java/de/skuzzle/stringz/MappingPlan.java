@@ -0,0 +1,206 @@
+package de.skuzzle.stringz;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.ResourceBundle.Control;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import de.skuzzle.stringz.annotation.Delimiter;
+import de.skuzzle.stringz.annotation.ResourceCollection;
+import de.skuzzle.stringz.annotation.ResourceKey;
+import de.skuzzle.stringz.annotation.Validate;
+import de.skuzzle.stringz.annotation.ValidateArray;
+import de.skuzzle.stringz.strategy.FieldMapper;
+import de.skuzzle.stringz.strategy.Strategies;
+
+/**
+ * Immutable information about how the fields of a message class are mapped. It
+ * is built once per class and reused by each initialization, locale switch,
+ * reload and dispose of that class, so that these only need to look up and
+ * assign values instead of reflecting on the class again.
+ *
+ * <p>
+ * The plan contains the mapping annotations of all public fields of the class.
+ * Additionally, the fields which are accepted by a {@link FieldMapper} are
+ * remembered for the mapper which has last been used with the class, as well
+ * as the {@link Control} which has last been created for the class.
+ * </p>
+ *
+ * @author Simon Taddiken
+ * @since 0.3.0
+ */
+final class MappingPlan {
+
+    private static final ClassValue<MappingPlan> PLANS = new ClassValue<MappingPlan>() {
+        @Override
+        protected MappingPlan computeValue(Class<?> type) {
+            return new MappingPlan(type);
+        }
+    };
+
+    /**
+     * The mapping annotations of a single field.
+     *
+     * @author Simon Taddiken
+     * @since 0.3.0
+     */
+    static final class FieldPlan {
+
+        private final String key;
+        private final Validate validate;
+        private final ValidateArray validateArray;
+        private final ResourceCollection collection;
+        private final String delimiter;
+
+        private FieldPlan(Field field) {
+            final ResourceKey resourceKey = field.getAnnotation(ResourceKey.class);
+            final Delimiter delimiter = field.getAnnotation(Delimiter.class);
+            this.key = resourceKey == null ? field.getName() : resourceKey.value();
+            this.validate = field.getAnnotation(Validate.class);
+            this.validateArray = field.getAnnotation(ValidateArray.class);
+            this.collection = field.getAnnotation(ResourceCollection.class);
+            this.delimiter = delimiter == null ? null : delimiter.value();
+        }
+
+        /** The resource key, taking {@link ResourceKey} into account */
+        String getKey() {
+            return this.key;
+        }
+
+        /** The {@link Validate} annotation or <code>null</code> */
+        Validate getValidate() {
+            return this.validate;
+        }
+
+        /** The {@link ValidateArray} annotation or <code>null</code> */
+        ValidateArray getValidateArray() {
+            return this.validateArray;
+        }
+
+        /** The {@link ResourceCollection} annotation or <code>null</code> */
+        ResourceCollection getCollection() {
+            return this.collection;
+        }
+
+        /** The {@link Delimiter} pattern or <code>null</code> */
+        String getDelimiter() {
+            return this.delimiter;
+        }
+    }
+
+    /**
+     * The fields which are accepted by a mapper.
+     *
+     * @author Simon Taddiken
+     * @since 0.3.0
+     */
+    private static final class Accepted {
+        private final FieldMapper mapper;
+        private final List<Field> fields;
+
+        private Accepted(FieldMapper mapper, List<Field> fields) {
+            this.mapper = mapper;
+            this.fields = fields;
+        }
+    }
+
+    /**
+     * The Control which has been created by some strategies.
+     *
+     * @author Simon Taddiken
+     * @since 0.3.0
+     */
+    private static final class Created {
+        private final Strategies strategies;
+        private final Control control;
+
+        private Created(Strategies strategies, Control control) {
+            this.strategies = strategies;
+            this.control = control;
+        }
+    }
+
+    private final Field[] fields;
+    private final Map<Field, FieldPlan> plans;
+    private volatile Accepted accepted;
+    private volatile Created control;
+
+    private MappingPlan(Class<?> cls) {
+        this.fields = cls.getFields();
+        this.plans = new HashMap<>();
+        for (final Field field : this.fields) {
+            this.plans.put(field, new FieldPlan(field));
+        }
+    }
+
+    /**
+     * Gets the plan for the provided class.
+     *
+     * @param cls The class.
+     * @return The plan.
+     */
+    static MappingPlan of(Class<?> cls) {
+        return PLANS.get(cls);
+    }
+
+    /**
+     * Gets the plan of the provided field.
+     *
+     * @param field A public field.
+     * @return The plan.
+     */
+    static FieldPlan of(Field field) {
+        final FieldPlan plan = of(field.getDeclaringClass()).plans.get(field);
+        // the field might not be public
+        return plan == null ? new FieldPlan(field) : plan;
+    }
+
+    /**
+     * Gets the static fields of the class which are accepted by the provided
+     * mapper. The fields have already been made accessible.
+     *
+     * @param mapper The mapper.
+     * @return The accepted fields.
+     */
+    List<Field> getFields(FieldMapper mapper) {
+        final Accepted current = this.accepted;
+        if (current != null && current.mapper == mapper) {
+            return current.fields;
+        }
+        final List<Field> result = Collections.unmodifiableList(Arrays.stream(this.fields)
+                .filter(field -> Modifier.isStatic(field.getModifiers()))
+                .filter(mapper::accept)
+                .collect(Collectors.toList()));
+        // message classes themselves need not be public
+        result.forEach(field -> field.setAccessible(true));
+        this.accepted = new Accepted(mapper, result);
+        return result;
+    }
+
+    /**
+     * Gets the {@link Control} of the class which has been created using the
+     * provided strategies, creating it if the class has not been used with
+     * these strategies before. As the Control is part of the key of cached
+     * bundles, reusing it allows to find bundles in the cache even if the
+     * Control does not implement {@code equals}.
+     *
+     * @param strategies The strategies which create the Control.
+     * @param factory Creates the Control.
+     * @return The Control.
+     */
+    Control getControl(Strategies strategies, Supplier<Control> factory) {
+        final Created current = this.control;
+        if (current != null && current.strategies == strategies) {
+            return current.control;
+        }
+        final Control result = factory.get();
+        this.control = new Created(strategies, result);
+        return result;
+    }
+}
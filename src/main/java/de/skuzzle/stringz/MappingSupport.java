@@ -0,0 +1,208 @@
+package de.skuzzle.stringz;
+
+import java.util.Locale;
+import java.util.ResourceBundle;
+import java.util.ResourceBundle.Control;
+
+import de.skuzzle.stringz.annotation.InternMode;
+import de.skuzzle.stringz.annotation.ResourceMapping;
+import de.skuzzle.stringz.strategy.FieldMapperException;
+
+/**
+ * Implements the value retrieval of the {@link DefaultFieldMapper} on plain
+ * values instead of reflective field information. This class is used by
+ * {@link GeneratedMapper generated mappers} and is not intended to be used
+ * directly.
+ *
+ * @author Simon Taddiken
+ * @since 0.3.0
+ */
+public final class MappingSupport {
+
+    /** Default delimiter for splitting resources assigned to String arrays */
+    public static final String DEFAULT_DELIMITER = ";";
+
+    private static final FormatStringValidator VALIDATOR = new FormatStringValidator();
+
+    private MappingSupport() {}
+
+    /**
+     * Determines how Strings of the provided mapping are deduplicated, taking
+     * both {@link ResourceMapping#internMode()} and
+     * {@link ResourceMapping#intern()} into account.
+     *
+     * @param mapping The {@link ResourceMapping} annotation of the message class.
+     * @return The effective intern mode.
+     */
+    public static InternMode internMode(ResourceMapping mapping) {
+        final InternMode mode = mapping.internMode();
+        return mode == InternMode.NONE && mapping.intern()
+                ? InternMode.JVM
+                : mode;
+    }
+
+    /**
+     * Deduplicates a String according to the {@link #internMode(ResourceMapping)
+     * intern mode} of the provided mapping.
+     *
+     * @param mapping The {@link ResourceMapping} annotation of the message class.
+     * @param value The String to deduplicate.
+     * @return The deduplicated String.
+     */
+    public static String intern(ResourceMapping mapping, String value) {
+        switch (internMode(mapping)) {
+        case JVM:
+            return value.intern();
+        case POOL:
+            return Stringz.getStringPool().intern(value);
+        default:
+            return value;
+        }
+    }
+
+    /**
+     * Retrieves a String resource. The value is deduplicated according to the
+     * mapping's {@link #internMode(ResourceMapping) intern mode}. The value is
+     * only validated if {@link ResourceMapping#runtimeValidation()} is enabled.
+     *
+     * @param mapping The {@link ResourceMapping} annotation of the message class.
+     * @param bundle The resolved {@link ResourceBundle} for that message class.
+     * @param key The key of the resource.
+     * @param conversions Expected format conversions of the value or
+     *            <code>null</code> if it should not be validated.
+     * @return The resource value.
+     * @throws java.util.MissingResourceException If the resource is missing.
+     * @throws FormatValidationException If validation failed.
+     */
+    public static String value(ResourceMapping mapping, ResourceBundle bundle,
+            String key, String[] conversions) {
+        final String value = bundle.getString(key);
+        if (conversions != null && mapping.runtimeValidation()) {
+            VALIDATOR.parseFormatString(value, conversions);
+        }
+        return intern(mapping, value);
+    }
+
+    /**
+     * Retrieves a String resource and splits it at the provided delimiter. The
+     * elements of the resulting array are deduplicated according to the mapping's
+     * {@link #internMode(ResourceMapping) intern mode}.
+     *
+     * @param mapping The {@link ResourceMapping} annotation of the message class.
+     * @param bundle The resolved {@link ResourceBundle} for that message class.
+     * @param key The key of the resource.
+     * @param delimiter The delimiter pattern or <code>null</code> to use the
+     *            default delimiter.
+     * @param conversions Expected format conversions for each element of the
+     *            resulting array or <code>null</code> if they should not be
+     *            validated.
+     * @return The split resource value.
+     * @throws java.util.MissingResourceException If the resource is missing.
+     * @throws FieldMapperException If the number of validators does not match the
+     *             number of elements.
+     * @throws FormatValidationException If validation failed.
+     */
+    public static String[] split(ResourceMapping mapping, ResourceBundle bundle,
+            String key, String delimiter, String[][] conversions) {
+        final String resource = bundle.getString(key);
+        final String[] splitted = split(resource,
+                delimiter == null ? DEFAULT_DELIMITER : delimiter,
+                mapping.runtimeValidation() ? conversions : null);
+        if (internMode(mapping) != InternMode.NONE) {
+            for (int i = 0; i < splitted.length; ++i) {
+                splitted[i] = intern(mapping, splitted[i]);
+            }
+        }
+        return splitted;
+    }
+
+    /**
+     * Splits a resource value at the provided delimiter and validates the
+     * elements of the resulting array, regardless of any
+     * {@link ResourceMapping#runtimeValidation()} setting. The delimiter is
+     * compiled once and cached for subsequent calls.
+     *
+     * @param resource The value to split.
+     * @param delimiter The delimiter pattern.
+     * @param conversions Expected format conversions for each element of the
+     *            resulting array or <code>null</code> if they should not be
+     *            validated.
+     * @return The split value.
+     * @throws FieldMapperException If the number of validators does not match the
+     *             number of elements.
+     * @throws FormatValidationException If validation failed.
+     */
+    public static String[] split(String resource, String delimiter,
+            String[][] conversions) {
+        final String[] splitted = DelimiterSplitter.of(delimiter).split(resource);
+
+        if (conversions != null) {
+            if (conversions.length != splitted.length) {
+                throw new FieldMapperException(String.format(
+                        "Splitted resource contains %d values, but %d validators",
+                        splitted.length, conversions.length));
+            }
+            for (int i = 0; i < splitted.length; ++i) {
+                VALIDATOR.parseFormatString(splitted[i], conversions[i]);
+            }
+        }
+        return splitted;
+    }
+
+    /**
+     * Creates an array from multiple String resources. The values are only
+     * validated if {@link ResourceMapping#runtimeValidation()} is enabled.
+     *
+     * @param mapping The {@link ResourceMapping} annotation of the message class.
+     * @param bundle The resolved {@link ResourceBundle} for that message class.
+     * @param keys The keys of the resources.
+     * @param conversions Expected format conversions for each resource or
+     *            <code>null</code> if they should not be validated.
+     * @return The resource values.
+     * @throws java.util.MissingResourceException If a resource is missing.
+     * @throws FieldMapperException If no keys are given or the number of
+     *             validators does not match the number of keys.
+     * @throws FormatValidationException If validation failed.
+     */
+    public static String[] collection(ResourceMapping mapping, ResourceBundle bundle,
+            String[] keys, String[][] conversions) {
+        if (keys.length == 0) {
+            throw new FieldMapperException(
+                    "@ResourceCollection must specify at least one mapping key");
+        } else if (conversions != null && conversions.length != keys.length) {
+            // when specifying validators, there must be as many as
+            // there are values
+            throw new FieldMapperException(String.format(
+                    "@ResourceCollection contains %d values, but %d validators",
+                    keys.length, conversions.length));
+        }
+
+        final String[] v = new String[keys.length];
+        for (int i = 0; i < v.length; ++i) {
+            v[i] = value(mapping, bundle, keys[i],
+                    conversions == null ? null : conversions[i]);
+        }
+        return v;
+    }
+
+    /**
+     * Loads a {@link ResourceBundle} with all the extended features which are
+     * available to message classes (like {@code @include} and key references).
+     * This is used by the {@link de.skuzzle.stringz.processor.ResourceMappingProcessor
+     * ResourceMappingProcessor} to validate bundles at compile time. The bundle
+     * is not put into the bundle cache of Stringz.
+     *
+     * @param baseName The base name of the bundle.
+     * @param locale The locale of the bundle.
+     * @param loader The class loader to load the bundle from.
+     * @param control The control which is used to load the bundle.
+     * @return The bundle.
+     * @throws java.util.MissingResourceException If the bundle or an included
+     *             bundle could not be found.
+     */
+    public static ResourceBundle loadBundle(String baseName, Locale locale,
+            ClassLoader loader, Control control) {
+        return ExtendedBundle.getUncachedBundle(baseName, locale, loader, control,
+                null);
+    }
+}
@@ -0,0 +1,138 @@
+package de.skuzzle.stringz;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+import de.skuzzle.stringz.lazy.LazyString;
+
+/**
+ * Immutable view of all mapped values of a single message class for one locale.
+ * Snapshots are fully prepared before they are published by {@link Stringz}, so
+ * all values within one snapshot always belong to the same locale. When the
+ * locale is switched, a new snapshot replaces the old one with a single atomic
+ * swap, thus readers which obtain the values through a snapshot never observe a
+ * partially switched message class.
+ *
+ * <p>
+ * The public static fields of a message class are updated right after the new
+ * snapshot has been published. Reading them directly is fast, but during a
+ * locale switch it is possible to observe some fields which still hold values of
+ * the previous locale. If the {@link de.skuzzle.stringz.strategy.FieldMapper
+ * FieldMapper} of the class does not override {@code resolveField}, the fields
+ * are even assigned while the snapshot is being prepared.
+ * </p>
+ *
+ * @author Simon Taddiken
+ * @since 0.3.0
+ * @see Stringz#snapshot(Class)
+ */
+public final class MessageSnapshot {
+
+    private final Class<?> messageClass;
+    private final Locale locale;
+    private final long version;
+    private final Map<String, Object> values;
+
+    /** Whether any value is an array which must be copied when handed out */
+    private final boolean arrays;
+
+    MessageSnapshot(Class<?> messageClass, Locale locale, long version,
+            Map<String, Object> values) {
+        this.messageClass = messageClass;
+        this.locale = locale;
+        this.version = version;
+        this.values = Collections.unmodifiableMap(copy(values));
+        this.arrays = values.values().stream().anyMatch(Object[].class::isInstance);
+    }
+
+    /**
+     * Copies the provided values. Arrays are cloned, because the arrays which
+     * are assigned to the public fields of a message class can be modified by
+     * anyone.
+     */
+    private static Map<String, Object> copy(Map<String, Object> values) {
+        final Map<String, Object> result = new LinkedHashMap<>(values);
+        result.replaceAll((field, value) -> copy(value));
+        return result;
+    }
+
+    private static Object copy(Object value) {
+        return value instanceof Object[] ? ((Object[]) value).clone() : value;
+    }
+
+    /**
+     * Gets the message class to which this snapshot belongs.
+     *
+     * @return The message class.
+     */
+    public Class<?> getMessageClass() {
+        return this.messageClass;
+    }
+
+    /**
+     * Gets the locale for which the values of this snapshot have been loaded.
+     *
+     * @return The locale.
+     */
+    public Locale getLocale() {
+        return this.locale;
+    }
+
+    /**
+     * Gets the version of this snapshot. Every time {@link Stringz} publishes
+     * new values, they are tagged with a version number which is higher than all
+     * previously used version numbers.
+     *
+     * @return The version.
+     */
+    public long getVersion() {
+        return this.version;
+    }
+
+    /**
+     * Gets the value which is mapped to the field with the provided name. Arrays
+     * are returned as copies.
+     *
+     * @param field The name of the field.
+     * @return The value or <code>null</code> if no such field is mapped.
+     */
+    public Object get(String field) {
+        return copy(this.values.get(field));
+    }
+
+    /**
+     * Gets the String value which is mapped to the field with the provided name.
+     * The value of a {@link LazyString} field is resolved if necessary.
+     *
+     * @param field The name of the field.
+     * @return The value or <code>null</code> if no such field is mapped or the
+     *         field is not a String.
+     */
+    public String getString(String field) {
+        final Object value = this.values.get(field);
+        if (value instanceof LazyString) {
+            return ((LazyString) value).get();
+        }
+        return value instanceof String ? (String) value : null;
+    }
+
+    /**
+     * Gets all mapped values of this snapshot, keyed by field name. Arrays are
+     * returned as copies.
+     *
+     * @return An unmodifiable map of all values.
+     */
+    public Map<String, Object> getValues() {
+        return this.arrays
+                ? Collections.unmodifiableMap(copy(this.values))
+                : this.values;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("MessageSnapshot[class=%s, locale=%s, version=%d]",
+                this.messageClass.getName(), this.locale, this.version);
+    }
+}
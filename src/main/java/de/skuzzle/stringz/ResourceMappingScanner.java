@@ -0,0 +1,208 @@
+package de.skuzzle.stringz;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.JarURLConnection;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import de.skuzzle.stringz.annotation.ResourceMapping;
+
+/**
+ * Finds all classes annotated with {@link ResourceMapping} within given packages
+ * and their sub packages. Classes are discovered by listing the resources of a
+ * {@link ClassLoader}. Directories and jar files are supported.
+ *
+ * <p>
+ * To keep scanning cheap, the raw class files are searched for a reference to
+ * the {@code ResourceMapping} annotation first. Only classes which pass this test
+ * are loaded, but not initialized, in order to check the annotation.
+ * </p>
+ *
+ * @author Simon Taddiken
+ * @since 0.3.0
+ * @see Stringz#initPackages(ClassLoader, String...)
+ */
+public class ResourceMappingScanner {
+
+    private static final String CLASS_SUFFIX = ".class";
+
+    /** Descriptor of the ResourceMapping annotation as it appears in class files */
+    private static final byte[] ANNOTATION_DESCRIPTOR = ("L"
+            + ResourceMapping.class.getName().replace('.', '/') + ";")
+            .getBytes(StandardCharsets.UTF_8);
+
+    private final ClassLoader loader;
+
+    /**
+     * Creates a new scanner which scans the resources of the provided class
+     * loader.
+     *
+     * @param loader The class loader to scan.
+     */
+    public ResourceMappingScanner(ClassLoader loader) {
+        if (loader == null) {
+            throw new IllegalArgumentException("loader is null");
+        }
+        this.loader = loader;
+    }
+
+    /**
+     * Finds all classes which are annotated with {@link ResourceMapping} within
+     * the provided packages and their sub packages.
+     *
+     * @param packages Names of the packages to scan.
+     * @return The found classes.
+     * @throws StringzRuntimeException If reading the class path fails.
+     */
+    public List<Class<?>> scan(String... packages) {
+        if (packages == null) {
+            throw new IllegalArgumentException("packages is null");
+        }
+
+        final Set<String> candidates = new LinkedHashSet<>();
+        for (final String pkg : packages) {
+            if (pkg == null) {
+                throw new IllegalArgumentException("packages contains null");
+            }
+            try {
+                findCandidates(pkg, candidates);
+            } catch (IOException | URISyntaxException e) {
+                throw new StringzRuntimeException(String.format(
+                        "Error while scanning package %s", pkg), e);
+            }
+        }
+
+        final List<Class<?>> result = new ArrayList<>(candidates.size());
+        for (final String className : candidates) {
+            final Class<?> cls = loadClass(className);
+            if (cls != null && cls.isAnnotationPresent(ResourceMapping.class)) {
+                result.add(cls);
+            }
+        }
+        return result;
+    }
+
+    private void findCandidates(String pkg, Set<String> candidates)
+            throws IOException, URISyntaxException {
+        final String path = pkg.replace('.', '/');
+        final Enumeration<URL> roots = this.loader.getResources(path);
+        while (roots.hasMoreElements()) {
+            final URL root = roots.nextElement();
+            if ("file".equals(root.getProtocol())) {
+                scanDirectory(Paths.get(root.toURI()), pkg, candidates);
+            } else if ("jar".equals(root.getProtocol())) {
+                scanJar(root, path, candidates);
+            }
+            // other protocols are not supported
+        }
+    }
+
+    private void scanDirectory(Path root, String pkg, Set<String> candidates)
+            throws IOException {
+        final List<Path> files;
+        try (Stream<Path> stream = Files.walk(root)) {
+            files = stream
+                    .filter(file -> file.toString().endsWith(CLASS_SUFFIX))
+                    .filter(Files::isRegularFile)
+                    .collect(Collectors.toList());
+        }
+        for (final Path file : files) {
+            final String relative = root.relativize(file).toString()
+                    .replace(file.getFileSystem().getSeparator(), ".");
+            final String className = pkg.isEmpty()
+                    ? stripSuffix(relative)
+                    : pkg + "." + stripSuffix(relative);
+            if (isCandidate(Files.readAllBytes(file))) {
+                candidates.add(className);
+            }
+        }
+    }
+
+    private void scanJar(URL root, String path, Set<String> candidates)
+            throws IOException {
+        final URLConnection connection = root.openConnection();
+        if (!(connection instanceof JarURLConnection)) {
+            return;
+        }
+        connection.setUseCaches(false);
+        final String prefix = path.isEmpty() ? "" : path + "/";
+        try (JarFile jar = ((JarURLConnection) connection).getJarFile()) {
+            final Enumeration<JarEntry> entries = jar.entries();
+            while (entries.hasMoreElements()) {
+                final JarEntry entry = entries.nextElement();
+                final String name = entry.getName();
+                if (entry.isDirectory() || !name.startsWith(prefix)
+                        || !name.endsWith(CLASS_SUFFIX)) {
+                    continue;
+                }
+                try (InputStream in = jar.getInputStream(entry)) {
+                    if (isCandidate(readFully(in))) {
+                        candidates.add(stripSuffix(name).replace('/', '.'));
+                    }
+                }
+            }
+        }
+    }
+
+    private Class<?> loadClass(String className) {
+        if (className.endsWith("package-info") || className.endsWith("module-info")) {
+            return null;
+        }
+        try {
+            return Class.forName(className, false, this.loader);
+        } catch (ClassNotFoundException | LinkageError e) {
+            // class can not be used anyway
+            return null;
+        }
+    }
+
+    /**
+     * Checks whether the provided class file contains the descriptor of the
+     * {@link ResourceMapping} annotation.
+     *
+     * @param classFile Content of a class file.
+     * @return Whether the class might be annotated with ResourceMapping.
+     */
+    static boolean isCandidate(byte[] classFile) {
+        final byte[] d = ANNOTATION_DESCRIPTOR;
+        outer: for (int i = 0; i <= classFile.length - d.length; ++i) {
+            for (int j = 0; j < d.length; ++j) {
+                if (classFile[i + j] != d[j]) {
+                    continue outer;
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+
+    private static String stripSuffix(String name) {
+        return name.substring(0, name.length() - CLASS_SUFFIX.length());
+    }
+
+    private static byte[] readFully(InputStream in) throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final byte[] buffer = new byte[8192];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            out.write(buffer, 0, read);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,18 @@
+package de.skuzzle.stringz;
+
+/**
+ * Implemented by bundles which know the size of the resource they have been read
+ * from. Used to report the number of loaded bytes to {@link StringzMetrics}.
+ *
+ * @author Simon Taddiken
+ * @since 0.3.0
+ */
+interface SizedBundle {
+
+    /**
+     * Gets the size of the resource this bundle has been read from.
+     *
+     * @return The size in bytes.
+     */
+    long getSize();
+}
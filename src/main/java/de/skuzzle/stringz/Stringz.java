@@ -1,21 +1,34 @@
 package de.skuzzle.stringz;
 
+import java.io.IOException;
 import java.lang.reflect.Field;
-import java.lang.reflect.Modifier;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
-import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Optional;
 import java.util.ResourceBundle;
 import java.util.ResourceBundle.Control;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import de.skuzzle.stringz.annotation.Delimiter;
 import de.skuzzle.stringz.annotation.FamilyLocator;
 import de.skuzzle.stringz.annotation.FieldMapping;
+import de.skuzzle.stringz.annotation.InternMode;
 import de.skuzzle.stringz.annotation.NoResource;
 import de.skuzzle.stringz.annotation.ResourceCollection;
 import de.skuzzle.stringz.annotation.ResourceControl;
@@ -344,10 +357,20 @@ public final class Stringz {
      * implementation
      */
     private static final Map<Class<? extends BundleFamilyLocator>, BundleFamilyLocator>
-        FAMILY_LOCATORS = new HashMap<>();
+        FAMILY_LOCATORS = new ConcurrentHashMap<>();
 
     /** Holds all classes which have already been initialized */
-    private static final Set<Class<?>> initialized = new HashSet<>();
+    private static final Set<Class<?>> initialized = ConcurrentHashMap.newKeySet();
+
+    /** Serializes locale switches */
+    private static final Object LOCALE_LOCK = new Object();
+
+    /** Currently published values of each initialized message class */
+    private static final ConcurrentMap<Class<?>, Preparation> PUBLISHED =
+            new ConcurrentHashMap<>();
+
+    /** Source for snapshot versions */
+    private static final AtomicLong VERSION = new AtomicLong();
 
     /**
      * The default FieldMapper for classes which have no {@link FieldMapping}
@@ -355,6 +378,10 @@ public final class Stringz {
      */
     private static final FieldMapper DEFAULT_FIELD_MAPPER = new DefaultFieldMapper();
 
+    /** Caches the generated mapper, if any, for each message class */
+    private static final Map<Class<?>, Optional<GeneratedMapper>> GENERATED_MAPPERS =
+            new ConcurrentHashMap<>();
+
     /**
      * The default Strategy.
      */
@@ -367,6 +394,34 @@ public final class Stringz {
     /** Currently used strategies */
     private static volatile Strategies strategies = DEFAULT_STRATEGIES;
 
+    /** The default locale provider which returns the global locale */
+    private static final LocaleProvider GLOBAL_LOCALE = Stringz::getLocale;
+
+    /** Provides the locale for localized look ups */
+    private static volatile LocaleProvider localeProvider = GLOBAL_LOCALE;
+
+    /**
+     * Maximum number of compiled formats cached by
+     * {@link #format(String, Object...)}. Once the cache is full, other formats
+     * are compiled whenever they are used.
+     */
+    private static final int FORMAT_CACHE_SIZE = 1024;
+
+    /** Maximum number of Strings retained by the string pool */
+    private static final int STRING_POOL_SIZE = 65536;
+
+    /** Deduplicates Strings of mappings with {@link InternMode#POOL} */
+    private static final InternPool<String> STRING_POOL = new InternPool<>(
+            STRING_POOL_SIZE, Function.identity());
+
+    /** Compiled format Strings */
+    private static final ConcurrentMap<String, CompiledFormat> FORMATS =
+            new ConcurrentHashMap<>();
+
+    /** Pre-resolved values of message classes per locale */
+    private static final ConcurrentMap<Class<?>, ConcurrentMap<Locale, Localized>>
+        LOCALIZED = new ConcurrentHashMap<>();
+
     /**
      * Registers the provided {@link BundleFamilyLocator}. The provided instance
      * will be registered under the class which is returned by its
@@ -376,9 +431,7 @@ public final class Stringz {
      * @param locator The locator to register.
      */
     public static void registerLocator(BundleFamilyLocator locator) {
-        synchronized (FAMILY_LOCATORS) {
-            FAMILY_LOCATORS.put(locator.getClass(), locator);
-        }
+        FAMILY_LOCATORS.put(locator.getClass(), locator);
     }
 
     /**
@@ -393,14 +446,12 @@ public final class Stringz {
      */
     private static BundleFamilyLocator getLocator(
             Class<? extends BundleFamilyLocator> cls) {
-        synchronized (FAMILY_LOCATORS) {
-            final BundleFamilyLocator locator = FAMILY_LOCATORS.get(cls);
-            if (locator == null) {
-                throw new BundleFamilyException(String.format(
-                        "No BundleFamilyLocator registered for '%s'", cls.getName()));
-            }
-            return locator;
+        final BundleFamilyLocator locator = FAMILY_LOCATORS.get(cls);
+        if (locator == null) {
+            throw new BundleFamilyException(String.format(
+                    "No BundleFamilyLocator registered for '%s'", cls.getName()));
         }
+        return locator;
     }
 
     static {
@@ -414,33 +465,180 @@ public final class Stringz {
      * initialized <em>Message classes</em> will be reinitialized using the new
      * locale.
      *
+     * <p>
+     * The values for the new locale are prepared for all message classes before
+     * anything is published. If preparing fails for any class, the exception is
+     * rethrown and neither the locale nor any message class is changed.
+     * Otherwise, the new {@link MessageSnapshot} of each class replaces its old
+     * one with a single atomic swap and the fields are updated afterwards.
+     * Readers are never blocked by a locale switch.
+     * </p>
+     *
+     * <p>
+     * These guarantees only hold for message classes which use a generated
+     * mapper or whose {@link FieldMapper} overrides
+     * {@link FieldMapper#resolveField(ResourceMapping, Field, ResourceBundle)
+     * resolveField}. The default implementation of that method assigns each
+     * field while the values are prepared. The fields of classes with such a
+     * mapper are therefore modified before publishing and keep the values which
+     * have been assigned up to a failure. Their snapshots are still replaced
+     * atomically.
+     * </p>
+     *
+     * <p>
+     * Values which have already been resolved for the new locale, e.g. by
+     * {@link #prefetch(Collection, Executor)}, are published without loading
+     * the bundles again.
+     * </p>
+     *
      * @param locale The locale to use when locating resource bundles. If
      *            <code>null</code>, {@link Locale#getDefault()} is used.
      */
     public static void setLocale(Locale locale) {
         locale = locale == null ? Locale.getDefault() : locale;
-        final boolean eq = locale.equals(Stringz.locale);
-        Stringz.locale = locale;
-        if (!eq) {
-            // reinitialize all previously loaded classes
-            synchronized (initialized) {
-                final Collection<Class<?>> copy = new ArrayList<>(initialized);
-                initialized.clear();
-                copy.forEach(cls -> init(cls, Stringz.locale));
+        synchronized (LOCALE_LOCK) {
+            if (locale.equals(Stringz.locale)) {
+                Stringz.locale = locale;
+                return;
             }
+
+            // prepare the values of all previously loaded classes
+            final long version = VERSION.incrementAndGet();
+            final Map<BundleKey, ResourceBundle> bundles = new HashMap<>();
+            final List<Preparation> prepared = new ArrayList<>();
+            for (final Class<?> cls : new ArrayList<>(initialized)) {
+                final ResourceMapping rm = cls.getAnnotation(ResourceMapping.class);
+                final MessageSnapshot prefetched = findLocalized(cls, locale);
+                if (prefetched != null) {
+                    prepared.add(prepare(cls, rm, prefetched.getValues(), locale,
+                            version));
+                    continue;
+                }
+                final BundleKey key = findBundleKey(cls, rm, locale);
+                final ResourceBundle bundle = bundles.computeIfAbsent(key,
+                        BundleKey::load);
+                prepared.add(prepare(cls, rm, bundle, locale, version));
+            }
+
+            Stringz.locale = locale;
+            prepared.forEach(Stringz::publish);
+
+            // classes which have been initialized concurrently using the
+            // previous locale. Their snapshots might have a higher version than
+            // the prepared ones
+            for (final Class<?> cls : initialized) {
+                remapIfStale(cls, locale);
+            }
+        }
+    }
+
+    /**
+     * Republishes the values of the provided classes if they have been published
+     * for another locale than the global one. Initializing a class with the
+     * global locale races with {@link #setLocale(Locale)}, which might switch the
+     * locale after the class has read it but before it has published its values.
+     *
+     * @param classes The classes which have been initialized.
+     */
+    private static void followLocale(Collection<? extends Class<?>> classes) {
+        synchronized (LOCALE_LOCK) {
+            final Locale locale = Stringz.locale;
+            classes.forEach(cls -> remapIfStale(cls, locale));
+        }
+    }
+
+    /**
+     * Maps the fields of the provided class again if its current snapshot
+     * belongs to another locale than the provided one. Must be called while
+     * holding the {@link #LOCALE_LOCK}.
+     */
+    private static void remapIfStale(Class<?> cls, Locale locale) {
+        final MessageSnapshot snapshot = published(cls);
+        if (snapshot != null && initialized.contains(cls)
+                && !locale.equals(snapshot.getLocale())) {
+            final ResourceMapping rm = cls.getAnnotation(ResourceMapping.class);
+            final BundleKey key = findBundleKey(cls, rm, locale);
+            mapFields(cls, rm, key.load(), locale);
         }
     }
 
+    /**
+     * Gets the global locale which is used to initialize the fields of message
+     * classes.
+     *
+     * @return The global locale.
+     * @since 0.3.0
+     */
+    public static Locale getLocale() {
+        return locale;
+    }
+
+    /**
+     * Sets the {@link LocaleProvider} which determines the locale for
+     * {@link #getLocalized(Class, String)} and {@link #format(String, Object...)}.
+     * Changing the provider does not affect the fields of message classes, which
+     * always hold the values for the {@link #getLocale() global locale}.
+     *
+     * @param provider The provider to use. If <code>null</code>, a provider
+     *            which returns the global locale will be used.
+     * @since 0.3.0
+     */
+    public static void setLocaleProvider(LocaleProvider provider) {
+        Stringz.localeProvider = provider == null ? GLOBAL_LOCALE : provider;
+    }
+
+    /**
+     * Gets the currently used {@link LocaleProvider}.
+     *
+     * @return The locale provider.
+     * @since 0.3.0
+     */
+    public static LocaleProvider getLocaleProvider() {
+        return localeProvider;
+    }
+
     /**
      * Sets the {@link Strategies} to use.
      * @param strategies The strategies to use. If <code>null</code>, a default
      *          implementation will be used.
      */
     public static void setStrategies(Strategies strategies) {
-        synchronized (DEFAULT_STRATEGIES) {
-            strategies = strategies == null ? DEFAULT_STRATEGIES : strategies;
-            Stringz.strategies = strategies;
-        }
+        Stringz.strategies = strategies == null ? DEFAULT_STRATEGIES : strategies;
+    }
+
+    /**
+     * Gets the pool which is used to deduplicate Strings of message classes
+     * which use {@link InternMode#POOL}. The pool is shared by all bundle families
+     * and locales and provides statistics about its memory usage.
+     *
+     * @return The string pool.
+     * @since 0.3.0
+     */
+    public static InternPool<String> getStringPool() {
+        return STRING_POOL;
+    }
+
+    /**
+     * Sets the {@link StringzMetrics} which receive measurements about message
+     * class initialization and bundle look ups. Metrics are disabled by default.
+     * While they are disabled, no measurements are taken at all.
+     *
+     * @param metrics The metrics to use or <code>null</code> to disable metrics.
+     * @since 0.3.0
+     * @see JmxStringzMetrics
+     */
+    public static void setMetrics(StringzMetrics metrics) {
+        Instrumentation.set(metrics);
+    }
+
+    /**
+     * Gets the {@link StringzMetrics} which are currently in use.
+     *
+     * @return The metrics or <code>null</code> if metrics are disabled.
+     * @since 0.3.0
+     */
+    public static StringzMetrics getMetrics() {
+        return Instrumentation.get();
     }
 
     /** Not instantiatable (is this even a word?) */
@@ -518,28 +716,29 @@ public final class Stringz {
                     "Class %s does not specify a ResourceMapping annotation", cls));
         }
 
-        synchronized (initialized) {
-            if (!initialized.add(cls)) {
-                // we already handled this
-                return;
-            }
+        if (!initialized.add(cls)) {
+            // we already handled this
+            return;
         }
 
-        final ResourceMapping rm = cls.getAnnotation(ResourceMapping.class);
-        final String baseName = findBaseName(cls, rm);
-
-        // Retrieve the bundle. Will throw an exception if it could not be
-        // found.
-        final Control control = findControl(cls, rm);
-        final ResourceBundle bundle = ExtendedBundle.getBundle(baseName,
-                locale, cls.getClassLoader(), control);
+        final StringzMetrics metrics = Instrumentation.get();
+        final long start = metrics == null ? 0 : System.nanoTime();
+        try {
+            final ResourceMapping rm = cls.getAnnotation(ResourceMapping.class);
 
-        final FieldMapper fieldMapper = findFieldMapper(cls, rm);
-        // Map fields to bundle entries
-        Arrays.stream(cls.getFields())
-                .filter(field -> Modifier.isStatic(field.getModifiers()))
-                .filter(fieldMapper::accept)
-                .forEach(field -> fieldMapper.mapField(rm, field, bundle));
+            // Retrieve the bundle. Will throw an exception if it could not be
+            // found.
+            final BundleKey key = findBundleKey(cls, rm, locale);
+            final ResourceBundle bundle = key.load();
+            mapFields(cls, rm, bundle, locale);
+            if (metrics != null) {
+                metrics.classInitialized(cls, locale, System.nanoTime() - start);
+            }
+        } catch (RuntimeException e) {
+            // allow to retry initialization
+            initialized.remove(cls);
+            throw e;
+        }
     }
 
     /**
@@ -550,7 +749,210 @@ public final class Stringz {
      * @param cls The class to initialize.
      */
     public static void init(Class<?> cls) {
-        init(cls, Stringz.locale);
+        final Locale current = Stringz.locale;
+        init(cls, current);
+        if (!current.equals(Stringz.locale)) {
+            followLocale(Collections.singleton(cls));
+        }
+    }
+
+    /**
+     * Initializes all provided message classes in parallel using the locale set
+     * by {@link #setLocale(Locale)} and the {@link ForkJoinPool#commonPool()
+     * common pool}. See {@link #initAll(Collection, Locale, ForkJoinPool)} for
+     * details.
+     *
+     * @param classes The message classes to initialize.
+     * @return A report about the initialization.
+     * @since 0.3.0
+     */
+    public static InitReport initAll(Collection<? extends Class<?>> classes) {
+        final Locale current = Stringz.locale;
+        final InitReport report = initAll(classes, current, ForkJoinPool.commonPool());
+        if (!current.equals(Stringz.locale)) {
+            followLocale(report.getInitialized());
+        }
+        return report;
+    }
+
+    /**
+     * Initializes all provided message classes in parallel using the
+     * {@link ForkJoinPool#commonPool() common pool}. See
+     * {@link #initAll(Collection, Locale, ForkJoinPool)} for details.
+     *
+     * @param classes The message classes to initialize.
+     * @param locale The locale used to locate the proper resource bundles.
+     * @return A report about the initialization.
+     * @since 0.3.0
+     */
+    public static InitReport initAll(Collection<? extends Class<?>> classes,
+            Locale locale) {
+        return initAll(classes, locale, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Initializes all provided message classes in parallel. Each class is
+     * initialized in the same way as by {@link #init(Class, Locale)}, but the
+     * classes are grouped by the {@link ResourceBundle} they resolve to, so that
+     * every distinct bundle is only loaded once. Bundles are loaded and fields
+     * are mapped on the provided {@code pool}.
+     *
+     * <p>
+     * Other than {@code init}, this method does not throw an exception if a class
+     * fails to initialize. Instead, failures are collected in the returned
+     * {@link InitReport}. Failed classes are not considered initialized. Classes
+     * which have already been initialized before are skipped and are not contained
+     * in the report.
+     * </p>
+     *
+     * @param classes The message classes to initialize.
+     * @param locale The locale used to locate the proper resource bundles.
+     * @param pool The pool to run the initialization on.
+     * @return A report about the initialization.
+     * @throws IllegalArgumentException If any parameter is <code>null</code>.
+     * @since 0.3.0
+     */
+    public static InitReport initAll(Collection<? extends Class<?>> classes,
+            Locale locale, ForkJoinPool pool) {
+        if (classes == null) {
+            throw new IllegalArgumentException("classes is null");
+        } else if (locale == null) {
+            throw new IllegalArgumentException("locale is null");
+        } else if (pool == null) {
+            throw new IllegalArgumentException("pool is null");
+        }
+
+        final long start = System.nanoTime();
+        final Map<Class<?>, Long> times = new ConcurrentHashMap<>();
+        final Map<Class<?>, Throwable> failures = new ConcurrentHashMap<>();
+        final Map<Class<?>, BundleKey> keys = new ConcurrentHashMap<>();
+
+        final List<Class<?>> pending = new ArrayList<>(classes.size());
+        for (final Class<?> cls : classes) {
+            if (cls == null) {
+                throw new IllegalArgumentException("classes contains null");
+            } else if (!cls.isAnnotationPresent(ResourceMapping.class)) {
+                failures.put(cls, new IllegalArgumentException(String.format(
+                        "Class %s does not specify a ResourceMapping annotation",
+                        cls)));
+                continue;
+            }
+            if (initialized.add(cls)) {
+                pending.add(cls);
+            }
+        }
+
+        final Map<BundleKey, List<Class<?>>> groups = new ConcurrentHashMap<>();
+        pool.invoke(ForkJoinTask.adapt(() -> {
+            // resolve the bundle for each class
+            ForkJoinTask.invokeAll(pending.stream()
+                    .map(cls -> ForkJoinTask.adapt(() -> {
+                        final long t0 = System.nanoTime();
+                        try {
+                            final ResourceMapping rm = cls.getAnnotation(
+                                    ResourceMapping.class);
+                            final BundleKey key = findBundleKey(cls, rm, locale);
+                            keys.put(cls, key);
+                            times.put(cls, System.nanoTime() - t0);
+                        } catch (RuntimeException e) {
+                            failures.put(cls, e);
+                        }
+                    }))
+                    .collect(Collectors.toList()));
+
+            keys.forEach((cls, key) -> groups.computeIfAbsent(key,
+                    k -> new ArrayList<>()).add(cls));
+
+            // load each bundle once, then map the fields of all its classes
+            ForkJoinTask.invokeAll(groups.entrySet().stream()
+                    .map(group -> ForkJoinTask.adapt(() -> initGroup(
+                            group.getKey(), group.getValue(), times, failures)))
+                    .collect(Collectors.toList()));
+        }));
+
+        initialized.removeAll(failures.keySet());
+        times.keySet().removeAll(failures.keySet());
+        return new InitReport(times, failures, groups.size(),
+                System.nanoTime() - start);
+    }
+
+    /**
+     * Finds all message classes within the provided packages and their sub
+     * packages and initializes them in parallel using the locale set by
+     * {@link #setLocale(Locale)}. Classes are discovered using a
+     * {@link ResourceMappingScanner} on the provided class loader and are then
+     * initialized using {@link #initAll(Collection)}.
+     *
+     * @param loader The class loader to scan for message classes.
+     * @param packages The packages to scan.
+     * @return A report about the initialization.
+     * @throws StringzRuntimeException If scanning the class path fails.
+     * @since 0.3.0
+     */
+    public static InitReport initPackages(ClassLoader loader, String... packages) {
+        final List<Class<?>> classes = new ResourceMappingScanner(loader)
+                .scan(packages);
+        return initAll(classes);
+    }
+
+    /**
+     * Asynchronously finds and initializes all message classes within the
+     * provided packages. This method returns immediately. Scanning and
+     * initialization are performed on the {@link ForkJoinPool#commonPool()
+     * common pool}. See {@link #initPackages(ClassLoader, String...)}.
+     *
+     * <p>
+     * Message classes which are accessed before the returned future completes
+     * will still be initialized synchronously by their static initializer, if
+     * they specify one.
+     * </p>
+     *
+     * @param loader The class loader to scan for message classes.
+     * @param packages The packages to scan.
+     * @return A future which is completed with the initialization report.
+     * @since 0.3.0
+     */
+    public static CompletableFuture<InitReport> initPackagesAsync(
+            ClassLoader loader, String... packages) {
+        if (loader == null) {
+            throw new IllegalArgumentException("loader is null");
+        } else if (packages == null) {
+            throw new IllegalArgumentException("packages is null");
+        }
+        return CompletableFuture.supplyAsync(() -> initPackages(loader, packages),
+                ForkJoinPool.commonPool());
+    }
+
+    private static void initGroup(BundleKey key, List<Class<?>> classes,
+            Map<Class<?>, Long> times, Map<Class<?>, Throwable> failures) {
+        final long t0 = System.nanoTime();
+        final ResourceBundle bundle;
+        try {
+            bundle = key.load();
+        } catch (RuntimeException e) {
+            classes.forEach(cls -> failures.put(cls, e));
+            return;
+        }
+        final long loadTime = System.nanoTime() - t0;
+
+        ForkJoinTask.invokeAll(classes.stream()
+                .map(cls -> ForkJoinTask.adapt(() -> {
+                    final long t1 = System.nanoTime();
+                    try {
+                        final ResourceMapping rm = cls.getAnnotation(
+                                ResourceMapping.class);
+                        mapFields(cls, rm, bundle, key.getLocale());
+                        final long time = times.merge(cls,
+                                loadTime + System.nanoTime() - t1, Long::sum);
+                        final StringzMetrics metrics = Instrumentation.get();
+                        if (metrics != null) {
+                            metrics.classInitialized(cls, key.getLocale(), time);
+                        }
+                    } catch (RuntimeException e) {
+                        failures.put(cls, e);
+                    }
+                }))
+                .collect(Collectors.toList()));
     }
 
     /**
@@ -574,17 +976,21 @@ public final class Stringz {
             throw new IllegalArgumentException(String.format(
                     "Class %s does not specify a ResourceMapping annotation", cls));
         } else {
-            synchronized (initialized) {
-                if (!initialized.remove(cls)) {
-                    return;
-                }
+            LOCALIZED.remove(cls);
+            if (!initialized.remove(cls)) {
+                return;
             }
+            PUBLISHED.remove(cls);
         }
 
         final ResourceMapping mapping = cls.getAnnotation(ResourceMapping.class);
+        final Optional<GeneratedMapper> generated = findGeneratedMapper(cls);
+        if (generated.isPresent()) {
+            generated.get().dispose();
+            return;
+        }
         final FieldMapper mapper = findFieldMapper(cls, mapping);
-        Arrays.stream(cls.getFields())
-                .filter(mapper::accept)
+        MappingPlan.of(cls).getFields(mapper)
                 .forEach(field -> {
                     try {
                         field.set(null, null);
@@ -594,10 +1000,127 @@ public final class Stringz {
                 });
     }
 
+    /**
+     * Reloads the values of all message classes which are mapped to one of the
+     * provided bundle families or to a family which includes one of them,
+     * directly or transitively via {@code @include}, as recorded by the
+     * {@link #getIncludeGraph() include graph}. Other message classes are not
+     * touched.
+     *
+     * <p>
+     * Cached bundles of the affected families are
+     * {@link #invalidateBundles(Collection) invalidated} so that changed
+     * resources are read again. Like
+     * {@link #setLocale(Locale)}, the new values of all affected classes are
+     * prepared before anything is published. If preparing fails for any class,
+     * the exception is rethrown and all classes keep their current values.
+     * Otherwise a new {@link MessageSnapshot} is published for each class. The
+     * same restriction as for {@code setLocale} applies to classes whose
+     * {@link FieldMapper} can not resolve values without assigning them. Values
+     * which have been cached for other locales by
+     * {@link #snapshot(Class, Locale)} are discarded as well.
+     * </p>
+     *
+     * @param baseNames Base names of the bundle families which have changed.
+     *            Unknown families are ignored.
+     * @return The initialized message classes which have been reloaded.
+     * @throws java.util.MissingResourceException If a bundle or resource is
+     *             missing.
+     * @since 0.3.0
+     * @see BundleReloader
+     */
+    public static Set<Class<?>> reload(Collection<String> baseNames) {
+        if (baseNames == null) {
+            throw new IllegalArgumentException("baseNames is null");
+        }
+        final Set<String> affected = ExtendedBundle.getIncludeGraph()
+                .getTransitiveDependents(baseNames);
+
+        synchronized (LOCALE_LOCK) {
+            final Locale locale = Stringz.locale;
+            final Map<Class<?>, BundleKey> keys = new LinkedHashMap<>();
+            for (final Class<?> cls : initialized) {
+                final ResourceMapping rm = cls.getAnnotation(ResourceMapping.class);
+                final BundleKey key = findBundleKey(cls, rm, locale);
+                if (affected.contains(key.getBaseName())) {
+                    keys.put(cls, key);
+                }
+            }
+            final List<Class<?>> localized = LOCALIZED.keySet().stream()
+                    .filter(cls -> affected.contains(findBaseName(cls,
+                            cls.getAnnotation(ResourceMapping.class))))
+                    .collect(Collectors.toList());
+
+            ExtendedBundle.invalidate(affected);
+
+            final long version = VERSION.incrementAndGet();
+            final Map<BundleKey, ResourceBundle> bundles = new HashMap<>();
+            final List<Preparation> prepared = new ArrayList<>(keys.size());
+            keys.forEach((cls, key) -> {
+                final ResourceBundle bundle = bundles.computeIfAbsent(key,
+                        BundleKey::load);
+                prepared.add(prepare(cls, cls.getAnnotation(ResourceMapping.class),
+                        bundle, locale, version));
+            });
+
+            prepared.forEach(Stringz::publish);
+            localized.forEach(LOCALIZED::remove);
+            return Collections.unmodifiableSet(keys.keySet());
+        }
+    }
+
+    /**
+     * Removes the provided bundle families and all families which include them
+     * from the bundle cache. Loaded bundles are cached and shared by all message
+     * classes and includes, so that a bundle which is included by many families
+     * is only loaded once per locale. Invalidated bundles are read again the next
+     * time they are needed. Already initialized message classes keep their
+     * values, use {@link #reload(Collection)} to update them.
+     *
+     * @param baseNames Base names of the families to invalidate.
+     * @since 0.3.0
+     */
+    public static void invalidateBundles(Collection<String> baseNames) {
+        if (baseNames == null) {
+            throw new IllegalArgumentException("baseNames is null");
+        }
+        ExtendedBundle.invalidate(baseNames);
+    }
+
+    /**
+     * Removes all bundles from the bundle cache. See
+     * {@link #invalidateBundles(Collection)}.
+     *
+     * @since 0.3.0
+     */
+    public static void clearBundleCache() {
+        ExtendedBundle.invalidateAll();
+    }
+
+    /**
+     * Gets the graph of {@code @include} relations between all bundle families
+     * which have been loaded so far.
+     *
+     * @return The include graph.
+     * @since 0.3.0
+     */
+    public static IncludeGraph getIncludeGraph() {
+        return ExtendedBundle.getIncludeGraph();
+    }
+
     /**
      * formats the given String {@code f} using
      * {@link String#format(Locale, String, Object...)} with the provided
-     * {@code args} and the currently set {@link #setLocale(Locale) locale}.
+     * {@code args} and the locale of the current {@link LocaleProvider}. By
+     * default, that is the currently set {@link #setLocale(Locale) locale}.
+     * Note that with any other provider, like a {@link ThreadLocalLocaleProvider},
+     * the result might differ from the global locale which is used for the
+     * fields of message classes.
+     *
+     * <p>
+     * Format Strings are {@link CompiledFormat compiled} once and cached, so
+     * formatting the same message repeatedly only costs rendering the arguments.
+     * </p>
      *
      * @param f The String to format.
      * @param args The format arguments.
@@ -606,35 +1129,513 @@ public final class Stringz {
      * @since 0.3.0
      */
     public static String format(String f, Object... args) {
-        return String.format(locale, f, args);
+        return compiledFormat(f).format(localeProvider.getLocale(), args);
+    }
+
+    /**
+     * Formats the given String {@code f} like {@link #format(String, Object...)}
+     * but appends the result to the provided StringBuilder.
+     *
+     * @param out The builder to append to.
+     * @param f The String to format.
+     * @param args The format arguments.
+     * @return The provided builder.
+     * @since 0.3.0
+     */
+    public static StringBuilder formatTo(StringBuilder out, String f, Object... args) {
+        return compiledFormat(f).formatTo(out, localeProvider.getLocale(), args);
+    }
+
+    /**
+     * Formats the given String {@code f} like {@link #format(String, Object...)}
+     * but appends the result to the provided Appendable.
+     *
+     * @param <A> Type of the Appendable.
+     * @param out The Appendable to append to.
+     * @param f The String to format.
+     * @param args The format arguments.
+     * @return The provided Appendable.
+     * @throws IOException If appending fails.
+     * @since 0.3.0
+     */
+    public static <A extends Appendable> A formatTo(A out, String f, Object... args)
+            throws IOException {
+        return compiledFormat(f).formatTo(out, localeProvider.getLocale(), args);
+    }
+
+    private static CompiledFormat compiledFormat(String f) {
+        if (f == null) {
+            throw new IllegalArgumentException("f is null");
+        }
+        final CompiledFormat cached = FORMATS.get(f);
+        final StringzMetrics metrics = Instrumentation.get();
+        if (metrics != null) {
+            metrics.cacheLookup(StringzMetrics.FORMAT_CACHE, cached != null);
+        }
+        if (cached != null) {
+            return cached;
+        }
+        final CompiledFormat compiled = CompiledFormat.compile(f);
+        if (FORMATS.size() < FORMAT_CACHE_SIZE) {
+            FORMATS.putIfAbsent(f, compiled);
+        }
+        return compiled;
     }
 
     /**
-     * Provides map-like access to the value of a resource key. This method uses
-     * reflection to figure out the value of {@code field} within the provided
-     * class {@code msg}. The field must be static and declared as String.
+     * Provides map-like access to the value of a resource key. If the provided
+     * class {@code msg} has been initialized, the value is taken from its current
+     * {@link #snapshot(Class) snapshot}, resolving the value of a
+     * {@link de.skuzzle.stringz.lazy.LazyString LazyString} field if necessary.
+     * Otherwise, the value of {@code field} is read from the provided class
+     * using a table of getters which is built once per class. The field must be
+     * static and declared as String.
      *
      * @param msg The class in which the field's value should be read.
      * @param field The field which value should be read.
      * @return The String value which is assigned to the field. If the field
      *         does not exist or is not a String, <code>null</code> is returned.
-     * @throws StringzRuntimeException If the field could not be found or not be
-     *             read using reflection.
+     * @throws StringzRuntimeException If the field could not be found or is not
+     *             static.
      * @since 0.2.0
      */
     public static String get(Class<?> msg, String field) {
+        final MessageSnapshot snapshot = published(msg);
+        if (snapshot != null) {
+            final String value = snapshot.getString(field);
+            if (value != null) {
+                return value;
+            }
+        }
+        return FieldTable.of(msg).get(field);
+    }
+
+    /**
+     * Gets the currently published values of the provided message class. The
+     * returned snapshot is immutable and all of its values belong to the same
+     * locale, even if a locale switch is in progress. Obtaining a snapshot never
+     * blocks.
+     *
+     * @param msg The message class.
+     * @return The current snapshot or <code>null</code> if the class has not been
+     *         initialized.
+     * @since 0.3.0
+     */
+    public static MessageSnapshot snapshot(Class<?> msg) {
+        if (msg == null) {
+            throw new IllegalArgumentException("msg is null");
+        }
+        return published(msg);
+    }
+
+    /**
+     * Gets the values of the provided message class for the given locale. The
+     * values are resolved once per class and locale and are cached afterwards,
+     * thus message classes can be served in any number of locales at the same
+     * time without modifying their fields. The class does not need to be
+     * initialized.
+     *
+     * @param msg The message class.
+     * @param locale The locale.
+     * @return The values for that locale.
+     * @throws IllegalArgumentException If {@code msg} is not annotated with
+     *             {@link ResourceMapping}.
+     * @throws java.util.MissingResourceException If a resource is missing.
+     * @throws StringzRuntimeException If the {@link FieldMapper} of the class can
+     *             not resolve values without assigning them.
+     * @since 0.3.0
+     */
+    public static MessageSnapshot snapshot(Class<?> msg, Locale locale) {
+        if (msg == null) {
+            throw new IllegalArgumentException("msg is null");
+        } else if (locale == null) {
+            throw new IllegalArgumentException("locale is null");
+        }
+
+        final MessageSnapshot published = published(msg);
+        if (published != null && published.getLocale().equals(locale)) {
+            return published;
+        }
+
+        // validate before any table is created for the class
+        final ResourceMapping rm = msg.getAnnotation(ResourceMapping.class);
+        if (rm == null) {
+            throw new IllegalArgumentException(String.format(
+                    "Class %s does not specify a ResourceMapping annotation", msg));
+        } else if (!findGeneratedMapper(msg).isPresent()
+                && !canResolve(findFieldMapper(msg, rm))) {
+            throw new StringzRuntimeException(String.format(
+                    "The FieldMapper of %s does not support resolving values "
+                            + "without assigning them", msg.getName()));
+        }
+
+        final ConcurrentMap<Locale, Localized> tables = LOCALIZED.computeIfAbsent(
+                msg, cls -> new ConcurrentHashMap<>());
+        final Localized cached = tables.get(locale);
+        final boolean hit = cached != null && cached.isCurrent();
+        final StringzMetrics metrics = Instrumentation.get();
+        if (metrics != null) {
+            metrics.cacheLookup(StringzMetrics.LOCALIZED_CACHE, hit);
+        }
+        if (hit) {
+            return cached.snapshot;
+        }
+
+        // resolve without holding a lock of the map. Concurrent look ups of the
+        // same locale might resolve the values as well, the first one wins
+        final Localized resolved = resolveLocalized(msg, rm, locale);
+        if (!resolved.isCurrent()) {
+            return resolved.snapshot;
+        }
+        Localized current = cached;
+        while (true) {
+            if (current == null) {
+                current = tables.putIfAbsent(locale, resolved);
+                if (current == null) {
+                    return resolved.snapshot;
+                }
+            } else if (current.isCurrent()) {
+                return current.snapshot;
+            } else if (tables.replace(locale, current, resolved)) {
+                return resolved.snapshot;
+            } else {
+                current = tables.get(locale);
+            }
+        }
+    }
+
+    /**
+     * Gets the values of the provided message class for the given locale if they
+     * have already been resolved by {@link #snapshot(Class, Locale)} or
+     * {@link #prefetch(Collection, Executor)} and no bundle has been invalidated
+     * since.
+     */
+    private static MessageSnapshot findLocalized(Class<?> cls, Locale locale) {
+        final Map<Locale, Localized> tables = LOCALIZED.get(cls);
+        final Localized localized = tables == null ? null : tables.get(locale);
+        return localized != null && localized.isCurrent() ? localized.snapshot : null;
+    }
+
+    /**
+     * Values of a message class which have been resolved for a locale other than
+     * the global one.
+     */
+    private static final class Localized {
+        private final MessageSnapshot snapshot;
+
+        /** The bundle generation from before the bundle has been loaded */
+        private final long generation;
+
+        private Localized(MessageSnapshot snapshot, long generation) {
+            this.snapshot = snapshot;
+            this.generation = generation;
+        }
+
+        /**
+         * Whether no bundle has been invalidated since the values have been
+         * resolved. Values which have been resolved concurrently to a reload
+         * might stem from the old bundles.
+         */
+        private boolean isCurrent() {
+            return this.generation == ExtendedBundle.getGeneration();
+        }
+    }
+
+    /**
+     * Resolves the values of all initialized message classes for each of the
+     * provided locales in the background, using the
+     * {@link ForkJoinPool#commonPool() common pool}. See
+     * {@link #prefetch(Collection, Executor)}.
+     *
+     * @param locales The locales to prefetch.
+     * @return A future which is completed with a report about the prefetching.
+     * @since 0.3.0
+     */
+    public static CompletableFuture<InitReport> prefetch(
+            Collection<Locale> locales) {
+        return prefetch(locales, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Resolves the values of all initialized message classes for each of the
+     * provided locales in the background. The bundles are loaded and the values
+     * are cached exactly like by {@link #snapshot(Class, Locale)}. A later
+     * {@link #setLocale(Locale) locale switch} to any of the prefetched locales
+     * publishes the cached values without loading any bundle, and
+     * {@link #get(Class, String, Locale) per-locale look ups} are served from
+     * memory.
+     *
+     * <p>
+     * Failures do not cancel prefetching of other classes or locales, but are
+     * collected in the returned report. The time reported for a class is the
+     * total time spent for all locales. Classes whose {@link FieldMapper} can
+     * not resolve values without assigning them are reported as failures.
+     * Prefetched values are discarded if the class is
+     * {@link #dispose(Class) disposed} or if any bundle is
+     * {@link #invalidateBundles(Collection) invalidated}, e.g. by a
+     * {@link #reload(Collection) reload}, while or after they are resolved.
+     * </p>
+     *
+     * @param locales The locales to prefetch.
+     * @param executor The executor to run the prefetching on.
+     * @return A future which is completed with a report about the prefetching.
+     * @throws IllegalArgumentException If any parameter is <code>null</code>.
+     * @since 0.3.0
+     */
+    public static CompletableFuture<InitReport> prefetch(
+            Collection<Locale> locales, Executor executor) {
+        if (locales == null) {
+            throw new IllegalArgumentException("locales is null");
+        } else if (locales.contains(null)) {
+            throw new IllegalArgumentException("locales contains null");
+        } else if (executor == null) {
+            throw new IllegalArgumentException("executor is null");
+        }
+
+        final long start = System.nanoTime();
+        final List<Class<?>> classes = new ArrayList<>(initialized);
+        final List<Locale> targets = new ArrayList<>(new LinkedHashSet<>(locales));
+        final Map<Class<?>, Long> times = new ConcurrentHashMap<>();
+        final Map<Class<?>, Throwable> failures = new ConcurrentHashMap<>();
+        final Set<BundleKey> bundles = ConcurrentHashMap.newKeySet();
+
+        final List<CompletableFuture<Void>> tasks = new ArrayList<>();
+        for (final Locale locale : targets) {
+            for (final Class<?> cls : classes) {
+                tasks.add(CompletableFuture.runAsync(() -> {
+                    final long t0 = System.nanoTime();
+                    try {
+                        final ResourceMapping rm = cls.getAnnotation(
+                                ResourceMapping.class);
+                        bundles.add(findBundleKey(cls, rm, locale));
+                        snapshot(cls, locale);
+                        times.merge(cls, System.nanoTime() - t0, Long::sum);
+                    } catch (RuntimeException e) {
+                        failures.put(cls, e);
+                    }
+                }, executor));
+            }
+        }
+        return CompletableFuture.allOf(tasks.toArray(new CompletableFuture<?>[0]))
+                .thenApply(ignore -> {
+                    times.keySet().removeAll(failures.keySet());
+                    return new InitReport(times, failures, bundles.size(),
+                            System.nanoTime() - start);
+                });
+    }
+
+    private static Localized resolveLocalized(Class<?> cls, ResourceMapping rm,
+            Locale locale) {
+        final long generation = ExtendedBundle.getGeneration();
+        final ResourceBundle bundle = findBundleKey(cls, rm, locale).load();
+        return new Localized(prepare(cls, rm, bundle, locale,
+                VERSION.incrementAndGet()).snapshot, generation);
+    }
+
+    /**
+     * Whether the provided mapper overrides
+     * {@link FieldMapper#resolveField(ResourceMapping, Field, ResourceBundle)}.
+     * The default implementation assigns the value to the field.
+     */
+    private static boolean canResolve(FieldMapper mapper) {
         try {
-            final Field f = msg.getField(field);
-            if (!Modifier.isStatic(f.getModifiers())) {
-                throw new IllegalArgumentException(String.format(
-                        "Field '%s' is not static", field));
-            } else if (f.getType() != String.class) {
-                return null;
+            return mapper.getClass().getMethod("resolveField", ResourceMapping.class,
+                    Field.class, ResourceBundle.class).getDeclaringClass()
+                    != FieldMapper.class;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Gets the value of a String field of the provided message class for the
+     * given locale. See {@link #snapshot(Class, Locale)}.
+     *
+     * @param msg The message class.
+     * @param field The name of the field.
+     * @param locale The locale.
+     * @return The value or <code>null</code> if there is no such mapped String
+     *         field.
+     * @since 0.3.0
+     */
+    public static String get(Class<?> msg, String field, Locale locale) {
+        return snapshot(msg, locale).getString(field);
+    }
+
+    /**
+     * Gets the value of a String field of the provided message class for the
+     * locale of the current {@link LocaleProvider}. Use this method to serve
+     * different locales concurrently, e.g. with a
+     * {@link ThreadLocalLocaleProvider}.
+     *
+     * @param msg The message class.
+     * @param field The name of the field.
+     * @return The value or <code>null</code> if there is no such mapped String
+     *         field.
+     * @since 0.3.0
+     * @see #setLocaleProvider(LocaleProvider)
+     */
+    public static String getLocalized(Class<?> msg, String field) {
+        return get(msg, field, localeProvider.getLocale());
+    }
+
+    /**
+     * Collects all information needed to load the {@link ResourceBundle} for the
+     * provided message class.
+     *
+     * @param cls The message class.
+     * @param rm The ResourceMapping annotation of that class.
+     * @param locale The locale for which the bundle should be loaded.
+     * @return The key identifying the bundle.
+     */
+    private static BundleKey findBundleKey(Class<?> cls, ResourceMapping rm,
+            Locale locale) {
+        final String baseName = findBaseName(cls, rm);
+        final Control control = findControl(cls, rm);
+        return new BundleKey(baseName, locale, cls.getClassLoader(), control);
+    }
+
+    /**
+     * Maps all static fields of the provided class which are accepted by its
+     * {@link FieldMapper} to values from the provided bundle and publishes them
+     * as a new {@link MessageSnapshot}.
+     *
+     * @param cls The message class.
+     * @param rm The ResourceMapping annotation of that class.
+     * @param bundle The bundle to take the values from.
+     * @param locale The locale of the bundle.
+     */
+    private static void mapFields(Class<?> cls, ResourceMapping rm,
+            ResourceBundle bundle, Locale locale) {
+        publish(prepare(cls, rm, bundle, locale, VERSION.incrementAndGet()));
+    }
+
+    /**
+     * Resolves the values of all fields of the provided message class without
+     * assigning them.
+     *
+     * @param cls The message class.
+     * @param rm The ResourceMapping annotation of that class.
+     * @param bundle The bundle to take the values from.
+     * @param locale The locale of the bundle.
+     * @param version The version of the resulting snapshot.
+     * @return The prepared values.
+     */
+    private static Preparation prepare(Class<?> cls, ResourceMapping rm,
+            ResourceBundle bundle, Locale locale, long version) {
+        final Map<String, Object> values = new LinkedHashMap<>();
+
+        final Optional<GeneratedMapper> generated = findGeneratedMapper(cls);
+        if (generated.isPresent()) {
+            final GeneratedMapper mapper = generated.get();
+            final Object[] resolved = mapper.resolve(rm, bundle);
+            final String[] names = mapper.getFieldNames();
+            for (int i = 0; i < names.length; ++i) {
+                values.put(names[i], resolved[i]);
+            }
+        } else {
+            final FieldMapper fieldMapper = findFieldMapper(cls, rm);
+            for (final Field field : MappingPlan.of(cls).getFields(fieldMapper)) {
+                values.put(field.getName(), fieldMapper.resolveField(rm, field, bundle));
+            }
+        }
+        return prepare(cls, rm, values, locale, version);
+    }
+
+    /**
+     * Prepares the assignment of already resolved values to the fields of the
+     * provided message class.
+     *
+     * @param cls The message class.
+     * @param rm The ResourceMapping annotation of that class.
+     * @param values The resolved values by field name.
+     * @param locale The locale of the values.
+     * @param version The version of the resulting snapshot.
+     * @return The prepared values.
+     */
+    private static Preparation prepare(Class<?> cls, ResourceMapping rm,
+            Map<String, Object> values, Locale locale, long version) {
+        final Runnable assignment;
+        final Optional<GeneratedMapper> generated = findGeneratedMapper(cls);
+        if (generated.isPresent()) {
+            final GeneratedMapper mapper = generated.get();
+            final String[] names = mapper.getFieldNames();
+            final Object[] resolved = new Object[names.length];
+            for (int i = 0; i < names.length; ++i) {
+                resolved[i] = values.get(names[i]);
             }
-            return (String) f.get(null);
-        } catch (NoSuchFieldException | SecurityException | IllegalArgumentException |
-                IllegalAccessException e) {
-            throw new StringzRuntimeException(e);
+            assignment = () -> mapper.assign(resolved);
+        } else {
+            final List<Field> fields = MappingPlan.of(cls).getFields(
+                    findFieldMapper(cls, rm));
+            assignment = () -> fields.forEach(field -> {
+                try {
+                    field.set(null, values.get(field.getName()));
+                } catch (IllegalAccessException e) {
+                    throw new FieldMapperException(String.format(
+                            "Resource initialization failed. family=%s, field=%s",
+                            rm.value(), field.getName()), e);
+                }
+            });
+        }
+        return new Preparation(new MessageSnapshot(cls, locale, version, values),
+                assignment);
+    }
+
+    /**
+     * Replaces the published values of a message class with the prepared ones
+     * and assigns them to the fields of the class. Nothing happens if values
+     * with a higher version have been published in the meantime.
+     *
+     * <p>
+     * Publishing and assigning is not done atomically, because holding a lock
+     * while assigning the fields might dead lock with a message class which
+     * initializes itself from within its static initializer. Instead, after
+     * assigning its values, a publisher checks whether other values have been
+     * published concurrently and assigns them as well. Thus the fields always
+     * end up with the values of the latest published snapshot.
+     * </p>
+     *
+     * @param preparation The prepared values.
+     */
+    private static void publish(Preparation preparation) {
+        final Class<?> cls = preparation.snapshot.getMessageClass();
+        Preparation current = PUBLISHED.merge(cls, preparation,
+                (old, young) -> old.snapshot.getVersion() > young.snapshot.getVersion()
+                        ? old
+                        : young);
+        if (current != preparation) {
+            // the publisher of the newer values takes care of assigning them
+            return;
+        }
+        Preparation assigned;
+        do {
+            current.assignment.run();
+            assigned = current;
+            current = PUBLISHED.get(cls);
+        } while (current != null && current != assigned);
+    }
+
+    /**
+     * Gets the currently published values of the provided class.
+     *
+     * @param cls The message class.
+     * @return The snapshot or <code>null</code> if the class has not been
+     *         initialized.
+     */
+    private static MessageSnapshot published(Class<?> cls) {
+        final Preparation published = PUBLISHED.get(cls);
+        return published == null ? null : published.snapshot;
+    }
+
+    /** Values of a message class which are ready to be published */
+    private static final class Preparation {
+        private final MessageSnapshot snapshot;
+        private final Runnable assignment;
+
+        private Preparation(MessageSnapshot snapshot, Runnable assignment) {
+            this.snapshot = snapshot;
+            this.assignment = assignment;
         }
     }
 
@@ -675,7 +1676,9 @@ public final class Stringz {
     private static Control findControl(Class<?> cls, ResourceMapping mapping) {
         if (cls.isAnnotationPresent(ResourceControl.class)) {
             final ResourceControl rc = cls.getAnnotation(ResourceControl.class);
-            return strategies.getControl(rc, mapping);
+            final Strategies current = strategies;
+            return MappingPlan.of(cls).getControl(current,
+                    () -> current.getControl(rc, mapping));
         } else {
             return new CharsetBundleControl(mapping.encoding());
         }
@@ -689,4 +1692,40 @@ public final class Stringz {
             return DEFAULT_FIELD_MAPPER;
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Looks up the mapper which has been generated for the provided message
+     * class by the {@link de.skuzzle.stringz.processor.ResourceMappingProcessor}.
+     * Generated mappers are only used for classes which use the default field
+     * mapping.
+     *
+     * @param cls The message class.
+     * @return The generated mapper, if one exists.
+     */
+    private static Optional<GeneratedMapper> findGeneratedMapper(Class<?> cls) {
+        if (cls.isAnnotationPresent(FieldMapping.class)) {
+            return Optional.empty();
+        }
+        final Optional<GeneratedMapper> cached = GENERATED_MAPPERS.get(cls);
+        if (cached != null) {
+            return cached;
+        }
+        return GENERATED_MAPPERS.computeIfAbsent(cls, Stringz::loadGeneratedMapper);
+    }
+
+    private static Optional<GeneratedMapper> loadGeneratedMapper(Class<?> cls) {
+        final String name = cls.getName() + GeneratedMapper.CLASS_SUFFIX;
+        try {
+            final Class<?> mapperClass = Class.forName(name, true, cls.getClassLoader());
+            if (!GeneratedMapper.class.isAssignableFrom(mapperClass)) {
+                return Optional.empty();
+            }
+            return Optional.of((GeneratedMapper) mapperClass.newInstance());
+        } catch (ClassNotFoundException e) {
+            return Optional.empty();
+        } catch (InstantiationException | IllegalAccessException e) {
+            throw new StringzRuntimeException(String.format(
+                    "Could not create generated mapper %s", name), e);
+        }
+    }
+}
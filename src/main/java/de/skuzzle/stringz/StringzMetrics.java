@@ -0,0 +1,94 @@
+package de.skuzzle.stringz;
+
+import java.util.Locale;
+
+/**
+ * Receives measurements about the initialization of message classes and the
+ * loading and look up of bundles. Implementations must be thread safe and should
+ * return quickly, as they are called on the threads which use Stringz. All
+ * methods do nothing by default, so implementations only need to override the
+ * events they are interested in.
+ *
+ * <p>
+ * Metrics are disabled by default and are enabled by
+ * {@link Stringz#setMetrics(StringzMetrics)}. While disabled, no measurements are
+ * taken at all. {@link JmxStringzMetrics} is an implementation which collects
+ * all events into counters that can be read over JMX.
+ * </p>
+ *
+ * @author Simon Taddiken
+ * @since 0.3.0
+ */
+public interface StringzMetrics {
+
+    /** Name of the cache of loaded bundles */
+    public static final String BUNDLE_CACHE = "bundles";
+
+    /** Name of the cache of compiled format Strings */
+    public static final String FORMAT_CACHE = "formats";
+
+    /** Name of the cache of values per message class and locale */
+    public static final String LOCALIZED_CACHE = "localized";
+
+    /**
+     * Called after a message class has been initialized by
+     * {@link Stringz#init(Class, Locale)} or
+     * {@link Stringz#initAll(java.util.Collection, Locale,
+     * java.util.concurrent.ForkJoinPool) initAll}.
+     *
+     * @param cls The message class.
+     * @param locale The locale it has been initialized with.
+     * @param nanos Time spent for the initialization, including loading the
+     *            bundle.
+     */
+    default void classInitialized(Class<?> cls, Locale locale, long nanos) {}
+
+    /**
+     * Called after a bundle and all its includes have been loaded.
+     *
+     * @param baseName The base name of the bundle.
+     * @param locale The requested locale.
+     * @param nanos Time spent for loading, excluding the includes. Includes
+     *            which have not been loaded before report their own time.
+     * @param bytes Size of the bundle file for the requested locale, excluding
+     *            parents and includes, or -1 if it is unknown.
+     */
+    default void bundleLoaded(String baseName, Locale locale, long nanos,
+            long bytes) {}
+
+    /**
+     * Called whenever a key is first resolved within a bundle which does not
+     * define it itself, so that it is taken from an included bundle.
+     *
+     * @param baseName The base name of the including bundle.
+     * @param key The resolved key.
+     */
+    default void includeFallThrough(String baseName, String key) {}
+
+    /**
+     * Called whenever a value containing {@code ${key}} references is expanded.
+     * Expanded values are cached, so this happens once per key and bundle.
+     *
+     * @param baseName The base name of the bundle.
+     * @param key The key of the expanded value.
+     * @param references Number of references within the value.
+     */
+    default void referencesExpanded(String baseName, String key, int references) {}
+
+    /**
+     * Called whenever a key is requested from a bundle which does not exist.
+     *
+     * @param baseName The base name of the bundle.
+     * @param key The missing key.
+     */
+    default void missingResource(String baseName, String key) {}
+
+    /**
+     * Called for each look up in one of Stringz' caches.
+     *
+     * @param cache The name of the cache, one of {@link #BUNDLE_CACHE},
+     *            {@link #FORMAT_CACHE} and {@link #LOCALIZED_CACHE}.
+     * @param hit Whether the value was cached.
+     */
+    default void cacheLookup(String cache, boolean hit) {}
+}
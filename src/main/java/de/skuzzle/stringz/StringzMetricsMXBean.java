@@ -0,0 +1,97 @@
+package de.skuzzle.stringz;
+
+import java.util.Map;
+
+/**
+ * Management interface of the {@link JmxStringzMetrics}. All times are reported
+ * in microseconds.
+ *
+ * @author Simon Taddiken
+ * @since 0.3.0
+ */
+public interface StringzMetricsMXBean {
+
+    /**
+     * Gets the number of message class initializations.
+     *
+     * @return The number of initializations.
+     */
+    public long getInitializedClassCount();
+
+    /**
+     * Gets the total time spent for initializing message classes.
+     *
+     * @return The time in microseconds.
+     */
+    public long getTotalInitTimeMicros();
+
+    /**
+     * Gets the time of the most recent initialization of each message class.
+     *
+     * @return The times in microseconds by class name.
+     */
+    public Map<String, Long> getInitTimesMicros();
+
+    /**
+     * Gets the number of loaded bundles. Bundles which have been taken from the
+     * cache are not counted.
+     *
+     * @return The number of loaded bundles.
+     */
+    public long getBundleLoadCount();
+
+    /**
+     * Gets the total time spent for loading bundles. Each included bundle is
+     * only accounted once.
+     *
+     * @return The time in microseconds.
+     */
+    public long getBundleLoadTimeMicros();
+
+    /**
+     * Gets the total size of all loaded bundle files whose size is known.
+     *
+     * @return The size in bytes.
+     */
+    public long getBundleBytes();
+
+    /**
+     * Gets how often a key has been resolved from an included bundle.
+     *
+     * @return The number of include fall throughs.
+     */
+    public long getIncludeFallThroughCount();
+
+    /**
+     * Gets how often values containing key references have been expanded.
+     *
+     * @return The number of expanded values.
+     */
+    public long getReferenceExpansionCount();
+
+    /**
+     * Gets the total number of key references within all expanded values.
+     *
+     * @return The number of expanded references.
+     */
+    public long getExpandedReferenceCount();
+
+    /**
+     * Gets how often a key which does not exist has been requested.
+     *
+     * @return The number of missing resources.
+     */
+    public long getMissingResourceCount();
+
+    /**
+     * Gets the ratio of hits to look ups for each cache which has been used.
+     *
+     * @return The hit ratios between 0 and 1 by cache name.
+     */
+    public Map<String, Double> getCacheHitRatios();
+
+    /**
+     * Resets all counters.
+     */
+    public void reset();
+}
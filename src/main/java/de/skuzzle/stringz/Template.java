@@ -0,0 +1,135 @@
+package de.skuzzle.stringz;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Immutable representation of a resource value which may contain key references of
+ * the form {@code ${key}}. A value is parsed once into alternating literal and
+ * reference segments so that resolving it does not require to scan the String
+ * again.
+ *
+ * <p>A reference starts with <code>${</code> and ends at the next closing brace.
+ * References with an empty key (<code>${}</code>) are treated as literal text.</p>
+ *
+ * @author Simon Taddiken
+ * @since 0.3.0
+ */
+final class Template {
+
+    private static final String REFERENCE_START = "${";
+    private static final char REFERENCE_END = '}';
+
+    /** Literal segments. Contains one element more than {@link #references}. */
+    private final String[] literals;
+
+    /** Keys of the references between the literal segments. */
+    private final String[] references;
+
+    private final int literalLength;
+
+    private Template(String[] literals, String[] references) {
+        this.literals = literals;
+        this.references = references;
+
+        int length = 0;
+        for (final String literal : literals) {
+            length += literal.length();
+        }
+        this.literalLength = length;
+    }
+
+    /**
+     * Parses the provided String into a Template.
+     *
+     * @param s The String to parse.
+     * @return The parsed template.
+     */
+    public static Template parse(String s) {
+        if (s == null) {
+            throw new IllegalArgumentException("s is null");
+        }
+
+        final List<String> literals = new ArrayList<>();
+        final List<String> references = new ArrayList<>();
+        int literalStart = 0;
+        int searchStart = 0;
+        while (true) {
+            final int start = s.indexOf(REFERENCE_START, searchStart);
+            if (start < 0) {
+                break;
+            }
+            final int keyStart = start + REFERENCE_START.length();
+            final int end = s.indexOf(REFERENCE_END, keyStart);
+            if (end < 0) {
+                // no more closing braces, so there can be no more references
+                break;
+            } else if (end == keyStart) {
+                // empty key is no reference
+                searchStart = start + 1;
+                continue;
+            }
+            literals.add(s.substring(literalStart, start));
+            references.add(s.substring(keyStart, end));
+            literalStart = end + 1;
+            searchStart = literalStart;
+        }
+        literals.add(s.substring(literalStart));
+
+        return new Template(
+                literals.toArray(new String[literals.size()]),
+                references.toArray(new String[references.size()]));
+    }
+
+    /**
+     * Whether this template contains no references and thus always renders to the
+     * String it has been parsed from.
+     *
+     * @return Whether this template is constant.
+     */
+    public boolean isConstant() {
+        return this.references.length == 0;
+    }
+
+    /**
+     * Gets the number of references within this template.
+     *
+     * @return The number of references.
+     */
+    public int getReferenceCount() {
+        return this.references.length;
+    }
+
+    /**
+     * Renders this template by replacing each reference with the value returned
+     * by the provided {@code resolver}.
+     *
+     * @param resolver Function which resolves referenced keys to their values.
+     * @return The rendered String.
+     */
+    public String render(Function<String, Object> resolver) {
+        if (isConstant()) {
+            return this.literals[0];
+        }
+        final StringBuilder b = new StringBuilder(
+                this.literalLength + 16 * this.references.length);
+        for (int i = 0; i < this.references.length; ++i) {
+            b.append(this.literals[i]);
+            b.append(resolver.apply(this.references[i]));
+        }
+        b.append(this.literals[this.literals.length - 1]);
+        return b.toString();
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder b = new StringBuilder();
+        for (int i = 0; i < this.references.length; ++i) {
+            b.append(this.literals[i]);
+            b.append(REFERENCE_START).append(this.references[i]).append(REFERENCE_END);
+        }
+        b.append(this.literals[this.literals.length - 1]);
+        return b.toString();
+    }
+}
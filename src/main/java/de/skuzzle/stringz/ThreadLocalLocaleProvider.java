@@ -0,0 +1,77 @@
+package de.skuzzle.stringz;
+
+import java.util.Locale;
+import java.util.function.Supplier;
+
+/**
+ * {@link LocaleProvider} which holds a separate locale for each thread. If no
+ * locale has been set for the current thread, the
+ * {@link Stringz#getLocale() global locale} is used.
+ *
+ * <pre>
+ * final ThreadLocalLocaleProvider locales = new ThreadLocalLocaleProvider();
+ * Stringz.setLocaleProvider(locales);
+ *
+ * // e.g. in a request filter
+ * locales.setLocale(request.getLocale());
+ * try {
+ *     chain.doFilter(request, response);
+ * } finally {
+ *     locales.clear();
+ * }
+ * </pre>
+ *
+ * @author Simon Taddiken
+ * @since 0.3.0
+ */
+public class ThreadLocalLocaleProvider implements LocaleProvider {
+
+    private final ThreadLocal<Locale> current = new ThreadLocal<>();
+
+    /**
+     * Sets the locale for the current thread.
+     *
+     * @param locale The locale. If <code>null</code>, the locale of the current
+     *            thread is cleared.
+     */
+    public void setLocale(Locale locale) {
+        if (locale == null) {
+            clear();
+        } else {
+            this.current.set(locale);
+        }
+    }
+
+    /**
+     * Removes the locale of the current thread, so that the global locale is
+     * used again.
+     */
+    public void clear() {
+        this.current.remove();
+    }
+
+    /**
+     * Runs the provided action with the given locale set for the current thread
+     * and restores the previous locale of the thread afterwards.
+     *
+     * @param <T> Type of the action's result.
+     * @param locale The locale to use.
+     * @param action The action to run.
+     * @return The result of the action.
+     */
+    public <T> T withLocale(Locale locale, Supplier<T> action) {
+        final Locale previous = this.current.get();
+        setLocale(locale);
+        try {
+            return action.get();
+        } finally {
+            setLocale(previous);
+        }
+    }
+
+    @Override
+    public Locale getLocale() {
+        final Locale locale = this.current.get();
+        return locale == null ? Stringz.getLocale() : locale;
+    }
+}
@@ -0,0 +1,24 @@
+package de.skuzzle.stringz.annotation;
+
+/**
+ * Specifies how Strings which are loaded from a ResourceBundle are deduplicated.
+ *
+ * @author Simon Taddiken
+ * @since 0.3.0
+ * @see ResourceMapping#internMode()
+ */
+public enum InternMode {
+    /** Strings are not deduplicated */
+    NONE,
+
+    /** Strings are deduplicated using {@link String#intern()} */
+    JVM,
+
+    /**
+     * Strings are deduplicated using the {@link de.skuzzle.stringz.Stringz#getStringPool()
+     * string pool} of Stringz, which is shared by all bundle families and locales.
+     * Unlike {@link String#intern()}, it does not put any pressure on the JVM's
+     * string table and it releases Strings which are no longer used.
+     */
+    POOL
+}
@@ -129,9 +129,39 @@ public @interface ResourceMapping {
 
     /**
      * Instructs the Stringz class to {@link String#intern()} all Strings loaded
-     * from the provided ResourceBundle. Defaults to <code>false</code>.
+     * from the provided ResourceBundle. Defaults to <code>false</code>. Setting
+     * this attribute is equivalent to setting {@link #internMode()} to
+     * {@link InternMode#JVM}, unless another mode is specified explicitly.
      *
      * @return Whether to <em>intern</em> Strings from this bundle.
      */
     public boolean intern() default false;
+
+    /**
+     * Specifies how Strings loaded from the provided ResourceBundle are
+     * deduplicated. Defaults to {@link InternMode#NONE}, in which case the
+     * {@link #intern()} attribute decides.
+     *
+     * @return How to deduplicate Strings from this bundle.
+     * @since 0.3.0
+     */
+    public InternMode internMode() default InternMode.NONE;
+
+    /**
+     * Whether values of fields which are annotated with {@link Validate} or
+     * {@link ValidateArray} are validated when the message class is initialized.
+     * Defaults to <code>true</code>.
+     *
+     * <p>
+     * The {@link de.skuzzle.stringz.processor.ResourceMappingProcessor annotation
+     * processor} performs the same validation for all locales of a bundle family
+     * at compile time and reports violations as compilation errors. If your
+     * bundles are available during compilation, you can safely disable the runtime
+     * check to save some work during startup and locale switches.
+     * </p>
+     *
+     * @return Whether to validate resources at runtime.
+     * @since 0.3.0
+     */
+    public boolean runtimeValidation() default true;
 }
@@ -0,0 +1,32 @@
+package de.skuzzle.stringz.lazy;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ResourceBundle;
+
+import de.skuzzle.stringz.DefaultFieldMapper;
+import de.skuzzle.stringz.annotation.NoResource;
+import de.skuzzle.stringz.annotation.ResourceMapping;
+import de.skuzzle.stringz.annotation.Validate;
+
+class LazyFieldMapper extends DefaultFieldMapper {
+
+    @Override
+    public boolean accept(Field field) {
+        final int m = field.getModifiers();
+        return Modifier.isStatic(m) &&
+                !Modifier.isFinal(m) &&
+                Modifier.isPublic(m) &&
+                !field.isAnnotationPresent(NoResource.class) &&
+                field.getType() == LazyString.class;
+    }
+
+    @Override
+    public Object resolveField(ResourceMapping mapping, Field field,
+            ResourceBundle bundle) {
+        final String resourceKey = getResourceKey(field);
+        final Validate validate = getValidate(field);
+        return new LazyString(resourceKey,
+                () -> getValue(mapping, bundle, validate, resourceKey));
+    }
+}
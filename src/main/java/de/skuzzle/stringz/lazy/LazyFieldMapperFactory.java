@@ -0,0 +1,46 @@
+package de.skuzzle.stringz.lazy;
+
+import de.skuzzle.stringz.annotation.ResourceMapping;
+import de.skuzzle.stringz.strategy.FieldMapper;
+import de.skuzzle.stringz.strategy.FieldMapperException;
+import de.skuzzle.stringz.strategy.FieldMapperFactory;
+
+/**
+ * FieldMapperFactory which maps all public static {@link LazyString} fields of a
+ * message class to handles that resolve their values on first access. Use it
+ * for message classes with many fields of which only a few are used:
+ *
+ * <pre>
+ * &#064;ResourceMapping
+ * &#064;FieldMapping(LazyFieldMapperFactory.class)
+ * public class MSG {
+ *     static {
+ *         Stringz.init(MSG.class);
+ *     }
+ *
+ *     public static LazyString greeting;
+ * }
+ * </pre>
+ *
+ * <p>
+ * Only fields of type {@code LazyString} are mapped. Fields of any other type,
+ * including {@code String} and {@code String[]}, are left unmapped. String
+ * arrays can not be resolved lazily, use a separate message class for them.
+ * </p>
+ *
+ * @author Simon Taddiken
+ * @since 0.3.0
+ */
+public class LazyFieldMapperFactory implements FieldMapperFactory {
+
+    @Override
+    public FieldMapper create(ResourceMapping mapping, String[] args)
+            throws FieldMapperException {
+
+        if (args.length != 0) {
+            throw new FieldMapperException("No arguments expected");
+        }
+
+        return new LazyFieldMapper();
+    }
+}
@@ -0,0 +1,92 @@
+package de.skuzzle.stringz.lazy;
+
+import java.util.function.Supplier;
+
+import de.skuzzle.stringz.Stringz;
+
+/**
+ * Handle to a resource value which is resolved on first access. Message classes
+ * with many fields of which only few are used per process can declare their
+ * fields as {@code LazyString} and use the {@link LazyFieldMapperFactory}, so
+ * that initializing the class only creates a handle for each field. Looking up,
+ * validating and deduplicating the value is deferred until {@link #get()} is
+ * first called. The value is then cached within the handle.
+ *
+ * <p>
+ * As values are resolved lazily, missing resources and validation errors are
+ * not reported during {@link Stringz#init(Class) init} but by {@link #get()}.
+ * Failed resolutions are not cached, so each access reports the error again.
+ * </p>
+ *
+ * @author Simon Taddiken
+ * @since 0.3.0
+ */
+public final class LazyString {
+
+    private final String key;
+
+    /** Resolves the value, <code>null</code> once it has been resolved */
+    private volatile Supplier<String> resolver;
+    private volatile String value;
+
+    LazyString(String key, Supplier<String> resolver) {
+        this.key = key;
+        this.resolver = resolver;
+    }
+
+    /**
+     * Gets the key of the resource which is referenced by this handle.
+     *
+     * @return The resource key.
+     */
+    public String getKey() {
+        return this.key;
+    }
+
+    /**
+     * Whether the value has already been resolved.
+     *
+     * @return Whether the value has been resolved.
+     */
+    public boolean isResolved() {
+        return this.value != null;
+    }
+
+    /**
+     * Gets the value, resolving it if this is the first access.
+     *
+     * @return The resource value.
+     * @throws java.util.MissingResourceException If the resource does not exist.
+     * @throws de.skuzzle.stringz.FormatValidationException If validation is
+     *             enabled for the field and failed.
+     */
+    public String get() {
+        final String v = this.value;
+        if (v != null) {
+            return v;
+        }
+        synchronized (this) {
+            if (this.value == null) {
+                this.value = this.resolver.get();
+                this.resolver = null;
+            }
+            return this.value;
+        }
+    }
+
+    /**
+     * Formats the value with the provided arguments using
+     * {@link Stringz#format(String, Object...)}.
+     *
+     * @param args The format arguments.
+     * @return The formatted String.
+     */
+    public String s(Object... args) {
+        return Stringz.format(get(), args);
+    }
+
+    @Override
+    public String toString() {
+        return get();
+    }
+}
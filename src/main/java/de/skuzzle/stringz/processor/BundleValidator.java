@@ -0,0 +1,295 @@
+package de.skuzzle.stringz.processor;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.net.MalformedURLException;
+import java.net.URI;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.MissingResourceException;
+import java.util.ResourceBundle;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic.Kind;
+import javax.tools.FileObject;
+import javax.tools.JavaFileManager.Location;
+import javax.tools.StandardLocation;
+
+import de.skuzzle.stringz.CharsetBundleControl;
+import de.skuzzle.stringz.FormatStringValidator;
+import de.skuzzle.stringz.FormatValidationException;
+import de.skuzzle.stringz.MappingSupport;
+import de.skuzzle.stringz.annotation.FamilyLocator;
+import de.skuzzle.stringz.annotation.ResourceControl;
+import de.skuzzle.stringz.annotation.ResourceMapping;
+import de.skuzzle.stringz.strategy.FieldMapperException;
+
+/**
+ * Validates the resources of fields annotated with {@code Validate} or
+ * {@code ValidateArray} at compile time. All locales of the bundle family which
+ * can be found next to the compiled classes or within the source path are
+ * loaded just like {@link de.skuzzle.stringz.Stringz Stringz} would load them at
+ * runtime, including {@code @include} directives and key references. Every
+ * violation is reported as compilation error on the respective field.
+ *
+ * <p>
+ * Bundles which are located by a custom {@link FamilyLocator} or loaded by a
+ * custom {@link ResourceControl} can not be found at compile time and are thus
+ * not validated.
+ * </p>
+ *
+ * @author Simon Taddiken
+ * @since 0.3.0
+ */
+final class BundleValidator {
+
+    private static final String SUFFIX = ".properties";
+
+    /** Matches the locale suffix of a bundle's file name */
+    private static final Pattern LOCALE_SUFFIX = Pattern.compile(
+            "(?:_([a-z]{2,3})?(?:_([A-Z]{2}|\\d{3})?(?:_(\\w+))?)?)?");
+
+    private static final Location[] LOCATIONS = {
+            StandardLocation.CLASS_OUTPUT,
+            StandardLocation.SOURCE_PATH
+    };
+
+    private static final String BUNDLE_FAMILY_FIELD = "BUNDLE_FAMILY";
+
+    private final ProcessingEnvironment env;
+    private final FormatStringValidator validator = new FormatStringValidator();
+
+    BundleValidator(ProcessingEnvironment env) {
+        this.env = env;
+    }
+
+    /**
+     * Validates the resources of all provided fields which are subject to
+     * validation.
+     *
+     * @param type The message class.
+     * @param fields The mapped fields of that class.
+     */
+    void validate(TypeElement type, List<MappedField> fields) {
+        if (fields.stream().noneMatch(MappedField::isValidated)) {
+            return;
+        } else if (ResourceMappingProcessor.hasAnnotation(type,
+                    FamilyLocator.class.getName())
+                || ResourceMappingProcessor.hasAnnotation(type,
+                    ResourceControl.class.getName())) {
+            note(type, "Bundle of %s can not be located at compile time, "
+                    + "skipping validation", type.getQualifiedName());
+            return;
+        }
+
+        final ResourceMapping mapping = type.getAnnotation(ResourceMapping.class);
+        final String baseName = findBaseName(type, mapping);
+        final List<Path> roots = findRoots(baseName);
+        if (roots.isEmpty()) {
+            note(type, "Bundle %s not found, skipping validation of %s", baseName,
+                    type.getQualifiedName());
+            return;
+        }
+
+        final URL[] urls = new URL[roots.size()];
+        try {
+            for (int i = 0; i < urls.length; ++i) {
+                urls[i] = roots.get(i).toUri().toURL();
+            }
+        } catch (MalformedURLException e) {
+            note(type, "Could not read bundle %s: %s", baseName, e.getMessage());
+            return;
+        }
+
+        final ResourceBundle.Control control = new CharsetBundleControl(
+                mapping.encoding()) {
+            @Override
+            public Locale getFallbackLocale(String baseName, Locale locale) {
+                // validate exactly the requested locale
+                return null;
+            }
+        };
+
+        try (URLClassLoader loader = new URLClassLoader(urls, null)) {
+            for (final Locale locale : findLocales(roots, baseName)) {
+                final ResourceBundle bundle;
+                try {
+                    bundle = MappingSupport.loadBundle(baseName, locale, loader,
+                            control);
+                } catch (MissingResourceException e) {
+                    note(type, "Could not load bundle %s for locale '%s': %s",
+                            baseName, locale, e.getMessage());
+                    continue;
+                }
+
+                for (final MappedField field : fields) {
+                    if (field.isValidated()) {
+                        validate(field, bundle, baseName, locale);
+                    }
+                }
+            }
+            ResourceBundle.clearCache(loader);
+        } catch (IOException e) {
+            note(type, "Could not read bundle %s: %s", baseName, e.getMessage());
+        }
+    }
+
+    private void validate(MappedField field, ResourceBundle bundle, String baseName,
+            Locale locale) {
+        try {
+            field.validate(bundle, this.validator);
+        } catch (FormatValidationException | FieldMapperException e) {
+            this.env.getMessager().printMessage(Kind.ERROR, String.format(
+                    "Invalid resource for field %s in bundle %s, locale '%s': %s",
+                    field.getName(), baseName, locale, e.getMessage()),
+                    field.getElement());
+        } catch (MissingResourceException e) {
+            // e.g. references to keys of bundles which are not available
+            note(field.getElement(), "Could not validate field %s in bundle %s, "
+                    + "locale '%s': %s",
+                    field.getName(), baseName, locale, e.getMessage());
+        }
+    }
+
+    /**
+     * Mirrors the base name resolution of the
+     * {@link de.skuzzle.stringz.DefaultBundleFamilyLocator
+     * DefaultBundleFamilyLocator}.
+     */
+    private String findBaseName(TypeElement type, ResourceMapping mapping) {
+        if (!mapping.value().isEmpty()) {
+            return mapping.value();
+        }
+
+        TypeElement current = type;
+        while (current != null) {
+            for (final VariableElement field : ElementFilter.fieldsIn(
+                    current.getEnclosedElements())) {
+                if (field.getSimpleName().contentEquals(BUNDLE_FAMILY_FIELD)
+                        && field.getModifiers().contains(Modifier.PUBLIC)
+                        && field.getModifiers().contains(Modifier.STATIC)
+                        && field.getConstantValue() instanceof String) {
+                    return (String) field.getConstantValue();
+                }
+            }
+            current = superclass(current);
+        }
+
+        final String pkg = this.env.getElementUtils().getPackageOf(type)
+                .getQualifiedName().toString();
+        return pkg.isEmpty()
+                ? type.getSimpleName().toString()
+                : pkg + "." + type.getSimpleName();
+    }
+
+    private static TypeElement superclass(TypeElement type) {
+        final TypeMirror superType = type.getSuperclass();
+        if (superType.getKind() != TypeKind.DECLARED) {
+            return null;
+        }
+        return (TypeElement) ((DeclaredType) superType).asElement();
+    }
+
+    /**
+     * Finds the class path roots which contain the package of the provided
+     * bundle.
+     */
+    private List<Path> findRoots(String baseName) {
+        final int dot = baseName.lastIndexOf('.');
+        final String pkg = dot < 0 ? "" : baseName.substring(0, dot);
+        final String simpleName = baseName.substring(dot + 1);
+        final int depth = pkg.isEmpty() ? 0 : pkg.split("\\.").length;
+
+        final List<Path> roots = new ArrayList<>();
+        for (final Location location : LOCATIONS) {
+            final URI uri;
+            try {
+                final FileObject file = this.env.getFiler().getResource(location,
+                        pkg, simpleName + SUFFIX);
+                uri = file.toUri();
+            } catch (FileNotFoundException e) {
+                continue;
+            } catch (IOException | IllegalArgumentException e) {
+                // location not supported by this compiler
+                continue;
+            }
+            if (!"file".equals(uri.getScheme())) {
+                continue;
+            }
+
+            Path root = Paths.get(uri).getParent();
+            if (root == null || !Files.isDirectory(root)) {
+                continue;
+            }
+            for (int i = 0; i < depth; ++i) {
+                root = root.getParent();
+            }
+            if (!roots.contains(root)) {
+                roots.add(root);
+            }
+        }
+        return roots;
+    }
+
+    /**
+     * Lists all locales for which a properties file of the provided bundle
+     * family exists.
+     */
+    private Set<Locale> findLocales(List<Path> roots, String baseName)
+            throws IOException {
+        final String path = baseName.replace('.', '/');
+        final int slash = path.lastIndexOf('/');
+        final String simpleName = path.substring(slash + 1);
+
+        final Set<Locale> locales = new LinkedHashSet<>();
+        for (final Path root : roots) {
+            final Path directory = slash < 0
+                    ? root
+                    : root.resolve(path.substring(0, slash));
+            try (Stream<Path> files = Files.list(directory)) {
+                files.map(file -> file.getFileName().toString())
+                        .filter(name -> name.startsWith(simpleName)
+                                && name.endsWith(SUFFIX))
+                        .map(name -> name.substring(simpleName.length(),
+                                name.length() - SUFFIX.length()))
+                        .map(LOCALE_SUFFIX::matcher)
+                        .filter(Matcher::matches)
+                        .map(m -> new Locale(
+                                nonNull(m.group(1)),
+                                nonNull(m.group(2)),
+                                nonNull(m.group(3))))
+                        .forEach(locales::add);
+            }
+        }
+        return locales;
+    }
+
+    private static String nonNull(String s) {
+        return s == null ? "" : s;
+    }
+
+    private void note(Element element, String format,
+            Object... args) {
+        this.env.getMessager().printMessage(Kind.NOTE, String.format(format, args),
+                element);
+    }
+}
@@ -0,0 +1,93 @@
+package de.skuzzle.stringz.processor;
+
+/**
+ * Creates Java source code literals for generated code.
+ *
+ * @author Simon Taddiken
+ * @since 0.3.0
+ */
+final class Literals {
+
+    private Literals() {}
+
+    /**
+     * Creates a String literal, escaping all characters which can not appear
+     * literally within a Java String.
+     *
+     * @param s The String. May be <code>null</code>.
+     * @return The literal.
+     */
+    static String string(String s) {
+        if (s == null) {
+            return "null";
+        }
+        final StringBuilder b = new StringBuilder(s.length() + 2);
+        b.append('"');
+        for (int i = 0; i < s.length(); ++i) {
+            final char c = s.charAt(i);
+            switch (c) {
+            case '"':
+                b.append("\\\"");
+                break;
+            case '\\':
+                b.append("\\\\");
+                break;
+            case '\n':
+                b.append("\\n");
+                break;
+            case '\r':
+                b.append("\\r");
+                break;
+            case '\t':
+                b.append("\\t");
+                break;
+            default:
+                if (c < 0x20 || c > 0x7E) {
+                    b.append(String.format("\\u%04x", (int) c));
+                } else {
+                    b.append(c);
+                }
+            }
+        }
+        b.append('"');
+        return b.toString();
+    }
+
+    /**
+     * Creates an array creation expression for a String array.
+     *
+     * @param array The array. May be <code>null</code>.
+     * @return The expression.
+     */
+    static String array(String[] array) {
+        if (array == null) {
+            return "null";
+        }
+        final StringBuilder b = new StringBuilder("new String[] {");
+        for (int i = 0; i < array.length; ++i) {
+            b.append(i == 0 ? " " : ", ");
+            b.append(string(array[i]));
+        }
+        b.append(" }");
+        return b.toString();
+    }
+
+    /**
+     * Creates an array creation expression for a two dimensional String array.
+     *
+     * @param array The array. May be <code>null</code>.
+     * @return The expression.
+     */
+    static String array(String[][] array) {
+        if (array == null) {
+            return "null";
+        }
+        final StringBuilder b = new StringBuilder("new String[][] {");
+        for (int i = 0; i < array.length; ++i) {
+            b.append(i == 0 ? " " : ", ");
+            b.append(array(array[i]).substring("new String[] ".length()));
+        }
+        b.append(" }");
+        return b.toString();
+    }
+}
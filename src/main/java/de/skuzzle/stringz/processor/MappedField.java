@@ -0,0 +1,157 @@
+package de.skuzzle.stringz.processor;
+
+import java.util.ResourceBundle;
+
+import javax.lang.model.element.VariableElement;
+
+import de.skuzzle.stringz.FormatStringValidator;
+import de.skuzzle.stringz.MappingSupport;
+import de.skuzzle.stringz.strategy.FieldMapperException;
+
+/**
+ * Information about a single field of a message class which is mapped according
+ * to the rules of the {@link de.skuzzle.stringz.DefaultFieldMapper
+ * DefaultFieldMapper}.
+ *
+ * @author Simon Taddiken
+ * @since 0.3.0
+ */
+final class MappedField {
+
+    private static final String SUPPORT = MappingSupport.class.getName();
+
+    private enum Type {
+        STRING, SPLIT, COLLECTION
+    }
+
+    private final Type type;
+    private final VariableElement element;
+    private final String[] keys;
+    private final String delimiter;
+    private final String[] conversions;
+    private final String[][] arrayConversions;
+
+    private MappedField(Type type, VariableElement element, String[] keys,
+            String delimiter, String[] conversions, String[][] arrayConversions) {
+        this.type = type;
+        this.element = element;
+        this.keys = keys;
+        this.delimiter = delimiter;
+        this.conversions = conversions;
+        this.arrayConversions = arrayConversions;
+    }
+
+    static MappedField string(VariableElement element, String key,
+            String[] conversions) {
+        return new MappedField(Type.STRING, element, new String[] { key }, null,
+                conversions, null);
+    }
+
+    static MappedField split(VariableElement element, String key, String delimiter,
+            String[][] conversions) {
+        return new MappedField(Type.SPLIT, element, new String[] { key }, delimiter,
+                null, conversions);
+    }
+
+    static MappedField collection(VariableElement element, String[] keys,
+            String[][] conversions) {
+        return new MappedField(Type.COLLECTION, element, keys, null, null,
+                conversions);
+    }
+
+    VariableElement getElement() {
+        return this.element;
+    }
+
+    String getName() {
+        return this.element.getSimpleName().toString();
+    }
+
+    String type() {
+        return this.type == Type.STRING ? "String" : "String[]";
+    }
+
+    /**
+     * Whether this field is annotated with {@code Validate} or
+     * {@code ValidateArray}.
+     *
+     * @return Whether the resource values of this field should be validated.
+     */
+    boolean isValidated() {
+        return this.conversions != null || this.arrayConversions != null;
+    }
+
+    /**
+     * Validates the resource value(s) of this field from the provided bundle.
+     * Resources which are missing from the bundle are ignored.
+     *
+     * @param bundle The bundle to take the values from.
+     * @param validator The validator.
+     * @throws de.skuzzle.stringz.FormatValidationException If validation failed.
+     * @throws FieldMapperException If the number of
+     *             validators does not match the number of values.
+     */
+    void validate(ResourceBundle bundle, FormatStringValidator validator) {
+        switch (this.type) {
+        case STRING:
+            if (this.conversions != null && bundle.containsKey(this.keys[0])) {
+                validator.parseFormatString(bundle.getString(this.keys[0]),
+                        this.conversions);
+            }
+            break;
+        case SPLIT:
+            if (this.arrayConversions != null && bundle.containsKey(this.keys[0])) {
+                MappingSupport.split(bundle.getString(this.keys[0]),
+                        this.delimiter == null
+                                ? MappingSupport.DEFAULT_DELIMITER
+                                : this.delimiter,
+                        this.arrayConversions);
+            }
+            break;
+        case COLLECTION:
+            if (this.arrayConversions != null) {
+                if (this.arrayConversions.length != this.keys.length) {
+                    throw new FieldMapperException(String.format(
+                            "@ResourceCollection contains %d values, but %d validators",
+                            this.keys.length, this.arrayConversions.length));
+                }
+                for (int i = 0; i < this.keys.length; ++i) {
+                    if (bundle.containsKey(this.keys[i])) {
+                        validator.parseFormatString(bundle.getString(this.keys[i]),
+                                this.arrayConversions[i]);
+                    }
+                }
+            }
+            break;
+        default:
+            throw new IllegalStateException();
+        }
+    }
+
+    /**
+     * Creates the expression which resolves the value of this field within the
+     * generated mapper.
+     *
+     * @return The Java expression.
+     */
+    String resolveExpression() {
+        switch (this.type) {
+        case STRING:
+            return String.format("%s.value(mapping, bundle, %s, %s)", SUPPORT,
+                    Literals.string(this.keys[0]),
+                    Literals.array(this.conversions));
+        case SPLIT:
+            return String.format("%s.split(mapping, bundle, %s, %s, %s)", SUPPORT,
+                    Literals.string(this.keys[0]),
+                    Literals.string(this.delimiter),
+                    Literals.array(this.arrayConversions));
+        case COLLECTION:
+            return String.format("%s.collection(mapping, bundle, %s, %s)",
+                    SUPPORT,
+                    Literals.array(this.keys),
+                    Literals.array(this.arrayConversions));
+        default:
+            throw new IllegalStateException();
+        }
+    }
+}
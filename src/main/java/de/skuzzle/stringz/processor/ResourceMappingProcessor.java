@@ -0,0 +1,378 @@
+package de.skuzzle.stringz.processor;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic.Kind;
+
+import de.skuzzle.stringz.GeneratedMapper;
+import de.skuzzle.stringz.annotation.Delimiter;
+import de.skuzzle.stringz.annotation.FieldMapping;
+import de.skuzzle.stringz.annotation.NoResource;
+import de.skuzzle.stringz.annotation.ResourceCollection;
+import de.skuzzle.stringz.annotation.ResourceKey;
+import de.skuzzle.stringz.annotation.ResourceMapping;
+import de.skuzzle.stringz.annotation.Validate;
+import de.skuzzle.stringz.annotation.ValidateArray;
+
+/**
+ * Annotation processor which generates a {@link GeneratedMapper} for each class
+ * annotated with {@link ResourceMapping}. The generated mapper implements the
+ * same mapping rules as the {@link de.skuzzle.stringz.DefaultFieldMapper
+ * DefaultFieldMapper}, but uses direct static assignments and precomputed keys
+ * instead of reflection.
+ *
+ * <p>
+ * The processor is registered as a service, so it runs automatically whenever
+ * stringz is on the compile class path. Mappers are only generated for message
+ * classes which use the default field mapping (that is, classes without a
+ * {@link FieldMapping} annotation) and which are accessible from within their
+ * package.
+ * </p>
+ *
+ * <p>
+ * Additionally, the processor validates the resources of all fields annotated
+ * with {@link Validate} or {@link ValidateArray} against every locale of the
+ * bundle family which is available during compilation. Violations are reported
+ * as compilation errors. See {@link ResourceMapping#runtimeValidation()} to skip
+ * the same check at runtime.
+ * </p>
+ *
+ * @author Simon Taddiken
+ * @since 0.3.0
+ */
+@SupportedAnnotationTypes("de.skuzzle.stringz.annotation.ResourceMapping")
+public class ResourceMappingProcessor extends AbstractProcessor {
+
+    /**
+     * Maximum number of fields for which a mapper is generated. Larger classes
+     * would exceed the limits of a single class file.
+     */
+    static final int MAX_FIELDS = 10000;
+
+    /** Number of fields which are handled within a single generated method */
+    private static final int CHUNK_SIZE = 200;
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations,
+            RoundEnvironment roundEnv) {
+        for (final Element element : roundEnv.getElementsAnnotatedWith(
+                ResourceMapping.class)) {
+            if (element.getKind() != ElementKind.CLASS) {
+                continue;
+            }
+            final TypeElement type = (TypeElement) element;
+            final List<MappedField> fields = collectFields(type);
+            new BundleValidator(this.processingEnv).validate(type, fields);
+
+            if (!isSupported(type)) {
+                continue;
+            } else if (fields.size() > MAX_FIELDS) {
+                this.processingEnv.getMessager().printMessage(Kind.NOTE,
+                        String.format("%s has more than %d mapped fields. "
+                                + "Reflection will be used to initialize it",
+                                type.getQualifiedName(), MAX_FIELDS), type);
+                continue;
+            }
+
+            try {
+                generate(type, fields);
+            } catch (IOException e) {
+                this.processingEnv.getMessager().printMessage(Kind.ERROR,
+                        String.format("Could not generate mapper: %s", e.getMessage()),
+                        type);
+            }
+        }
+        // do not claim the annotation
+        return false;
+    }
+
+    private boolean isSupported(TypeElement type) {
+        if (hasAnnotation(type, FieldMapping.class.getName())) {
+            // custom field mapping
+            return false;
+        }
+        Element current = type;
+        while (current.getKind() == ElementKind.CLASS
+                || current.getKind() == ElementKind.INTERFACE) {
+            final TypeElement currentType = (TypeElement) current;
+            if (currentType.getModifiers().contains(Modifier.PRIVATE)) {
+                return false;
+            } else if (currentType.getNestingKind() != NestingKind.TOP_LEVEL
+                    && currentType.getNestingKind() != NestingKind.MEMBER) {
+                return false;
+            }
+            current = current.getEnclosingElement();
+        }
+        return true;
+    }
+
+    /**
+     * Whether a class other than a previously generated mapper exists with the
+     * provided binary name. The name is looked up as a top level class, which
+     * is what is generated, and as a nested class.
+     */
+    private boolean isTaken(String binaryName) {
+        final Elements elements = this.processingEnv.getElementUtils();
+        final Types types = this.processingEnv.getTypeUtils();
+        final TypeMirror generatedMapper = elements.getTypeElement(
+                GeneratedMapper.class.getName()).asType();
+        for (final String name : Arrays.asList(binaryName,
+                binaryName.replace('$', '.'))) {
+            final TypeElement existing = elements.getTypeElement(name);
+            if (existing != null && (existing.getNestingKind() != NestingKind.TOP_LEVEL
+                    || !types.isAssignable(existing.asType(), generatedMapper))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    static boolean hasAnnotation(Element element, String annotationName) {
+        for (final AnnotationMirror mirror : element.getAnnotationMirrors()) {
+            final TypeElement annotationType = (TypeElement) mirror
+                    .getAnnotationType().asElement();
+            if (annotationType.getQualifiedName().contentEquals(annotationName)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Collects the fields which the {@link de.skuzzle.stringz.DefaultFieldMapper
+     * DefaultFieldMapper} would accept, including public fields inherited from
+     * super classes.
+     *
+     * @param type The message class.
+     * @return The fields to map.
+     */
+    private List<MappedField> collectFields(TypeElement type) {
+        final List<MappedField> result = new ArrayList<>();
+        final Set<String> seen = new HashSet<>();
+        TypeElement current = type;
+        while (current != null) {
+            for (final VariableElement field : ElementFilter.fieldsIn(
+                    current.getEnclosedElements())) {
+                final String name = field.getSimpleName().toString();
+                if (!seen.add(name)) {
+                    // hidden by a field of a subclass
+                    continue;
+                }
+                final MappedField mapped = toMappedField(field);
+                if (mapped != null) {
+                    result.add(mapped);
+                }
+            }
+            current = superclass(current);
+        }
+        return result;
+    }
+
+    private TypeElement superclass(TypeElement type) {
+        final TypeMirror superType = type.getSuperclass();
+        if (superType.getKind() != TypeKind.DECLARED) {
+            return null;
+        }
+        final TypeElement superElement = (TypeElement) ((DeclaredType) superType)
+                .asElement();
+        if (superElement.getQualifiedName().contentEquals(Object.class.getName())) {
+            return null;
+        }
+        return superElement;
+    }
+
+    private MappedField toMappedField(VariableElement field) {
+        final Set<Modifier> modifiers = field.getModifiers();
+        if (!modifiers.contains(Modifier.PUBLIC)
+                || !modifiers.contains(Modifier.STATIC)
+                || modifiers.contains(Modifier.FINAL)
+                || field.getAnnotation(NoResource.class) != null) {
+            return null;
+        }
+
+        final String name = field.getSimpleName().toString();
+        final ResourceKey resourceKey = field.getAnnotation(ResourceKey.class);
+        final String key = resourceKey == null ? name : resourceKey.value();
+        final TypeMirror type = field.asType();
+
+        if (isString(type)) {
+            final Validate validate = field.getAnnotation(Validate.class);
+            return MappedField.string(field, key,
+                    validate == null ? null : validate.value());
+        } else if (type.getKind() == TypeKind.ARRAY) {
+            final TypeMirror component = ((javax.lang.model.type.ArrayType) type)
+                    .getComponentType();
+            if (!isString(component)) {
+                return null;
+            }
+
+            final ValidateArray validateArray = field.getAnnotation(
+                    ValidateArray.class);
+            String[][] conversions = null;
+            if (validateArray != null) {
+                conversions = new String[validateArray.value().length][];
+                for (int i = 0; i < conversions.length; ++i) {
+                    conversions[i] = validateArray.value()[i].value();
+                }
+            }
+
+            final ResourceCollection collection = field.getAnnotation(
+                    ResourceCollection.class);
+            if (collection != null) {
+                return MappedField.collection(field, collection.value(), conversions);
+            }
+            final Delimiter delimiter = field.getAnnotation(Delimiter.class);
+            return MappedField.split(field, key,
+                    delimiter == null ? null : delimiter.value(), conversions);
+        }
+        return null;
+    }
+
+    private boolean isString(TypeMirror type) {
+        return type.getKind() == TypeKind.DECLARED
+                && ((TypeElement) ((DeclaredType) type).asElement())
+                        .getQualifiedName().contentEquals(String.class.getName());
+    }
+
+    private void generate(TypeElement type, List<MappedField> fields)
+            throws IOException {
+        final PackageElement pkg = this.processingEnv.getElementUtils()
+                .getPackageOf(type);
+        final String binaryName = this.processingEnv.getElementUtils()
+                .getBinaryName(type).toString();
+        final String packageName = pkg.isUnnamed()
+                ? ""
+                : pkg.getQualifiedName().toString();
+        final String simpleBinaryName = packageName.isEmpty()
+                ? binaryName
+                : binaryName.substring(packageName.length() + 1);
+        // the binary name is kept, so that mapper names can not collide
+        final String mapperName = simpleBinaryName + GeneratedMapper.CLASS_SUFFIX;
+        final String qualifiedMapperName = packageName.isEmpty()
+                ? mapperName
+                : packageName + "." + mapperName;
+        if (isTaken(qualifiedMapperName)) {
+            this.processingEnv.getMessager().printMessage(Kind.ERROR,
+                    String.format("Could not generate mapper: %s clashes with "
+                            + "an existing class", qualifiedMapperName), type);
+            return;
+        }
+        final String target = type.getQualifiedName().toString();
+        final int chunks = (fields.size() + CHUNK_SIZE - 1) / CHUNK_SIZE;
+
+        try (Writer writer = this.processingEnv.getFiler()
+                .createSourceFile(qualifiedMapperName, type).openWriter();
+                PrintWriter w = new PrintWriter(writer)) {
+
+            if (!packageName.isEmpty()) {
+                w.printf("package %s;%n%n", packageName);
+            }
+            w.printf("/**%n");
+            w.printf(" * Maps the fields of {@link %s}.%n", target);
+            w.printf(" * Generated by %s. Do not edit.%n", getClass().getName());
+            w.printf(" */%n");
+            w.printf("public final class %s implements %s {%n%n", mapperName,
+                    GeneratedMapper.class.getName());
+            w.printf("    private static final int FIELD_COUNT = %d;%n%n",
+                    fields.size());
+            w.printf("    private static final String[] FIELD_NAMES = fieldNames();%n%n");
+
+            w.printf("    private static String[] fieldNames() {%n");
+            w.printf("        final String[] names = new String[FIELD_COUNT];%n");
+            for (int chunk = 0; chunk < chunks; ++chunk) {
+                w.printf("        names%d(names);%n", chunk);
+            }
+            w.printf("        return names;%n");
+            w.printf("    }%n%n");
+
+            w.printf("    @Override%n");
+            w.printf("    public String[] getFieldNames() {%n");
+            w.printf("        return FIELD_NAMES.clone();%n");
+            w.printf("    }%n%n");
+
+            w.printf("    @Override%n");
+            w.printf("    public Object[] resolve(%s mapping, java.util.ResourceBundle bundle) {%n",
+                    ResourceMapping.class.getName());
+            w.printf("        final Object[] values = new Object[FIELD_COUNT];%n");
+            for (int chunk = 0; chunk < chunks; ++chunk) {
+                w.printf("        resolve%d(mapping, bundle, values);%n", chunk);
+            }
+            w.printf("        return values;%n");
+            w.printf("    }%n%n");
+
+            w.printf("    @Override%n");
+            w.printf("    public void assign(Object[] values) {%n");
+            for (int chunk = 0; chunk < chunks; ++chunk) {
+                w.printf("        assign%d(values);%n", chunk);
+            }
+            w.printf("    }%n%n");
+
+            w.printf("    @Override%n");
+            w.printf("    public void dispose() {%n");
+            w.printf("        assign(new Object[FIELD_COUNT]);%n");
+            w.printf("    }%n");
+
+            for (int chunk = 0; chunk < chunks; ++chunk) {
+                final int start = chunk * CHUNK_SIZE;
+                final int end = Math.min(fields.size(), start + CHUNK_SIZE);
+
+                w.printf("%n    private static void resolve%d(%s mapping, "
+                        + "java.util.ResourceBundle bundle, Object[] values) {%n",
+                        chunk, ResourceMapping.class.getName());
+                for (int i = start; i < end; ++i) {
+                    w.printf("        values[%d] = %s;%n", i,
+                            fields.get(i).resolveExpression());
+                }
+                w.printf("    }%n");
+
+                w.printf("%n    private static void names%d(String[] names) {%n",
+                        chunk);
+                for (int i = start; i < end; ++i) {
+                    w.printf("        names[%d] = %s;%n", i,
+                            Literals.string(fields.get(i).getName()));
+                }
+                w.printf("    }%n");
+
+                w.printf("%n    private static void assign%d(Object[] values) {%n",
+                        chunk);
+                for (int i = start; i < end; ++i) {
+                    final MappedField field = fields.get(i);
+                    w.printf("        %s.%s = (%s) values[%d];%n", target,
+                            field.getName(), field.type(), i);
+                }
+                w.printf("    }%n");
+            }
+            w.printf("}%n");
+        }
+    }
+}
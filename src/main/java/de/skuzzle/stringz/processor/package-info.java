@@ -0,0 +1,11 @@
+/**
+ * Contains the annotation processor which generates
+ * {@link de.skuzzle.stringz.GeneratedMapper GeneratedMappers} for message classes at
+ * compile time. The processor is registered as a service and is thus picked up
+ * automatically by {@code javac} as long as stringz is on the class path. Generated
+ * mappers are found and used by {@link de.skuzzle.stringz.Stringz Stringz} without
+ * further configuration.
+ *
+ * <p>To disable the generation, pass {@code -proc:none} to the compiler.</p>
+ */
+package de.skuzzle.stringz.processor;
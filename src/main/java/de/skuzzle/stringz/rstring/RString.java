@@ -1,29 +1,43 @@
 package de.skuzzle.stringz.rstring;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+import de.skuzzle.stringz.CompiledFormat;
+import de.skuzzle.stringz.InternPool;
 
 class RString {
 
-    private static final Map<String, RString> INTERN_CACHE = new HashMap<>();
+    private static final int INTERN_POOL_SIZE = 16384;
+
+    private static final InternPool<RString> INTERN_POOL = new InternPool<>(
+            INTERN_POOL_SIZE, RString::new);
 
     public static final RString EMPTY = new RString("").intern();
 
     public static RString intern(String s) {
-        synchronized (INTERN_CACHE) {
-            RString result = INTERN_CACHE.get(s);
-            if (result == null) {
-                result = new RString(s);
-                INTERN_CACHE.put(s, result);
-            }
-            return result;
-        }
+        return INTERN_POOL.intern(s);
+    }
+
+    public static InternPool<RString> getInternPool() {
+        return INTERN_POOL;
     }
 
 
     public final String s;
     public final int length;
 
+    /** Lazily compiled format of {@link #s} */
+    private CompiledFormat format;
+
+    /** Lazily encoded UTF-8 bytes of constant messages */
+    private volatile byte[] utf8;
+
     public RString(String s) {
         if (s == null) {
             throw new IllegalArgumentException("s is null");
@@ -37,7 +51,90 @@ class RString {
     }
 
     public String s(Object...args) {
-        return String.format(this.s, args);
+        return compiled().format(Locale.getDefault(Locale.Category.FORMAT), args);
+    }
+
+    public StringBuilder appendTo(StringBuilder out, Object...args) {
+        return compiled().formatTo(out, Locale.getDefault(Locale.Category.FORMAT), args);
+    }
+
+    public <A extends Appendable> A appendTo(A out, Object...args) throws IOException {
+        return compiled().formatTo(out, Locale.getDefault(Locale.Category.FORMAT), args);
+    }
+
+    /**
+     * Renders this String into the provided buffer. If the buffer has not enough
+     * space left, its position is left unchanged.
+     */
+    public CharBuffer appendTo(CharBuffer out, Object...args) {
+        final int position = out.position();
+        try {
+            return compiled().formatTo(out, Locale.getDefault(Locale.Category.FORMAT),
+                    args);
+        } catch (BufferOverflowException e) {
+            out.position(position);
+            throw e;
+        } catch (IOException e) {
+            // can not happen with CharBuffer
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Renders this String as UTF-8 into the provided buffer without creating an
+     * intermediate String. If the buffer has not enough space left, its position
+     * is left unchanged.
+     */
+    public ByteBuffer appendUtf8(ByteBuffer out, Object...args) {
+        final CompiledFormat compiled = compiled();
+        if (compiled.isConstant()) {
+            return out.put(constantUtf8());
+        }
+
+        final int position = out.position();
+        try {
+            final Utf8Sink sink = new Utf8Sink(out);
+            compiled.formatTo(sink, Locale.getDefault(Locale.Category.FORMAT), args);
+            sink.finish();
+            return out;
+        } catch (BufferOverflowException e) {
+            out.position(position);
+            throw e;
+        } catch (IOException e) {
+            // can not happen with ByteBuffer
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Gets the pre-encoded UTF-8 bytes of this String. This is only supported
+     * for Strings which take no format arguments.
+     */
+    public ByteBuffer utf8() {
+        if (!compiled().isConstant()) {
+            throw new IllegalStateException(String.format(
+                    "'%s' takes format arguments", this.s));
+        }
+        return ByteBuffer.wrap(constantUtf8()).asReadOnlyBuffer();
+    }
+
+    private byte[] constantUtf8() {
+        byte[] result = this.utf8;
+        if (result == null) {
+            result = compiled().format(null).getBytes(StandardCharsets.UTF_8);
+            this.utf8 = result;
+        }
+        return result;
+    }
+
+    private CompiledFormat compiled() {
+        // benign race: CompiledFormat is immutable
+        CompiledFormat result = this.format;
+        if (result == null) {
+            result = CompiledFormat.compile(this.s);
+            this.format = result;
+        }
+        return result;
     }
 
     @Override
@@ -6,6 +6,8 @@ import java.util.MissingResourceException;
 import java.util.ResourceBundle;
 
 import de.skuzzle.stringz.DefaultFieldMapper;
+import de.skuzzle.stringz.MappingSupport;
+import de.skuzzle.stringz.annotation.InternMode;
 import de.skuzzle.stringz.annotation.NoResource;
 import de.skuzzle.stringz.annotation.ResourceMapping;
 import de.skuzzle.stringz.strategy.FieldMapperException;
@@ -27,18 +29,24 @@ class RStringFieldMapper extends DefaultFieldMapper {
             throws FieldMapperException, MissingResourceException {
 
         field.setAccessible(true);
-        final String resourceKey = getResourceKey(field);
-        final String value = getValue(mapping, bundle, null, resourceKey);
-        final RString extValue = mapping.intern()
-                ? RString.intern(value)
-                : new RString(value);
+        final Object extValue = resolveField(mapping, field, bundle);
 
         try {
             field.set(null, extValue);
         } catch (IllegalAccessException e) {
             throw new FieldMapperException(String.format(
                     "Resource initialization failed. family=%s, field=%s, value=%s",
-                    mapping.value(), field.getName(), value), e);
+                    mapping.value(), field.getName(), extValue), e);
         }
     }
+
+    @Override
+    public Object resolveField(ResourceMapping mapping, Field field,
+            ResourceBundle bundle) {
+        final String resourceKey = getResourceKey(field);
+        final String value = getValue(mapping, bundle, null, resourceKey);
+        return MappingSupport.internMode(mapping) != InternMode.NONE
+                ? RString.intern(value)
+                : new RString(value);
+    }
 }
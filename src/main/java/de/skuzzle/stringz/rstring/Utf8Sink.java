@@ -0,0 +1,84 @@
+package de.skuzzle.stringz.rstring;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Appendable which encodes all appended characters as UTF-8 directly into a
+ * ByteBuffer. Malformed surrogates are replaced by '?' just like
+ * {@link String#getBytes(java.nio.charset.Charset)} does.
+ *
+ * @author Simon Taddiken
+ */
+final class Utf8Sink implements Appendable {
+
+    private static final byte REPLACEMENT = '?';
+
+    private final ByteBuffer out;
+
+    /** Pending high surrogate or 0 */
+    private char high;
+
+    Utf8Sink(ByteBuffer out) {
+        this.out = out;
+    }
+
+    @Override
+    public Appendable append(CharSequence csq) {
+        return append(csq == null ? "null" : csq, 0, csq == null ? 4 : csq.length());
+    }
+
+    @Override
+    public Appendable append(CharSequence csq, int start, int end) {
+        if (csq == null) {
+            return append("null", start, end);
+        }
+        for (int i = start; i < end; ++i) {
+            append(csq.charAt(i));
+        }
+        return this;
+    }
+
+    @Override
+    public Appendable append(char c) {
+        if (this.high != 0) {
+            final char h = this.high;
+            this.high = 0;
+            if (Character.isLowSurrogate(c)) {
+                final int cp = Character.toCodePoint(h, c);
+                this.out.put((byte) (0xF0 | (cp >> 18)))
+                        .put((byte) (0x80 | ((cp >> 12) & 0x3F)))
+                        .put((byte) (0x80 | ((cp >> 6) & 0x3F)))
+                        .put((byte) (0x80 | (cp & 0x3F)));
+                return this;
+            }
+            this.out.put(REPLACEMENT);
+        }
+
+        if (c < 0x80) {
+            this.out.put((byte) c);
+        } else if (c < 0x800) {
+            this.out.put((byte) (0xC0 | (c >> 6)))
+                    .put((byte) (0x80 | (c & 0x3F)));
+        } else if (Character.isHighSurrogate(c)) {
+            this.high = c;
+        } else if (Character.isLowSurrogate(c)) {
+            this.out.put(REPLACEMENT);
+        } else {
+            this.out.put((byte) (0xE0 | (c >> 12)))
+                    .put((byte) (0x80 | ((c >> 6) & 0x3F)))
+                    .put((byte) (0x80 | (c & 0x3F)));
+        }
+        return this;
+    }
+
+    /**
+     * Writes out a trailing high surrogate which has not been followed by a low
+     * surrogate.
+     */
+    void finish() {
+        if (this.high != 0) {
+            this.high = 0;
+            this.out.put(REPLACEMENT);
+        }
+    }
+}
@@ -45,4 +45,39 @@ public interface FieldMapper {
      */
     public void mapField(ResourceMapping mapping, Field field, ResourceBundle bundle)
             throws FieldMapperException, MissingResourceException;
+
+    /**
+     * Determines the value which {@link #mapField(ResourceMapping, Field, ResourceBundle)}
+     * would assign to the provided field, ideally without modifying the field. This is
+     * used by {@link Stringz} to prepare the values of a message class for a new locale
+     * before publishing them all at once.
+     *
+     * <p>The default implementation calls {@code mapField} and then reads back the
+     * value of the field. Implementations should override this method if they are
+     * able to compute the value without assigning it. Otherwise, the fields of their
+     * message classes are modified while a locale switch or reload is still being
+     * prepared, and a message class can not be
+     * {@link Stringz#snapshot(Class, java.util.Locale) resolved for another locale}
+     * than the global one.</p>
+     *
+     * @param mapping The {@link ResourceMapping} annotation of the message class which
+     *          is currently processed.
+     * @param field The field for which the value should be determined.
+     * @param bundle The {@code ResourceBundle} which belongs to the message class which
+     *          is currently processed.
+     * @return The value for the field.
+     * @throws FieldMapperException If determining the value fails.
+     * @throws MissingResourceException If a resource is accessed using a name which does
+     *          not exist in the {@code bundle}.
+     * @since 0.3.0
+     */
+    public default Object resolveField(ResourceMapping mapping, Field field,
+            ResourceBundle bundle) throws FieldMapperException, MissingResourceException {
+        mapField(mapping, field, bundle);
+        try {
+            return field.get(null);
+        } catch (IllegalAccessException e) {
+            throw new FieldMapperException(e);
+        }
+    }
 }
@@ -1,6 +1,8 @@
 package de.skuzzle.stringz;
 
 import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CyclicBarrier;
 
 import org.junit.Assert;
 import org.junit.Before;
@@ -100,6 +102,119 @@ public class BasicStringzTest {
         Assert.assertEquals("Referenz am Ende Ein Wert", MSG.testKey5);
     }
 
+    @Test
+    public void testSnapshot() {
+        final MessageSnapshot before = Stringz.snapshot(MSG.class);
+        Assert.assertEquals(Locale.ROOT, before.getLocale());
+        Assert.assertEquals("Some value", before.getString("testKey1"));
+        Assert.assertArrayEquals(MSG.arrayKey, (String[]) before.get("arrayKey"));
+        Assert.assertNull(before.getString("arrayKey"));
+
+        Stringz.setLocale(Locale.GERMANY);
+
+        final MessageSnapshot after = Stringz.snapshot(MSG.class);
+        Assert.assertEquals(Locale.GERMANY, after.getLocale());
+        Assert.assertTrue(after.getVersion() > before.getVersion());
+        Assert.assertEquals("Ein Wert", after.getString("testKey1"));
+        Assert.assertEquals("Ein Wert", Stringz.get(MSG.class, "testKey1"));
+        // old snapshots are not modified
+        Assert.assertEquals("Some value", before.getString("testKey1"));
+    }
+
+    @Test
+    public void testSnapshotArraysAreNotShared() {
+        final MessageSnapshot snapshot = Stringz.snapshot(MSG.class);
+        final String first = MSG.arrayKey[0];
+        MSG.arrayKey[0] = "modified";
+        try {
+            Assert.assertEquals(first, ((String[]) snapshot.get("arrayKey"))[0]);
+            ((String[]) snapshot.getValues().get("arrayKey"))[0] = "modified";
+            Assert.assertEquals(first, ((String[]) snapshot.get("arrayKey"))[0]);
+        } finally {
+            MSG.arrayKey[0] = first;
+        }
+    }
+
+    @Test
+    public void testInitConcurrentlyWithSwitchLocale() throws Exception {
+        final CyclicBarrier barrier = new CyclicBarrier(2);
+        try {
+            for (int i = 0; i < 200; ++i) {
+                Stringz.dispose(MSGBulk.class);
+                Stringz.setLocale(Locale.ROOT);
+
+                final CompletableFuture<Void> init = CompletableFuture.runAsync(() -> {
+                    await(barrier);
+                    Stringz.init(MSGBulk.class);
+                });
+                await(barrier);
+                Stringz.setLocale(Locale.GERMANY);
+                init.get();
+
+                Assert.assertEquals(Locale.GERMANY,
+                        Stringz.snapshot(MSGBulk.class).getLocale());
+                Assert.assertEquals("Ein Wert", MSGBulk.testKey1);
+            }
+        } finally {
+            Stringz.dispose(MSGBulk.class);
+        }
+    }
+
+    @Test
+    public void testFieldsMatchSnapshotAfterConcurrentPublish() throws Exception {
+        final CyclicBarrier barrier = new CyclicBarrier(3);
+        try {
+            for (int i = 0; i < 200; ++i) {
+                Stringz.dispose(MSGBulk.class);
+                final Locale first = i % 2 == 0 ? Locale.ROOT : Locale.GERMANY;
+                final Locale second = i % 2 == 0 ? Locale.GERMANY : Locale.ROOT;
+                Stringz.setLocale(first);
+
+                final CompletableFuture<Void> init = CompletableFuture.runAsync(() -> {
+                    await(barrier);
+                    Stringz.init(MSGBulk.class);
+                });
+                final CompletableFuture<Void> switchLocale = CompletableFuture.runAsync(() -> {
+                    await(barrier);
+                    Stringz.setLocale(second);
+                });
+                await(barrier);
+                Stringz.setLocale(first);
+                init.get();
+                switchLocale.get();
+
+                final MessageSnapshot snapshot = Stringz.snapshot(MSGBulk.class);
+                Assert.assertEquals(Stringz.getLocale(), snapshot.getLocale());
+                Assert.assertEquals(snapshot.getString("testKey1"), MSGBulk.testKey1);
+                Assert.assertEquals(snapshot.getString("testKey2"), MSGBulk.testKey2);
+            }
+        } finally {
+            Stringz.dispose(MSGBulk.class);
+            Stringz.setLocale(Locale.ROOT);
+        }
+    }
+
+    private static void await(CyclicBarrier barrier) {
+        try {
+            barrier.await();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Test
+    public void testGet() {
+        Assert.assertEquals("Some value", Stringz.get(MSG.class, "testKey1"));
+        Assert.assertNull(Stringz.get(MSG.class, "arrayKey"));
+        MSG.testKeyIgnore = "ignored";
+        Assert.assertEquals("ignored", Stringz.get(MSG.class, "testKeyIgnore"));
+    }
+
+    @Test(expected = StringzRuntimeException.class)
+    public void testGetUnknownField() {
+        Stringz.get(MSG.class, "unknownField");
+    }
+
     @Test
     public void testMsgWithIncludedFields() {
         Assert.assertEquals("Some value", MSGWithInclude.testKey1);
@@ -135,6 +250,15 @@ public class BasicStringzTest {
                 MSGWithCustomLocator.testKey5);
     }
 
+    @Test
+    public void testStringPool() {
+        final InternPool<String> pool = Stringz.getStringPool();
+        Assert.assertEquals("Some value", MSGPooled.testKey1);
+        Assert.assertSame(MSGPooled.testKey1, pool.intern(new String("Some value")));
+        Assert.assertSame(MSGPooled.arrayKey[0], pool.intern(new String("Multiple")));
+        Assert.assertTrue(pool.getRetainedChars() >= "Some value".length());
+    }
+
     @Test
     public void testDispose() {
         Stringz.dispose(MSG.class);
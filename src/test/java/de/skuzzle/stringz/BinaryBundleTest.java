@@ -0,0 +1,133 @@
+package de.skuzzle.stringz;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Locale;
+import java.util.ResourceBundle;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class BinaryBundleTest {
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    private static ResourceBundle roundTrip(SortedMap<String, String> values)
+            throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        BinaryBundle.write(values, out);
+        return BinaryBundle.read(new ByteArrayInputStream(out.toByteArray()));
+    }
+
+    @Test
+    public void testRoundTrip() throws Exception {
+        final SortedMap<String, String> values = new TreeMap<>();
+        values.put("a", "value");
+        values.put("b", "value");
+        values.put("umlaut", "öäü € 😀");
+        values.put("empty", "");
+        values.put("literal", "${notAReference}");
+        values.put("äkey", "non ascii key");
+
+        final ResourceBundle bundle = roundTrip(values);
+        Assert.assertEquals(values.keySet(), bundle.keySet());
+        for (final String key : values.keySet()) {
+            Assert.assertEquals(key, values.get(key), bundle.getString(key));
+        }
+        Assert.assertFalse(bundle.containsKey("c"));
+        Assert.assertFalse(bundle.containsKey(""));
+    }
+
+    @Test
+    public void testLoneSurrogate() throws Exception {
+        final SortedMap<String, String> values = new TreeMap<>();
+        values.put("key", "broken \uD83D surrogate");
+        values.put("next", "value");
+        final ResourceBundle bundle = roundTrip(values);
+        Assert.assertEquals("broken \uD83D surrogate", bundle.getString("key"));
+        Assert.assertEquals("value", bundle.getString("next"));
+    }
+
+    @Test
+    public void testManyKeys() throws Exception {
+        final SortedMap<String, String> values = new TreeMap<>();
+        for (int i = 0; i < 10000; ++i) {
+            values.put("key" + i, "value" + i);
+        }
+        final ResourceBundle bundle = roundTrip(values);
+        Assert.assertEquals(10000, bundle.keySet().size());
+        Assert.assertEquals("value1234", bundle.getString("key1234"));
+        Assert.assertFalse(bundle.containsKey("key10000"));
+    }
+
+    @Test(expected = IOException.class)
+    public void testNoCompiledBundle() throws Exception {
+        BinaryBundle.read(new ByteArrayInputStream(
+                "key = value".getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    public void testCompileAndLoad() throws Exception {
+        final Path root = Paths.get(getClass().getResource("/").toURI());
+        final Path output = this.folder.getRoot().toPath();
+        final BundleCompiler compiler = new BundleCompiler(root,
+                StandardCharsets.UTF_8);
+
+        final List<Path> written = compiler.compile("de.skuzzle.stringz.test", output);
+        Assert.assertEquals(2, written.size());
+        compiler.compile("de.skuzzle.stringz.transitiveInclude", output);
+
+        final CharsetBundleControl control = new CharsetBundleControl(
+                StandardCharsets.UTF_8);
+        final BinaryBundleControl binaryControl = new BinaryBundleControl(
+                StandardCharsets.UTF_8);
+        try (URLClassLoader loader = new URLClassLoader(
+                new URL[] { output.toUri().toURL() }, null)) {
+            for (final String baseName : new String[] { "de.skuzzle.stringz.test",
+                    "de.skuzzle.stringz.transitiveInclude" }) {
+                for (final Locale locale : new Locale[] { Locale.ROOT,
+                        Locale.GERMANY }) {
+                    final ResourceBundle expected = ExtendedBundle.getUncachedBundle(
+                            baseName, locale, getClass().getClassLoader(), control, null);
+                    final ResourceBundle actual = ExtendedBundle.getUncachedBundle(
+                            baseName, locale, loader, binaryControl, null);
+
+                    Assert.assertTrue(actual.keySet().containsAll(expected.keySet()
+                            .stream()
+                            .filter(key -> !"@include".equals(key))
+                            .collect(Collectors.toList())));
+                    for (final String key : actual.keySet()) {
+                        Assert.assertEquals(key, expected.getString(key),
+                                actual.getString(key));
+                    }
+                }
+            }
+            ResourceBundle.clearCache(loader);
+        }
+    }
+
+    @Test
+    public void testFallbackToProperties() {
+        final ClassLoader loader = getClass().getClassLoader();
+        // the JDK caches bundles regardless of their control
+        ResourceBundle.clearCache(loader);
+        final ResourceBundle bundle = ResourceBundle.getBundle(
+                "de.skuzzle.stringz.test", Locale.ROOT, loader,
+                new BinaryBundleControl(StandardCharsets.UTF_8));
+        ResourceBundle.clearCache(loader);
+        Assert.assertEquals("Some value", bundle.getString("testKey1"));
+    }
+}
@@ -0,0 +1,82 @@
+package de.skuzzle.stringz;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import de.skuzzle.stringz.annotation.FieldMapping;
+import de.skuzzle.stringz.annotation.ResourceMapping;
+import de.skuzzle.stringz.strategy.FieldMapper;
+import de.skuzzle.stringz.strategy.FieldMapperFactory;
+
+public class CachedStrategiesTest {
+
+    private static final AtomicInteger INSTANCES = new AtomicInteger();
+
+    public static class CountingFactory implements FieldMapperFactory {
+
+        public CountingFactory() throws InterruptedException {
+            INSTANCES.incrementAndGet();
+            // slow constructor
+            Thread.sleep(50);
+        }
+
+        @Override
+        public FieldMapper create(ResourceMapping mapping, String[] args) {
+            return new DefaultFieldMapper();
+        }
+    }
+
+    public static class FailingFactory implements FieldMapperFactory {
+
+        private FailingFactory() {}
+
+        @Override
+        public FieldMapper create(ResourceMapping mapping, String[] args) {
+            return null;
+        }
+    }
+
+    @ResourceMapping
+    @FieldMapping(CountingFactory.class)
+    private static class Counting {}
+
+    @ResourceMapping
+    @FieldMapping(FailingFactory.class)
+    private static class Failing {}
+
+    @Test
+    public void testFactoryIsCreatedOnce() throws Exception {
+        final CachedStrategies strategies = new CachedStrategies();
+        final FieldMapping fm = Counting.class.getAnnotation(FieldMapping.class);
+        final ResourceMapping rm = Counting.class.getAnnotation(ResourceMapping.class);
+
+        final ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            final List<Callable<FieldMapper>> tasks = new ArrayList<>();
+            for (int i = 0; i < 16; ++i) {
+                tasks.add(() -> strategies.getFieldMapper(fm, rm));
+            }
+            for (final Future<FieldMapper> future : executor.invokeAll(tasks)) {
+                Assert.assertNotNull(future.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+        Assert.assertEquals(1, INSTANCES.get());
+    }
+
+    @Test(expected = StringzRuntimeException.class)
+    public void testNoPublicConstructor() {
+        new CachedStrategies().getFieldMapper(
+                Failing.class.getAnnotation(FieldMapping.class),
+                Failing.class.getAnnotation(ResourceMapping.class));
+    }
+}
@@ -0,0 +1,89 @@
+package de.skuzzle.stringz;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.util.Calendar;
+import java.util.IllegalFormatException;
+import java.util.Locale;
+import java.util.MissingFormatArgumentException;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class CompiledFormatTest {
+
+    private static final Locale ARABIC = Locale.forLanguageTag("ar-SA-u-nu-arab");
+
+    private static void assertSameAsFormatter(Locale locale, String pattern,
+            Object... args) {
+        Assert.assertEquals(String.format(locale, pattern, args),
+                CompiledFormat.compile(pattern).format(locale, args));
+    }
+
+    @Test
+    public void testSimpleConversions() {
+        assertSameAsFormatter(Locale.ROOT, "Hello %s, you have %d messages", "Bob", 5);
+        assertSameAsFormatter(Locale.ROOT, "%s%s", null, "x");
+        assertSameAsFormatter(Locale.ROOT, "%d %d %d", (byte) -1, 10L, (short) 3);
+        assertSameAsFormatter(Locale.ROOT, "100%% sure%n");
+        assertSameAsFormatter(Locale.ROOT, "%s", (Object) new String[] { "a" });
+    }
+
+    @Test
+    public void testIndices() {
+        assertSameAsFormatter(Locale.ROOT, "%2$s %1$s %s %<s", "a", "b");
+        assertSameAsFormatter(Locale.ROOT, "%s %1$s %s", "a", "b");
+    }
+
+    @Test
+    public void testDelegatedConversions() {
+        assertSameAsFormatter(Locale.GERMANY, "%.2f|%,d|%5s|%-5s|%x|%S|%b|%c",
+                1.5, 1234567, "ab", "cd", 255, "up", null, 'c');
+        assertSameAsFormatter(Locale.GERMANY, "%s", new BigDecimal("1.5"));
+        assertSameAsFormatter(Locale.ROOT, "%d", new java.math.BigInteger("12"));
+        final Calendar c = Calendar.getInstance();
+        c.setTimeInMillis(0);
+        assertSameAsFormatter(Locale.US, "%tY-%<tm-%<td", c);
+    }
+
+    @Test
+    public void testLocalizedDigits() {
+        assertSameAsFormatter(ARABIC, "%d", 42);
+    }
+
+    @Test
+    public void testConstant() {
+        final CompiledFormat format = CompiledFormat.compile("No arguments");
+        Assert.assertTrue(format.isConstant());
+        Assert.assertSame(format.format(Locale.ROOT), format.format(Locale.ROOT));
+        Assert.assertFalse(CompiledFormat.compile("%s").isConstant());
+    }
+
+    @Test(expected = MissingFormatArgumentException.class)
+    public void testMissingArgument() {
+        CompiledFormat.compile("%s and %s").format(Locale.ROOT, "one");
+    }
+
+    @Test(expected = IllegalFormatException.class)
+    public void testInvalidConversion() {
+        CompiledFormat.compile("%q").format(Locale.ROOT);
+    }
+
+    @Test(expected = IllegalFormatException.class)
+    public void testIllegalConversionForType() {
+        CompiledFormat.compile("%d").format(Locale.ROOT, "no number");
+    }
+
+    @Test
+    public void testFormatTo() throws IOException {
+        final StringBuilder b = new StringBuilder("> ");
+        CompiledFormat.compile("%s=%d").formatTo(b, Locale.ROOT, "a", 1);
+        Assert.assertEquals("> a=1", b.toString());
+
+        final StringWriter w = new StringWriter();
+        Stringz.formatTo(w, "%s=%.1f", "b", 2.0);
+        Assert.assertEquals(String.format(Stringz.getLocale(), "b=%.1f", 2.0),
+                w.toString());
+    }
+}
@@ -0,0 +1,50 @@
+package de.skuzzle.stringz;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class DelimiterSplitterTest {
+
+    private static final String[] DELIMITERS = { ";", ",", "::", "\\|", "\\.",
+            "\\s+", "[,;]", " - ", "", "a", "\\\\" };
+
+    private static final String[] INPUTS = { "", ";", ";;", "a;b;c", ";a;b;;",
+            "a::b:::c::", "a|b||", "a.b.c", "a  b\tc ", "x - y - ", "banana",
+            "a\\b\\", "no delimiter", ",;a,b;c" };
+
+    @Test
+    public void testSameAsStringSplit() {
+        for (final String delimiter : DELIMITERS) {
+            final DelimiterSplitter splitter = DelimiterSplitter.of(delimiter);
+            for (final String input : INPUTS) {
+                Assert.assertArrayEquals(delimiter + " on '" + input + "'",
+                        input.split(delimiter), splitter.split(input));
+            }
+        }
+    }
+
+    @Test
+    public void testCachedSplittersSurviveDynamicDelimiters() {
+        final DelimiterSplitter splitter = DelimiterSplitter.of(";");
+        for (int i = 0; i < 1000; ++i) {
+            Assert.assertArrayEquals(new String[] { "a", "b" },
+                    DelimiterSplitter.of("#" + i + "#").split("a#" + i + "#b"));
+        }
+        Assert.assertSame(splitter, DelimiterSplitter.of(";"));
+    }
+
+    @Test
+    public void testLiteral() {
+        Assert.assertEquals(";", DelimiterSplitter.literal(";"));
+        Assert.assertEquals(" - ", DelimiterSplitter.literal(" - "));
+        Assert.assertEquals("|", DelimiterSplitter.literal("\\|"));
+        Assert.assertNull(DelimiterSplitter.literal("\\s"));
+        Assert.assertNull(DelimiterSplitter.literal("a|b"));
+        Assert.assertNull(DelimiterSplitter.literal("\\"));
+    }
+
+    @Test
+    public void testCached() {
+        Assert.assertSame(DelimiterSplitter.of("\\s+"), DelimiterSplitter.of("\\s+"));
+    }
+}
@@ -1,5 +1,8 @@
 package de.skuzzle.stringz;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.Locale;
 import java.util.MissingResourceException;
 import java.util.ResourceBundle;
@@ -33,6 +36,10 @@ public class ExtendedBundleTest {
     private ResourceBundle getBundleWithMultipleIncludes() {
         return getBundle("multipleIncludes");
     }
+
+    private ResourceBundle getBundleWithSpecialReferences() {
+        return getBundle("specialReferences");
+    }
     
     @Test
     public void testGetSimple() {
@@ -113,4 +120,135 @@ public class ExtendedBundleTest {
     public void testUnknownInclude() {
         getBundle("testWithUnknownInclude");
     }
+
+    @Test
+    public void testResolvedValueIsMemoized() {
+        final ResourceBundle bundle = getBundle();
+        final Object first = bundle.getObject("testKey3");
+        Assert.assertSame(first, bundle.getObject("testKey3"));
+    }
+
+    @Test
+    public void testEmptyReferenceIsLiteral() {
+        final ResourceBundle bundle = getBundleWithSpecialReferences();
+        Assert.assertEquals("Literal ${} and Some value",
+                bundle.getObject("emptyReference"));
+    }
+
+    @Test
+    public void testUnclosedReferenceIsLiteral() {
+        final ResourceBundle bundle = getBundleWithSpecialReferences();
+        Assert.assertEquals("Some value and literal ${testKey1",
+                bundle.getObject("unclosedReference"));
+    }
+
+    @Test(expected = MissingResourceException.class)
+    public void testCyclicReference() {
+        final ResourceBundle bundle = getBundleWithSpecialReferences();
+        bundle.getObject("cyclic1");
+    }
+
+    @Test(expected = MissingResourceException.class)
+    public void testUnknownReference() {
+        final ResourceBundle bundle = getBundleWithSpecialReferences();
+        bundle.getObject("unknownReference");
+    }
+
+    @Test
+    public void testIncludedKeysAreVisible() {
+        final ResourceBundle bundle = getBundleWithTransitiveIncludes();
+        Assert.assertTrue(bundle.containsKey("testKey8"));
+        Assert.assertTrue(bundle.containsKey("testKey7"));
+        Assert.assertTrue(bundle.containsKey("testKey1"));
+        Assert.assertFalse(bundle.containsKey("keyWhichDoesNotExist"));
+        Assert.assertTrue(bundle.keySet().contains("testKey1"));
+    }
+
+    @Test(expected = MissingResourceException.class)
+    public void testCyclicInclude() {
+        getBundle("cyclicInclude1");
+    }
+
+    @Test
+    public void testIncludeGraph() {
+        getBundleWithTransitiveIncludes();
+        final IncludeGraph graph = Stringz.getIncludeGraph();
+        Assert.assertTrue(graph.getIncludes("de.skuzzle.stringz.transitiveInclude")
+                .contains("de.skuzzle.stringz.testWithInclude1"));
+        Assert.assertTrue(graph.getDependents("de.skuzzle.stringz.test")
+                .contains("de.skuzzle.stringz.testWithInclude1"));
+        Assert.assertTrue(graph.getTransitiveDependents(Collections.singleton(
+                "de.skuzzle.stringz.test")).containsAll(Arrays.asList(
+                        "de.skuzzle.stringz.test",
+                        "de.skuzzle.stringz.testWithInclude1",
+                        "de.skuzzle.stringz.transitiveInclude")));
+        Assert.assertFalse(graph.getTransitiveDependents(Collections.singleton(
+                "de.skuzzle.stringz.transitiveInclude")).contains(
+                        "de.skuzzle.stringz.test"));
+    }
+
+    @Test
+    public void testCyclicIncludeIsNotRecorded() {
+        try {
+            getBundle("cyclicInclude1");
+            Assert.fail();
+        } catch (MissingResourceException e) {
+            Assert.assertTrue(Stringz.getIncludeGraph().getIncludes(
+                    "de.skuzzle.stringz.cyclicInclude1").isEmpty());
+            Assert.assertTrue(Stringz.getIncludeGraph().getIncludes(
+                    "de.skuzzle.stringz.cyclicInclude2").isEmpty());
+        }
+    }
+
+    @Test
+    public void testIncludeGraphReplacesIncludes() {
+        final IncludeGraph graph = new IncludeGraph();
+        graph.setIncludes("a", Locale.ROOT, Arrays.asList("b", "c"));
+        graph.setIncludes("a", Locale.GERMANY, Collections.singleton("d"));
+        Assert.assertEquals(new HashSet<>(Arrays.asList("b", "c", "d")),
+                graph.getIncludes("a"));
+
+        // @include of the root bundle has been changed
+        graph.setIncludes("a", Locale.ROOT, Collections.singleton("b"));
+        Assert.assertEquals(Collections.singleton("a"), graph.getDependents("b"));
+        Assert.assertTrue(graph.getDependents("c").isEmpty());
+        Assert.assertEquals(Collections.singleton("c"),
+                graph.getTransitiveDependents(Collections.singleton("c")));
+
+        graph.setIncludes("a", Locale.ROOT, Collections.emptyList());
+        graph.setIncludes("a", Locale.GERMANY, Collections.emptyList());
+        Assert.assertTrue(graph.getIncludes("a").isEmpty());
+        Assert.assertTrue(graph.getDependents("d").isEmpty());
+    }
+
+    @Test
+    public void testUncachedIncludesAreRecordedPrivately() {
+        final IncludeGraph graph = new IncludeGraph();
+        ExtendedBundle.getUncachedBundle("de.skuzzle.stringz.transitiveInclude",
+                Locale.ROOT, getClass().getClassLoader(),
+                new CharsetBundleControl("UTF-8"), graph);
+        Assert.assertEquals(Collections.singleton("de.skuzzle.stringz.testWithInclude1"),
+                graph.getIncludes("de.skuzzle.stringz.transitiveInclude"));
+        Assert.assertEquals(Collections.singleton("de.skuzzle.stringz.testWithInclude1"),
+                graph.getDependents("de.skuzzle.stringz.test"));
+    }
+
+    @Test
+    public void testBundlesAreShared() {
+        Assert.assertSame(getBundle(), getBundle());
+        Assert.assertNotSame(getBundle(), MappingSupport.loadBundle(
+                "de.skuzzle.stringz.test", Locale.ROOT, getClass().getClassLoader(),
+                new CharsetBundleControl("UTF-8")));
+    }
+
+    @Test
+    public void testInvalidateBundles() {
+        final ResourceBundle included = getBundle();
+        final ResourceBundle including = getBundleWithIncludes();
+        final ResourceBundle other = getBundle("test2");
+        Stringz.invalidateBundles(Collections.singleton("de.skuzzle.stringz.test"));
+        Assert.assertNotSame(included, getBundle());
+        Assert.assertNotSame(including, getBundleWithIncludes());
+        Assert.assertSame(other, getBundle("test2"));
+    }
 }
@@ -0,0 +1,71 @@
+package de.skuzzle.stringz;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.MissingResourceException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class InitAllTest {
+
+    @After
+    public void tearDown() {
+        Stringz.dispose(MSGBulk.class);
+        Stringz.dispose(MSGBulkOther.class);
+        Stringz.dispose(MSGWithMissingKey.class);
+    }
+
+    @Test
+    public void testInitAll() {
+        final InitReport report = Stringz.initAll(
+                Arrays.asList(MSGBulk.class, MSGBulkOther.class), Locale.ROOT);
+
+        Assert.assertTrue(report.isSuccessful());
+        Assert.assertEquals(2, report.getInitialized().size());
+        Assert.assertEquals(1, report.getBundleCount());
+        Assert.assertTrue(report.getTime(MSGBulk.class, TimeUnit.NANOSECONDS) > 0);
+        Assert.assertEquals("Some value", MSGBulk.testKey1);
+        Assert.assertEquals("A String with a Reference to 'Some value'",
+                MSGBulk.testKey2);
+        Assert.assertEquals(
+                "This is a String with reference to A String with a Reference to 'Some value'",
+                MSGBulkOther.testKey3);
+    }
+
+    @Test
+    public void testInitAllSkipsInitializedClasses() {
+        Stringz.init(MSGBulk.class, Locale.ROOT);
+        final InitReport report = Stringz.initAll(
+                Arrays.asList(MSGBulk.class, MSGBulkOther.class), Locale.ROOT);
+
+        Assert.assertEquals(1, report.getInitialized().size());
+        Assert.assertTrue(report.getInitialized().contains(MSGBulkOther.class));
+    }
+
+    @Test
+    public void testInitAllReportsFailures() {
+        final InitReport report = Stringz.initAll(
+                Arrays.asList(MSGBulk.class, MSGWithMissingKey.class, String.class),
+                Locale.ROOT);
+
+        Assert.assertFalse(report.isSuccessful());
+        Assert.assertEquals(1, report.getInitialized().size());
+        Assert.assertTrue(report.getFailures().get(MSGWithMissingKey.class)
+                instanceof MissingResourceException);
+        Assert.assertTrue(report.getFailures().get(String.class)
+                instanceof IllegalArgumentException);
+        Assert.assertEquals(-1,
+                report.getTime(MSGWithMissingKey.class, TimeUnit.NANOSECONDS));
+    }
+
+    @Test
+    public void testFailedClassCanBeRetried() {
+        Stringz.initAll(Arrays.asList(MSGWithMissingKey.class), Locale.ROOT);
+        final InitReport report = Stringz.initAll(
+                Arrays.asList(MSGWithMissingKey.class), Locale.ROOT);
+        Assert.assertTrue(report.getFailures().containsKey(MSGWithMissingKey.class));
+    }
+}
@@ -0,0 +1,105 @@
+package de.skuzzle.stringz;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class InternPoolTest {
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidSize() {
+        new InternPool<>(0, String::new);
+    }
+
+    @Test
+    public void testIntern() {
+        final InternPool<StringBuilder> pool = new InternPool<>(10, StringBuilder::new);
+        final StringBuilder first = pool.intern("a");
+        Assert.assertSame(first, pool.intern(new String("a")));
+        final StringBuilder second = pool.intern("b");
+        Assert.assertNotSame(first, second);
+        Assert.assertEquals(1, pool.getHitCount());
+        Assert.assertEquals(2, pool.getMissCount());
+        Assert.assertEquals(0, pool.getEvictionCount());
+        Assert.assertEquals(2, pool.size());
+    }
+
+    @Test
+    public void testInternKeyAsValue() {
+        final InternPool<String> pool = new InternPool<>(10, s -> s);
+        final String a = new String("a");
+        Assert.assertSame(a, pool.intern(a));
+        Assert.assertSame(a, pool.intern(new String("a")));
+    }
+
+    @Test
+    public void testBounded() {
+        final InternPool<String> pool = new InternPool<>(5, String::new);
+        final List<String> values = new ArrayList<>();
+        for (int i = 0; i < 20; ++i) {
+            values.add(pool.intern("value" + i));
+        }
+        Assert.assertEquals(5, pool.size());
+        Assert.assertEquals(15, pool.getEvictionCount());
+        // most recent value is never evicted
+        Assert.assertSame(values.get(19), pool.intern("value19"));
+    }
+
+    @Test
+    public void testEvictionContinuesWhereItStopped() {
+        final InternPool<String> pool = new InternPool<>(3, String::new);
+        final List<String> values = new ArrayList<>();
+        for (final String s : new String[] { "a", "b", "c", "d", "a", "b" }) {
+            values.add(pool.intern(s));
+        }
+        // evicting "b" must not evict the recently interned "a" again
+        Assert.assertSame(values.get(4), pool.intern("a"));
+        Assert.assertEquals(3, pool.getEvictionCount());
+    }
+
+    @Test
+    public void testClear() {
+        final InternPool<String> pool = new InternPool<>(5, String::new);
+        final String a = pool.intern("a");
+        pool.clear();
+        Assert.assertEquals(0, pool.size());
+        Assert.assertNotSame(a, pool.intern("a"));
+    }
+
+    @Test
+    public void testMemoryAccounting() {
+        // retained values must stay strongly reachable during the test
+        final InternPool<String> pool = new InternPool<>(2, s -> s);
+        pool.intern("abc");
+        pool.intern(new String("abc"));
+        pool.intern("de");
+        Assert.assertEquals(5, pool.getRetainedChars());
+        Assert.assertEquals(3, pool.getDeduplicatedChars());
+        pool.intern("fghi");
+        Assert.assertEquals(2, pool.size());
+        Assert.assertTrue(pool.getRetainedChars() == 6 || pool.getRetainedChars() == 7);
+        pool.clear();
+        Assert.assertEquals(0, pool.getRetainedChars());
+    }
+
+    @Test
+    public void testLostRaceCountsAsHit() {
+        final AtomicReference<InternPool<String>> pool = new AtomicReference<>();
+        final AtomicBoolean nested = new AtomicBoolean();
+        // the nested call pools a value while the outer one is creating its own
+        pool.set(new InternPool<>(10, s -> nested.getAndSet(true)
+                ? new String(s)
+                : pool.get().intern(s)));
+
+        final String value = pool.get().intern("abc");
+        Assert.assertSame(value, pool.get().intern("abc"));
+        Assert.assertEquals(1, pool.get().getMissCount());
+        Assert.assertEquals(2, pool.get().getHitCount());
+        Assert.assertEquals(3, pool.get().getRetainedChars());
+        Assert.assertEquals(6, pool.get().getDeduplicatedChars());
+    }
+}
@@ -0,0 +1,100 @@
+package de.skuzzle.stringz;
+
+import java.util.Collections;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class LocalizedLookupTest {
+
+    private ThreadLocalLocaleProvider locales;
+
+    @Before
+    public void setUp() {
+        Locale.setDefault(Locale.ROOT);
+        Stringz.setLocale(Locale.ROOT);
+        this.locales = new ThreadLocalLocaleProvider();
+        Stringz.setLocaleProvider(this.locales);
+    }
+
+    @After
+    public void tearDown() {
+        Stringz.setLocaleProvider(null);
+        Stringz.dispose(MSGBulk.class);
+    }
+
+    @Test
+    public void testGetWithLocale() {
+        Assert.assertEquals("Ein Wert", Stringz.get(MSG.class, "testKey1",
+                Locale.GERMANY));
+        Assert.assertEquals("Some value", Stringz.get(MSG.class, "testKey1",
+                Locale.ROOT));
+        // fields are not touched
+        Assert.assertEquals("Some value", MSG.testKey1);
+    }
+
+    @Test
+    public void testSnapshotsAreCached() {
+        Assert.assertSame(Stringz.snapshot(MSG.class, Locale.GERMANY),
+                Stringz.snapshot(MSG.class, Locale.GERMANY));
+    }
+
+    @Test
+    public void testPrefetch() throws Exception {
+        Assert.assertNotNull(MSG.testKey1);
+        final InitReport report = Stringz.prefetch(
+                Collections.singleton(Locale.GERMANY), Runnable::run).get();
+        Assert.assertTrue(report.getInitialized().contains(MSG.class));
+
+        final MessageSnapshot prefetched = Stringz.snapshot(MSG.class, Locale.GERMANY);
+        Assert.assertEquals("Ein Wert", prefetched.getString("testKey1"));
+        try {
+            Stringz.setLocale(Locale.GERMANY);
+            // published from memory
+            Assert.assertSame(prefetched.getString("testKey1"), MSG.testKey1);
+            // cached arrays are not handed out to the fields
+            MSG.arrayKey[0] = "modified";
+            Assert.assertEquals("Multiple", ((String[]) Stringz.snapshot(MSG.class,
+                    Locale.GERMANY).get("arrayKey"))[0]);
+            Assert.assertTrue(Stringz.snapshot(MSG.class).getVersion()
+                    > prefetched.getVersion());
+        } finally {
+            Stringz.setLocale(Locale.ROOT);
+        }
+    }
+
+    @Test
+    public void testUninitializedClass() {
+        Assert.assertEquals("Ein Wert", Stringz.get(MSGBulk.class, "testKey1",
+                Locale.GERMANY));
+        Assert.assertNull(MSGBulk.testKey1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testClassWithoutResourceMapping() {
+        Stringz.snapshot(String.class, Locale.GERMANY);
+    }
+
+    @Test
+    public void testThreadLocalProvider() throws Exception {
+        final CompletableFuture<String> german = CompletableFuture.supplyAsync(() ->
+                this.locales.withLocale(Locale.GERMANY, () ->
+                        Stringz.getLocalized(MSG.class, "testKey1")));
+
+        Assert.assertEquals("Some value", Stringz.getLocalized(MSG.class, "testKey1"));
+        Assert.assertEquals("Ein Wert", german.get());
+
+        this.locales.setLocale(Locale.GERMANY);
+        try {
+            Assert.assertEquals("Ein Wert", Stringz.getLocalized(MSG.class, "testKey1"));
+            Assert.assertEquals("1,5", Stringz.format("%.1f", 1.5));
+        } finally {
+            this.locales.clear();
+        }
+        Assert.assertEquals(Locale.ROOT, this.locales.getLocale());
+    }
+}
@@ -0,0 +1,10 @@
+package de.skuzzle.stringz;
+
+import de.skuzzle.stringz.annotation.ResourceMapping;
+
+// not initialized by itself, used for testing initAll
+@ResourceMapping("de.skuzzle.stringz.test")
+public class MSGBulkOther {
+
+    public static String testKey3;
+}
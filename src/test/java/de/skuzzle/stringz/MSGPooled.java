@@ -0,0 +1,15 @@
+package de.skuzzle.stringz;
+
+import de.skuzzle.stringz.annotation.InternMode;
+import de.skuzzle.stringz.annotation.ResourceMapping;
+
+@ResourceMapping(value = "de.skuzzle.stringz.test", internMode = InternMode.POOL)
+public class MSGPooled {
+
+    static {
+        Stringz.init(MSGPooled.class);
+    }
+
+    public static String testKey1;
+    public static String[] arrayKey;
+}
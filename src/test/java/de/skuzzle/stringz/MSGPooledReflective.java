@@ -0,0 +1,15 @@
+package de.skuzzle.stringz;
+
+import de.skuzzle.stringz.annotation.Delimiter;
+import de.skuzzle.stringz.annotation.FieldMapping;
+import de.skuzzle.stringz.annotation.InternMode;
+import de.skuzzle.stringz.annotation.ResourceMapping;
+
+// not initialized by itself, no mapper is generated because of @FieldMapping
+@ResourceMapping(value = "de.skuzzle.stringz.test", internMode = InternMode.POOL)
+@FieldMapping(DefaultFieldMapperFactory.class)
+public class MSGPooledReflective {
+
+    @Delimiter(",")
+    public static String[] commaDelimited;
+}
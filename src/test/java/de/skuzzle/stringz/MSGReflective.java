@@ -0,0 +1,38 @@
+package de.skuzzle.stringz;
+
+import de.skuzzle.stringz.annotation.Delimiter;
+import de.skuzzle.stringz.annotation.FieldMapping;
+import de.skuzzle.stringz.annotation.NoResource;
+import de.skuzzle.stringz.annotation.ResourceCollection;
+import de.skuzzle.stringz.annotation.ResourceKey;
+import de.skuzzle.stringz.annotation.ResourceMapping;
+
+// same fields as MSG, but no mapper is generated because of @FieldMapping
+@ResourceMapping("de.skuzzle.stringz.test")
+@FieldMapping(DefaultFieldMapperFactory.class)
+public class MSGReflective {
+
+    static {
+        Stringz.init(MSGReflective.class);
+    }
+
+    public static String testKey1;
+    public static String testKey2;
+    public static String testKey3;
+    public static String testKey4;
+    public static String testKey5;
+    public static String[] arrayKey;
+
+    @Delimiter(",")
+    public static String[] commaDelimited;
+
+    @ResourceKey("commaDelimited")
+    @Delimiter(",")
+    public static String[] customMapping;
+
+    @ResourceCollection(value = { "testKey1", "testKey2" })
+    public static String[] customMapping2;
+
+    @NoResource
+    public static String testKeyIgnore;
+}
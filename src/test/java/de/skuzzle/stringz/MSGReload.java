@@ -0,0 +1,10 @@
+package de.skuzzle.stringz;
+
+import de.skuzzle.stringz.annotation.ResourceMapping;
+
+// bundles are written by ReloadTest, thus not initialized by itself
+@ResourceMapping("de.skuzzle.stringz.reload")
+public class MSGReload {
+
+    public static String value;
+}
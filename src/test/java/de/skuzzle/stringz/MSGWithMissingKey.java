@@ -0,0 +1,11 @@
+package de.skuzzle.stringz;
+
+import de.skuzzle.stringz.annotation.ResourceMapping;
+
+// not initialized by itself, used for testing initAll
+@ResourceMapping("de.skuzzle.stringz.test")
+public class MSGWithMissingKey {
+
+    public static String testKey1;
+    public static String keyWhichDoesNotExist;
+}
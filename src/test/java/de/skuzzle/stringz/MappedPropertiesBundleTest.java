@@ -0,0 +1,104 @@
+package de.skuzzle.stringz;
+
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Properties;
+import java.util.ResourceBundle;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class MappedPropertiesBundleTest {
+
+    private static final String CONTENT = "# comment = no\n"
+            + "  ! another comment \\\n"
+            + "simple = value\n"
+            + "colon:value\n"
+            + "space value with spaces  \n"
+            + "\tindented=\\\n"
+            + "    continued \\\n"
+            + "  twice\r\n"
+            + "escaped\\ key\\=x = \\u00e4\\t\\n\\\\ end\\\n"
+            + "umlaut = öäü €\r"
+            + "empty\n"
+            + "empty2 =\n"
+            + "\n"
+            + "duplicate = first\n"
+            + "key==value\n"
+            + "äkey = non ascii key\n"
+            + "duplicate = second\n"
+            + "last = no line end";
+
+    private static ResourceBundle parse(String content) {
+        return new MappedPropertiesBundle(ByteBuffer.wrap(
+                content.getBytes(StandardCharsets.UTF_8)), StandardCharsets.UTF_8);
+    }
+
+    @Test
+    public void testSameAsProperties() throws Exception {
+        final Properties expected = new Properties();
+        expected.load(new StringReader(CONTENT));
+        final ResourceBundle bundle = parse(CONTENT);
+
+        Assert.assertEquals(expected.stringPropertyNames(), bundle.keySet());
+        for (final String key : expected.stringPropertyNames()) {
+            Assert.assertEquals(key, expected.getProperty(key), bundle.getString(key));
+        }
+        Assert.assertFalse(bundle.containsKey("comment"));
+        Assert.assertEquals("second", bundle.getString("duplicate"));
+    }
+
+    @Test
+    public void testEmpty() {
+        final ResourceBundle bundle = parse("");
+        Assert.assertTrue(bundle.keySet().isEmpty());
+        Assert.assertFalse(bundle.containsKey("key"));
+    }
+
+    @Test
+    public void testManyKeys() {
+        final StringBuilder b = new StringBuilder();
+        for (int i = 0; i < 10000; ++i) {
+            b.append("key").append(i).append(" = value").append(i).append('\n');
+        }
+        final ResourceBundle bundle = parse(b.toString());
+        Assert.assertEquals(10000, bundle.keySet().size());
+        Assert.assertEquals("value1234", bundle.getString("key1234"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMalformedUnicodeEscape() {
+        parse("key = \\u12").getString("key");
+    }
+
+    @Test
+    public void testMappedControl() {
+        final ClassLoader loader = getClass().getClassLoader();
+        // the JDK caches bundles regardless of their control
+        ResourceBundle.clearCache(loader);
+        final ResourceBundle mapped = ResourceBundle.getBundle(
+                "de.skuzzle.stringz.test", Locale.GERMANY, loader,
+                new MappedBundleControl("UTF-8"));
+        ResourceBundle.clearCache(loader);
+        final ResourceBundle read = ResourceBundle.getBundle(
+                "de.skuzzle.stringz.test", Locale.GERMANY, loader,
+                new CharsetBundleControl("UTF-8"));
+
+        Assert.assertTrue(mapped instanceof MappedPropertiesBundle);
+        Assert.assertEquals(read.keySet(), mapped.keySet());
+        for (final String key : read.keySet()) {
+            Assert.assertEquals(read.getString(key), mapped.getString(key));
+        }
+    }
+
+    @Test
+    public void testMappedControlWithIncludes() {
+        final ResourceBundle bundle = ExtendedBundle.getBundle(
+                "de.skuzzle.stringz.transitiveInclude", Locale.ROOT,
+                getClass().getClassLoader(), new MappedBundleControl("UTF-8"));
+        Assert.assertEquals("Some value reference to parent' parent",
+                bundle.getString("testKey8"));
+    }
+}
@@ -0,0 +1,61 @@
+package de.skuzzle.stringz;
+
+import java.lang.reflect.Field;
+import java.util.List;
+import java.util.ResourceBundle.Control;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class MappingPlanTest {
+
+    @Test
+    public void testFieldPlan() throws Exception {
+        final MappingPlan.FieldPlan custom = MappingPlan.of(
+                MSG.class.getField("customMapping"));
+        Assert.assertEquals("commaDelimited", custom.getKey());
+        Assert.assertEquals(",", custom.getDelimiter());
+        Assert.assertNull(custom.getCollection());
+
+        final MappingPlan.FieldPlan collection = MappingPlan.of(
+                MSG.class.getField("customMapping2"));
+        Assert.assertEquals("customMapping2", collection.getKey());
+        Assert.assertNull(collection.getDelimiter());
+        Assert.assertArrayEquals(new String[] { "testKey1", "testKey2" },
+                collection.getCollection().value());
+    }
+
+    @Test
+    public void testAcceptedFieldsAreReused() throws Exception {
+        final MappingPlan plan = MappingPlan.of(MSG.class);
+        Assert.assertSame(plan, MappingPlan.of(MSG.class));
+
+        final DefaultFieldMapper mapper = new DefaultFieldMapper();
+        final List<Field> fields = plan.getFields(mapper);
+        Assert.assertSame(fields, plan.getFields(mapper));
+        Assert.assertTrue(fields.contains(MSG.class.getField("testKey1")));
+        Assert.assertFalse(fields.contains(MSG.class.getField("testKeyIgnore")));
+        Assert.assertNotSame(fields, plan.getFields(new DefaultFieldMapper()));
+    }
+
+    @Test
+    public void testControlIsReused() {
+        final MappingPlan plan = MappingPlan.of(MSG.class);
+        final CachedStrategies strategies = new CachedStrategies();
+        final AtomicInteger created = new AtomicInteger();
+        final Control control = plan.getControl(strategies, () -> {
+            created.incrementAndGet();
+            return new CharsetBundleControl("UTF-8");
+        });
+        Assert.assertSame(control, plan.getControl(strategies, () -> {
+            created.incrementAndGet();
+            return new CharsetBundleControl("UTF-8");
+        }));
+        Assert.assertEquals(1, created.get());
+
+        // other strategies might create another control
+        Assert.assertNotSame(control, plan.getControl(new CachedStrategies(),
+                () -> new CharsetBundleControl("UTF-8")));
+    }
+}
@@ -0,0 +1,126 @@
+package de.skuzzle.stringz;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Locale;
+import java.util.Map;
+import java.util.MissingResourceException;
+import java.util.ResourceBundle;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.management.MBeanServer;
+import javax.management.MBeanServerFactory;
+import javax.management.ObjectName;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class MetricsTest {
+
+    private static final String BASE_NAME = "de.skuzzle.stringz.transitiveInclude";
+
+    private JmxStringzMetrics metrics;
+
+    @Before
+    public void setUp() {
+        Stringz.invalidateBundles(Collections.singleton(BASE_NAME));
+        this.metrics = new JmxStringzMetrics();
+        Stringz.setMetrics(this.metrics);
+    }
+
+    @After
+    public void tearDown() {
+        Stringz.setMetrics(null);
+    }
+
+    private ResourceBundle load() {
+        return ExtendedBundle.getBundle(BASE_NAME, Locale.ROOT,
+                getClass().getClassLoader(),
+                new CharsetBundleControl(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testBundleMetrics() {
+        final ResourceBundle bundle = load();
+        Assert.assertTrue(this.metrics.getBundleLoadCount() >= 1);
+        Assert.assertTrue(this.metrics.getBundleBytes() > 0);
+
+        Assert.assertEquals("Some value reference to parent' parent", bundle.getString("testKey8"));
+        Assert.assertEquals(1, this.metrics.getReferenceExpansionCount());
+        Assert.assertEquals(1, this.metrics.getExpandedReferenceCount());
+        Assert.assertTrue(this.metrics.getIncludeFallThroughCount() >= 1);
+
+        try {
+            bundle.getString("doesNotExist");
+            Assert.fail();
+        } catch (MissingResourceException e) {
+            Assert.assertEquals(1, this.metrics.getMissingResourceCount());
+        }
+
+        load();
+        Assert.assertTrue(this.metrics.getCacheHitRatios().get(
+                StringzMetrics.BUNDLE_CACHE) > 0.0);
+    }
+
+    @Test
+    public void testBundleLoadTimeExcludesIncludes() {
+        final Map<String, Long> times = new ConcurrentHashMap<>();
+        Stringz.setMetrics(new StringzMetrics() {
+            @Override
+            public void bundleLoaded(String baseName, Locale locale, long nanos,
+                    long bytes) {
+                times.merge(baseName, nanos, Long::sum);
+            }
+        });
+        // records the includes, so that invalidating the root family
+        // invalidates all of them
+        load();
+        Stringz.invalidateBundles(Collections.singleton("de.skuzzle.stringz.test"));
+        times.clear();
+
+        final long start = System.nanoTime();
+        load();
+        final long total = System.nanoTime() - start;
+        Assert.assertEquals(3, times.size());
+        Assert.assertTrue(times.toString(), times.values().stream()
+                .mapToLong(Long::longValue).sum() <= total);
+    }
+
+    @Test
+    public void testInitAndFormatMetrics() {
+        Stringz.dispose(MSGBulk.class);
+        Stringz.init(MSGBulk.class);
+        Assert.assertEquals(1, this.metrics.getInitializedClassCount());
+        Assert.assertTrue(this.metrics.getInitTimesMicros().containsKey(
+                MSGBulk.class.getName()));
+
+        final String format = "metrics %s %d";
+        Stringz.format(format, "a", 1);
+        Stringz.format(format, "b", 2);
+        Assert.assertEquals(0.5, this.metrics.getCacheHitRatios().get(
+                StringzMetrics.FORMAT_CACHE), 0.0);
+
+        this.metrics.reset();
+        Assert.assertEquals(0, this.metrics.getInitializedClassCount());
+        Assert.assertTrue(this.metrics.getCacheHitRatios().isEmpty());
+    }
+
+    @Test
+    public void testJmx() throws Exception {
+        final MBeanServer server = MBeanServerFactory.newMBeanServer();
+        final ObjectName name = this.metrics.register(server);
+        load();
+        Assert.assertEquals(this.metrics.getBundleLoadCount(),
+                server.getAttribute(name, "BundleLoadCount"));
+    }
+
+    @Test
+    public void testDisabled() {
+        Stringz.setMetrics(null);
+        Assert.assertNull(Stringz.getMetrics());
+        load();
+        Assert.assertEquals(0, this.metrics.getBundleLoadCount());
+    }
+}
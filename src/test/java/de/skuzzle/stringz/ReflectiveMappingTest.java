@@ -0,0 +1,72 @@
+package de.skuzzle.stringz;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Map;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ReflectiveMappingTest {
+
+    @Before
+    public void setUp() {
+        Locale.setDefault(Locale.ROOT);
+        Stringz.setLocale(Locale.ROOT);
+    }
+
+    private static boolean hasGeneratedMapper(Class<?> cls) {
+        try {
+            Class.forName(cls.getName() + GeneratedMapper.CLASS_SUFFIX);
+            return true;
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
+    }
+
+    @Test
+    public void testMapsWithoutGeneratedMapper() {
+        Assert.assertFalse(hasGeneratedMapper(MSGReflective.class));
+        Assert.assertEquals("Some value", MSGReflective.testKey1);
+        Assert.assertEquals("A String with a Reference to 'Some value'",
+                MSGReflective.testKey2);
+        Assert.assertArrayEquals(new String[] { "Multiple", "values", "delimited",
+                "by", "semicolon" }, MSGReflective.arrayKey);
+        Assert.assertArrayEquals(MSGReflective.commaDelimited,
+                MSGReflective.customMapping);
+        Assert.assertArrayEquals(new String[] { MSGReflective.testKey1,
+                MSGReflective.testKey2 }, MSGReflective.customMapping2);
+        Assert.assertNull(MSGReflective.testKeyIgnore);
+    }
+
+    @Test
+    public void testParityWithGeneratedMapper() {
+        Assert.assertTrue(hasGeneratedMapper(MSG.class));
+        for (final Locale locale : Arrays.asList(Locale.ROOT, Locale.GERMANY)) {
+            final Map<String, Object> generated = Stringz.snapshot(MSG.class, locale)
+                    .getValues();
+            final Map<String, Object> reflective = Stringz.snapshot(
+                    MSGReflective.class, locale).getValues();
+
+            Assert.assertEquals(generated.keySet(), reflective.keySet());
+            for (final String field : generated.keySet()) {
+                Assert.assertTrue(field, Arrays.deepEquals(
+                        new Object[] { generated.get(field) },
+                        new Object[] { reflective.get(field) }));
+            }
+        }
+    }
+
+    @Test
+    public void testOnlyElementsAreInterned() throws Exception {
+        final InternPool<String> pool = Stringz.getStringPool();
+        final String[] values = (String[]) Stringz.snapshot(
+                MSGPooledReflective.class, Locale.ROOT).get("commaDelimited");
+        Assert.assertSame(values[0], pool.intern(new String("Multiple")));
+
+        final long misses = pool.getMissCount();
+        pool.intern(new String("Multiple,values,delimited,by,semicolon"));
+        Assert.assertEquals(misses + 1, pool.getMissCount());
+    }
+}
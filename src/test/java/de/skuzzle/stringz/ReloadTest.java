@@ -0,0 +1,185 @@
+package de.skuzzle.stringz;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ReloadTest {
+
+    private Path root;
+    private Path bundle;
+    private Path shared;
+
+    @Before
+    public void setUp() throws Exception {
+        this.root = Paths.get(MSGReload.class.getProtectionDomain().getCodeSource()
+                .getLocation().toURI());
+        final Path dir = this.root.resolve("de/skuzzle/stringz");
+        this.bundle = dir.resolve("reload.properties");
+        this.shared = dir.resolve("reloadShared.properties");
+        write(this.bundle, "@include = de.skuzzle.stringz.reloadShared\n"
+                + "value = ${shared}\n");
+        write(this.shared, "shared = one\n");
+        // discard bundles cached by previous tests
+        Stringz.invalidateBundles(Arrays.asList("de.skuzzle.stringz.reload",
+                "de.skuzzle.stringz.reloadShared"));
+        Stringz.init(MSGReload.class);
+        Assert.assertEquals("one", MSGReload.value);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        Stringz.dispose(MSGReload.class);
+        Files.deleteIfExists(this.bundle);
+        Files.deleteIfExists(this.shared);
+    }
+
+    private static void write(Path file, String content) throws Exception {
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testReloadIncludedFamily() throws Exception {
+        write(this.shared, "shared = two\n");
+
+        final Set<Class<?>> reloaded = Stringz.reload(Collections.singleton(
+                "de.skuzzle.stringz.reloadShared"));
+        Assert.assertEquals(Collections.singleton(MSGReload.class), reloaded);
+        Assert.assertEquals("two", MSGReload.value);
+        Assert.assertEquals("two", Stringz.snapshot(MSGReload.class).get("value"));
+    }
+
+    @Test
+    public void testLocalizedValuesAreDiscardedOnInvalidation() throws Exception {
+        Assert.assertEquals("one", Stringz.get(MSGReload.class, "value", Locale.GERMANY));
+        write(this.shared, "shared = two\n");
+
+        // like a prefetch which has completed concurrently to a reload
+        Stringz.invalidateBundles(Collections.singleton(
+                "de.skuzzle.stringz.reloadShared"));
+        Assert.assertEquals("two", Stringz.get(MSGReload.class, "value", Locale.GERMANY));
+        try {
+            Stringz.setLocale(Locale.GERMANY);
+            Assert.assertEquals("two", MSGReload.value);
+        } finally {
+            Stringz.setLocale(Locale.ROOT);
+        }
+    }
+
+    @Test
+    public void testReloadUnknownFamily() {
+        Assert.assertTrue(Stringz.reload(Collections.singleton("unknown")).isEmpty());
+    }
+
+    @Test
+    public void testBaseNames() {
+        Assert.assertEquals(new HashSet<>(Arrays.asList(
+                "com.foo_bar.msg_de_DE", "com.foo_bar.msg_de", "com.foo_bar.msg")),
+                BundleReloader.baseNames(Paths.get("com/foo_bar/msg_de_DE.properties")));
+    }
+
+    private static Set<String> baseNames(String family) {
+        return BundleReloader.baseNames(Paths.get(
+                "de/skuzzle/stringz/" + family + ".properties"));
+    }
+
+    @Test
+    public void testReloaderDebounces() throws Exception {
+        final AtomicInteger reloads = new AtomicInteger();
+        final long ms = TimeUnit.MILLISECONDS.toNanos(1);
+        try (BundleReloader reloader = new BundleReloader(500)) {
+            reloader.addListener((baseNames, classes) -> reloads.incrementAndGet());
+
+            write(this.shared, "shared = two\n");
+            reloader.changed(baseNames("reloadShared"), 0);
+            write(this.shared, "shared = three\n");
+            reloader.changed(baseNames("reloadShared"), 300 * ms);
+            write(this.bundle, "@include = de.skuzzle.stringz.reloadShared\n"
+                    + "value = ${shared}!\n");
+            reloader.changed(baseNames("reload"), 400 * ms);
+
+            // each change restarts the debounce window
+            Assert.assertFalse(reloader.reloadIfQuiet(800 * ms));
+            Assert.assertEquals("one", MSGReload.value);
+
+            Assert.assertTrue(reloader.reloadIfQuiet(900 * ms));
+            Assert.assertEquals("three!", MSGReload.value);
+            Assert.assertFalse(reloader.reloadIfQuiet(2000 * ms));
+            Assert.assertEquals(1, reloads.get());
+        }
+    }
+
+    @Test
+    public void testReloaderSurvivesFailingListener() throws Exception {
+        final AtomicInteger notified = new AtomicInteger();
+        final AtomicInteger failures = new AtomicInteger();
+        final Set<Throwable> reported = new HashSet<>();
+        final Thread current = Thread.currentThread();
+        final Thread.UncaughtExceptionHandler handler =
+                current.getUncaughtExceptionHandler();
+        current.setUncaughtExceptionHandler((t, e) -> reported.add(e));
+        try (BundleReloader reloader = new BundleReloader(0)) {
+            reloader.addListener(new BundleReloader.Listener() {
+                @Override
+                public void reloaded(Set<String> baseNames, Set<Class<?>> reloaded) {
+                    throw new IllegalStateException("listener failure");
+                }
+
+                @Override
+                public void failed(Set<String> baseNames, RuntimeException e) {
+                    failures.incrementAndGet();
+                }
+            });
+            reloader.addListener((baseNames, classes) -> notified.incrementAndGet());
+
+            write(this.shared, "shared = two\n");
+            reloader.changed(baseNames("reloadShared"), 0);
+            Assert.assertTrue(reloader.reloadIfQuiet(0));
+            Assert.assertEquals("two", MSGReload.value);
+            Assert.assertEquals(1, notified.get());
+            Assert.assertEquals(1, reported.size());
+
+            // still reloading
+            write(this.shared, "shared = three\n");
+            reloader.changed(baseNames("reloadShared"), 0);
+            Assert.assertTrue(reloader.reloadIfQuiet(0));
+            Assert.assertEquals("three", MSGReload.value);
+            Assert.assertEquals(2, notified.get());
+            Assert.assertEquals(0, failures.get());
+        } finally {
+            current.setUncaughtExceptionHandler(handler);
+        }
+    }
+
+    @Test
+    public void testReloaderWatchesFiles() throws Exception {
+        final CountDownLatch latch = new CountDownLatch(1);
+        try (BundleReloader reloader = new BundleReloader(0)) {
+            reloader.watch(this.root);
+            reloader.addListener((baseNames, classes) -> {
+                if (classes.contains(MSGReload.class)) {
+                    latch.countDown();
+                }
+            });
+            reloader.start();
+
+            write(this.shared, "shared = two\n");
+            Assert.assertTrue(latch.await(10, TimeUnit.SECONDS));
+            Assert.assertEquals("two", MSGReload.value);
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package de.skuzzle.stringz;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import javax.tools.JavaCompiler;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import de.skuzzle.stringz.rstring.MsgRString;
+
+public class ResourceMappingScannerTest {
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    private ResourceMappingScanner scanner;
+
+    @Before
+    public void setup() {
+        this.scanner = new ResourceMappingScanner(getClass().getClassLoader());
+    }
+
+    /**
+     * Compiles the provided sources, which must not declare public classes, and
+     * packs the class files into a jar.
+     */
+    private Path jar(String... sources) throws IOException {
+        final File src = this.folder.newFolder("src");
+        final File classes = this.folder.newFolder("classes");
+        final File[] units = new File[sources.length];
+        for (int i = 0; i < sources.length; ++i) {
+            units[i] = new File(src, "Source" + i + ".java");
+            Files.write(units[i].toPath(), sources[i].getBytes(StandardCharsets.UTF_8));
+        }
+
+        final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        try (StandardJavaFileManager fm = compiler.getStandardFileManager(
+                null, null, StandardCharsets.UTF_8)) {
+            Assert.assertTrue(compiler.getTask(null, fm, null, Arrays.asList(
+                    "-d", classes.getPath(),
+                    "-classpath", System.getProperty("java.class.path"),
+                    "-proc:none"),
+                    null, fm.getJavaFileObjects(units)).call());
+        }
+
+        final Path root = classes.toPath();
+        final List<Path> files;
+        try (Stream<Path> stream = Files.walk(root)) {
+            files = stream.skip(1).collect(Collectors.toList());
+        }
+        final Path jar = this.folder.getRoot().toPath().resolve("classes.jar");
+        try (OutputStream out = Files.newOutputStream(jar);
+                JarOutputStream jarOut = new JarOutputStream(out)) {
+            // packages are only found if the jar contains directory entries
+            for (final Path file : files) {
+                final String name = root.relativize(file).toString()
+                        .replace(File.separatorChar, '/');
+                if (Files.isDirectory(file)) {
+                    jarOut.putNextEntry(new JarEntry(name + "/"));
+                } else {
+                    jarOut.putNextEntry(new JarEntry(name));
+                    jarOut.write(Files.readAllBytes(file));
+                }
+                jarOut.closeEntry();
+            }
+        }
+        return jar;
+    }
+
+    @Test
+    public void testScanDirectory() {
+        final List<Class<?>> classes = this.scanner.scan("de.skuzzle.stringz");
+        Assert.assertTrue(classes.contains(MSG.class));
+        Assert.assertTrue(classes.contains(MSGBulk.class));
+        Assert.assertTrue(classes.contains(test.class));
+        Assert.assertFalse(classes.contains(BasicStringzTest.class));
+        Assert.assertFalse(classes.contains(Stringz.class));
+    }
+
+    @Test
+    public void testScanSubPackage() {
+        final List<Class<?>> classes = this.scanner.scan("de.skuzzle.stringz.rstring");
+        Assert.assertEquals(1, classes.size());
+        Assert.assertEquals("de.skuzzle.stringz.rstring.MsgRString",
+                classes.get(0).getName());
+    }
+
+    @Test
+    public void testScanJar() throws Exception {
+        final Path jar = jar(
+                "package jarred; @de.skuzzle.stringz.annotation.ResourceMapping "
+                        + "class Messages {}",
+                "package jarred.sub; class Other {}");
+        try (URLClassLoader loader = new URLClassLoader(
+                new URL[] { jar.toUri().toURL() }, getClass().getClassLoader())) {
+            final List<Class<?>> classes = new ResourceMappingScanner(loader)
+                    .scan("jarred");
+            Assert.assertEquals(1, classes.size());
+            Assert.assertEquals("jarred.Messages", classes.get(0).getName());
+            Assert.assertSame(loader, classes.get(0).getClassLoader());
+        }
+    }
+
+    @Test
+    public void testScanJarWithoutMessageClasses() {
+        // junit is only available as jar
+        final List<Class<?>> classes = this.scanner.scan("org.junit");
+        Assert.assertTrue(classes.isEmpty());
+    }
+
+    @Test
+    public void testScanUnknownPackage() {
+        Assert.assertTrue(this.scanner.scan("package.which.does.not.exist").isEmpty());
+    }
+
+    @Test
+    public void testInitPackagesAsync() throws Exception {
+        Stringz.setLocale(Locale.ROOT);
+        final InitReport report = Stringz.initPackagesAsync(
+                getClass().getClassLoader(), "de.skuzzle.stringz.rstring")
+                .get(10, TimeUnit.SECONDS);
+        Assert.assertTrue(report.isSuccessful());
+        Assert.assertTrue(report.getInitialized().contains(MsgRString.class));
+        Assert.assertNotNull(MsgRString.testKey1);
+        Assert.assertEquals(Locale.ROOT,
+                Stringz.snapshot(MsgRString.class).getLocale());
+    }
+}
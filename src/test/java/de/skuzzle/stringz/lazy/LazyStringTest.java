@@ -0,0 +1,53 @@
+package de.skuzzle.stringz.lazy;
+
+import java.util.Locale;
+import java.util.MissingResourceException;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import de.skuzzle.stringz.Stringz;
+
+public class LazyStringTest {
+
+    @Test
+    public void testResolveOnAccess() {
+        Stringz.setLocale(Locale.ROOT);
+        final LazyString testKey3 = MsgLazy.testKey3;
+        Assert.assertEquals("testKey3", testKey3.getKey());
+        Assert.assertFalse(testKey3.isResolved());
+        Assert.assertEquals(
+                "This is a String with reference to A String with a Reference to 'Some value'",
+                testKey3.get());
+        Assert.assertTrue(testKey3.isResolved());
+        Assert.assertSame(testKey3.get(), testKey3.get());
+        Assert.assertEquals("Some value", MsgLazy.testKey1.toString());
+        Assert.assertEquals("A String with a Reference to 'Some value'",
+                MsgLazy.validated.get());
+        Assert.assertNull(MsgLazy.notMapped);
+    }
+
+    @Test
+    public void testMissingKeyFailsOnAccess() {
+        Assert.assertNotNull(MsgLazy.missingKey);
+        try {
+            MsgLazy.missingKey.get();
+            Assert.fail();
+        } catch (MissingResourceException e) {
+            Assert.assertFalse(MsgLazy.missingKey.isResolved());
+        }
+    }
+
+    @Test
+    public void testGet() {
+        Stringz.setLocale(Locale.ROOT);
+        Assert.assertNotNull(MsgLazy.testKey1);
+        Assert.assertEquals("Some value", Stringz.get(MsgLazy.class, "testKey1"));
+    }
+
+    @Test
+    public void testLocalized() {
+        Assert.assertEquals("Ein Wert", Stringz.get(MsgLazy.class, "testKey1",
+                Locale.GERMANY));
+    }
+}
@@ -0,0 +1,27 @@
+package de.skuzzle.stringz.lazy;
+
+import de.skuzzle.stringz.Stringz;
+import de.skuzzle.stringz.annotation.FieldMapping;
+import de.skuzzle.stringz.annotation.ResourceKey;
+import de.skuzzle.stringz.annotation.ResourceMapping;
+import de.skuzzle.stringz.annotation.Validate;
+
+@ResourceMapping("de.skuzzle.stringz.test")
+@FieldMapping(LazyFieldMapperFactory.class)
+public class MsgLazy {
+
+    static {
+        Stringz.init(MsgLazy.class);
+    }
+
+    public static LazyString testKey1;
+    public static LazyString testKey3;
+
+    @ResourceKey("testKey2")
+    @Validate
+    public static LazyString validated;
+
+    public static LazyString missingKey;
+
+    public static String notMapped;
+}
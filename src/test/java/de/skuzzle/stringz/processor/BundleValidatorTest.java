@@ -0,0 +1,145 @@
+package de.skuzzle.stringz.processor;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class BundleValidatorTest {
+
+    private static final String SOURCE = "package bundles;\n"
+            + "import de.skuzzle.stringz.annotation.*;\n"
+            + "@ResourceMapping\n"
+            + "public class Messages {\n"
+            + "    @Validate({ \"s\", \"d\" })\n"
+            + "    public static String greeting;\n"
+            + "    @ValidateArray({ @Validate(\"d\"), @Validate({}) })\n"
+            + "    public static String[] values;\n"
+            + "    public static String unvalidated;\n"
+            + "}\n";
+
+    private Path dir;
+    private Path out;
+
+    @Before
+    public void setUp() throws IOException {
+        this.dir = Files.createTempDirectory("stringz-processor");
+        this.out = Files.createDirectories(this.dir.resolve("out/bundles"))
+                .getParent();
+        final Path src = Files.createDirectories(this.dir.resolve("src/bundles"));
+        Files.write(src.resolve("Messages.java"),
+                SOURCE.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        Files.walk(this.dir)
+                .sorted((a, b) -> b.compareTo(a))
+                .forEach(p -> p.toFile().delete());
+    }
+
+    private void bundle(String name, String... lines) throws IOException {
+        Files.write(this.out.resolve("bundles").resolve(name + ".properties"),
+                Arrays.asList(lines), StandardCharsets.UTF_8);
+    }
+
+    private DiagnosticCollector<JavaFileObject> compile() throws IOException {
+        final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        final DiagnosticCollector<JavaFileObject> diagnostics =
+                new DiagnosticCollector<>();
+        try (StandardJavaFileManager fm = compiler.getStandardFileManager(
+                diagnostics, null, StandardCharsets.UTF_8)) {
+            final Iterable<? extends JavaFileObject> units = fm.getJavaFileObjects(
+                    this.dir.resolve("src/bundles").toFile().listFiles());
+            compiler.getTask(null, fm, diagnostics, Arrays.asList(
+                    "-d", this.out.toString(),
+                    "-classpath", System.getProperty("java.class.path"),
+                    "-processor", ResourceMappingProcessor.class.getName()),
+                    null, units).call();
+        }
+        return diagnostics;
+    }
+
+    private static String errors(DiagnosticCollector<JavaFileObject> diagnostics) {
+        return diagnostics.getDiagnostics().stream()
+                .filter(d -> d.getKind() == Diagnostic.Kind.ERROR)
+                .map(d -> d.getMessage(null))
+                .collect(Collectors.joining("\n"));
+    }
+
+    @Test
+    public void testValidBundles() throws Exception {
+        bundle("Messages",
+                "greeting = Hello %s, you are %d years old",
+                "values = %d;plain",
+                "unvalidated = %d");
+        bundle("Messages_de",
+                "greeting = Hallo %s, du bist %d Jahre alt");
+
+        Assert.assertEquals("", errors(compile()));
+    }
+
+    @Test
+    public void testInvalidLocale() throws Exception {
+        bundle("Messages",
+                "greeting = Hello %s, you are %d years old",
+                "values = %d;plain");
+        bundle("Messages_de_DE",
+                "greeting = Hallo %s");
+
+        final String errors = errors(compile());
+        Assert.assertTrue(errors, errors.contains("field greeting"));
+        Assert.assertTrue(errors, errors.contains("locale 'de_DE'"));
+        Assert.assertFalse(errors, errors.contains("field values"));
+    }
+
+    @Test
+    public void testInvalidArray() throws Exception {
+        bundle("Messages",
+                "greeting = Hello %s, you are %d years old",
+                "values = %s;plain;additional");
+
+        final String errors = errors(compile());
+        Assert.assertTrue(errors, errors.contains("field values"));
+        Assert.assertFalse(errors, errors.contains("field greeting"));
+    }
+
+    @Test
+    public void testMapperNameClash() throws Exception {
+        bundle("Messages",
+                "greeting = Hello %s, you are %d years old",
+                "values = %d;plain");
+        Files.write(this.dir.resolve("src/bundles/Messages_StringzMapper.java"),
+                "package bundles; class Messages_StringzMapper {}"
+                        .getBytes(StandardCharsets.UTF_8));
+
+        final String errors = errors(compile());
+        Assert.assertTrue(errors, errors.contains(
+                "bundles.Messages_StringzMapper clashes with an existing class"));
+    }
+
+    @Test
+    public void testValidatesReferences() throws Exception {
+        bundle("Messages",
+                "name = %s",
+                "greeting = Hello ${name}",
+                "values = %d;plain");
+
+        final String errors = errors(compile());
+        Assert.assertTrue(errors, errors.contains("lacks 1 argument"));
+    }
+}
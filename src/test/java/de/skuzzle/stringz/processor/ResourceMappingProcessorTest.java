@@ -0,0 +1,85 @@
+package de.skuzzle.stringz.processor;
+
+import java.util.Locale;
+import java.util.ResourceBundle;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import de.skuzzle.stringz.GeneratedMapper;
+import de.skuzzle.stringz.Stringz;
+import de.skuzzle.stringz.annotation.NoResource;
+import de.skuzzle.stringz.annotation.ResourceKey;
+import de.skuzzle.stringz.annotation.ResourceMapping;
+
+public class ResourceMappingProcessorTest {
+
+    @ResourceMapping("de.skuzzle.stringz.test")
+    public static class Nested {
+        public static String testKey1;
+
+        @ResourceKey("testKey2")
+        public static String renamed;
+
+        public static String[] arrayKey;
+
+        @NoResource
+        public static String ignored = "ignored";
+    }
+
+    @After
+    public void tearDown() {
+        Stringz.dispose(Nested.class);
+    }
+
+    private static GeneratedMapper mapperFor(String className) throws Exception {
+        return (GeneratedMapper) Class.forName(className).newInstance();
+    }
+
+    @Test
+    public void testMapperIsGenerated() throws Exception {
+        final GeneratedMapper mapper = mapperFor(
+                "de.skuzzle.stringz.MSG" + GeneratedMapper.CLASS_SUFFIX);
+        final ResourceBundle bundle = ResourceBundle.getBundle(
+                "de.skuzzle.stringz.test", Locale.ROOT);
+        final ResourceMapping mapping = Nested.class.getAnnotation(
+                ResourceMapping.class);
+
+        final Object[] values = mapper.resolve(mapping, bundle);
+        Assert.assertEquals("Some value", values[0]);
+    }
+
+    @Test(expected = ClassNotFoundException.class)
+    public void testNoMapperForCustomFieldMapping() throws Exception {
+        mapperFor("de.skuzzle.stringz.rstring.MsgRString"
+                + GeneratedMapper.CLASS_SUFFIX);
+    }
+
+    @Test
+    public void testNestedClass() throws Exception {
+        mapperFor("de.skuzzle.stringz.processor.ResourceMappingProcessorTest$Nested"
+                + GeneratedMapper.CLASS_SUFFIX);
+
+        Stringz.init(Nested.class, Locale.ROOT);
+        Assert.assertEquals("Some value", Nested.testKey1);
+        Assert.assertEquals("A String with a Reference to 'Some value'",
+                Nested.renamed);
+        Assert.assertArrayEquals(new String[] { "Multiple", "values", "delimited",
+                "by", "semicolon" }, Nested.arrayKey);
+        Assert.assertEquals("ignored", Nested.ignored);
+
+        Stringz.dispose(Nested.class);
+        Assert.assertNull(Nested.testKey1);
+        Assert.assertNull(Nested.arrayKey);
+        Assert.assertEquals("ignored", Nested.ignored);
+    }
+
+    @Test
+    public void testEscapeLiterals() {
+        Assert.assertEquals("\"a\\\"b\\\\c\\n\\u00e4\"", Literals.string("a\"b\\c\n\u00e4"));
+        Assert.assertEquals("null", Literals.string(null));
+        Assert.assertEquals("new String[][] { { \"a\" }, { } }",
+                Literals.array(new String[][] { { "a" }, {} }));
+    }
+}
@@ -1,5 +1,10 @@
 package de.skuzzle.stringz.rstring;
 
+import java.io.StringWriter;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.Locale;
 
 import org.junit.Assert;
@@ -23,4 +28,52 @@ public class RStringTest {
         Assert.assertEquals("reference at the end Some value", MsgRString.testKey5.s);
     }
 
+    @Test
+    public void testAppendTo() throws Exception {
+        final RString r = new RString("%s=%d");
+        Assert.assertEquals("a=1", r.appendTo(new StringBuilder(), "a", 1).toString());
+        Assert.assertEquals("a=1", r.appendTo(new StringWriter(), "a", 1).toString());
+
+        final CharBuffer chars = CharBuffer.allocate(8);
+        r.appendTo(chars, "a", 1).flip();
+        Assert.assertEquals("a=1", chars.toString());
+    }
+
+    @Test
+    public void testAppendUtf8() {
+        final String value = "\u00e4\u20ac\ud83d\ude00 %s \ud800";
+        final RString r = new RString(value);
+        final ByteBuffer bytes = ByteBuffer.allocate(64);
+        r.appendUtf8(bytes, "\u00fc").flip();
+        Assert.assertEquals(ByteBuffer.wrap(String.format(value, "\u00fc")
+                .getBytes(StandardCharsets.UTF_8)), bytes);
+    }
+
+    @Test
+    public void testAppendUtf8Overflow() {
+        final ByteBuffer bytes = ByteBuffer.allocate(4);
+        bytes.put((byte) 1);
+        try {
+            new RString("%s").appendUtf8(bytes, "too long");
+            Assert.fail();
+        } catch (BufferOverflowException e) {
+            Assert.assertEquals(1, bytes.position());
+        }
+    }
+
+    @Test
+    public void testConstantUtf8() {
+        final RString r = new RString("100%% \u00e4");
+        final ByteBuffer expected = ByteBuffer.wrap("100% \u00e4".getBytes(
+                StandardCharsets.UTF_8));
+        Assert.assertEquals(expected, r.utf8());
+        Assert.assertTrue(r.utf8().isReadOnly());
+        Assert.assertEquals(expected, (ByteBuffer) r.appendUtf8(
+                ByteBuffer.allocate(16)).flip());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testUtf8WithArguments() {
+        new RString("%s").utf8();
+    }
 }